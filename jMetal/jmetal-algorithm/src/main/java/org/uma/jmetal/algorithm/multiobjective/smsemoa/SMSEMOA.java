@@ -6,11 +6,13 @@ import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.BiObjectiveHypervolumeContributions;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.solutionattribute.Ranking;
 import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -98,7 +100,11 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
     Ranking<S> ranking = computeRanking(jointPopulation);
     List<S> lastSubfront = ranking.getSubfront(ranking.getNumberOfSubfronts()-1) ;
 
-    lastSubfront = hypervolume.computeHypervolumeContribution(lastSubfront, jointPopulation) ;
+    // with two objectives the contributions are found by sorting the subfront
+    if (lastSubfront.size() < 2 || lastSubfront.get(0).getNumberOfObjectives() != 2
+        || !BiObjectiveHypervolumeContributions.computeContributions(lastSubfront, getReferencePoint(jointPopulation))) {
+      lastSubfront = hypervolume.computeHypervolumeContribution(lastSubfront, jointPopulation) ;
+    }
 
     List<S> resultPopulation = new ArrayList<>() ;
     for (int i = 0; i < ranking.getNumberOfSubfronts()-1; i++) {
@@ -114,6 +120,21 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
     return resultPopulation ;
   }
 
+  // the worst value of each objective plus the offset, as used by the hypervolume implementations
+  private double[] getReferencePoint(List<S> solutionList) {
+    double[] referencePoint = new double[solutionList.get(0).getNumberOfObjectives()] ;
+    Arrays.fill(referencePoint, Double.NEGATIVE_INFINITY);
+    for (S solution : solutionList) {
+      for (int i = 0; i < referencePoint.length; i++) {
+        referencePoint[i] = Math.max(referencePoint[i], solution.getObjective(i)) ;
+      }
+    }
+    for (int i = 0; i < referencePoint.length; i++) {
+      referencePoint[i] += hypervolume.getOffset() ;
+    }
+    return referencePoint ;
+  }
+
   @Override public List<S> getResult() {
     return getPopulation();
   }
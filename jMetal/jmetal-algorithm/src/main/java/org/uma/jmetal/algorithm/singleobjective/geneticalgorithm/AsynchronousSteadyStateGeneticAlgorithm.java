@@ -0,0 +1,277 @@
+package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.MutationOperator;
+import org.uma.jmetal.operator.SelectionOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.ObjectiveComparator;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Steady state genetic algorithm without generations: a pool of workers continuously select two
+ * parents from the population, breed and evaluate an offspring and insert it, each one at its own
+ * pace. The population is an array of references which are replaced with compare and set, so
+ * workers never wait for each other and a slow evaluation only delays its own worker.
+ *
+ * Every worker gets its own operators from the factories given to the constructor, with the
+ * index of the worker, so operators keeping state or random numbers need not be thread safe.
+ * The order in which offspring are inserted depends on the scheduling of the threads, so two runs
+ * with the same seed may give different results.
+ */
+@SuppressWarnings("serial")
+public class AsynchronousSteadyStateGeneticAlgorithm<S extends Solution<?>> implements Algorithm<S> {
+  /** How the offspring of a worker enters the population */
+  public enum ReplacementPolicy {
+    /** Replaces the worst individual if the offspring is better */
+    WORST,
+    /** Replaces the worse of two random individuals if the offspring is better */
+    TOURNAMENT
+  }
+
+  private Problem<S> problem;
+  private int maxEvaluations;
+  private int populationSize;
+  private int numberOfWorkers;
+  private ReplacementPolicy replacementPolicy;
+  private IntFunction<CrossoverOperator<S>> crossoverFactory;
+  private IntFunction<MutationOperator<S>> mutationFactory;
+  private IntFunction<SelectionOperator<List<S>, S>> selectionFactory;
+  private SolutionListCreator<S> solutionListCreator;
+  private Comparator<S> comparator;
+
+  private AtomicReferenceArray<S> population;
+  private AtomicInteger evaluations;
+  private AtomicLong replacements;
+
+  /**
+   * Constructor
+   *
+   * @param numberOfWorkers threads breeding offspring, 0 to use as many as processors
+   * @param crossoverFactory gives the crossover of each worker given its index
+   * @param mutationFactory gives the mutation of each worker given its index
+   * @param selectionFactory gives the selection of each worker given its index
+   */
+  public AsynchronousSteadyStateGeneticAlgorithm(Problem<S> problem, int maxEvaluations, int populationSize,
+      int numberOfWorkers, ReplacementPolicy replacementPolicy, IntFunction<CrossoverOperator<S>> crossoverFactory,
+      IntFunction<MutationOperator<S>> mutationFactory, IntFunction<SelectionOperator<List<S>, S>> selectionFactory) {
+    if (numberOfWorkers < 0) {
+      throw new JMetalException("Wrong number of workers: " + numberOfWorkers);
+    } else if (populationSize < 2) {
+      throw new JMetalException("The population must have two individuals at least: " + populationSize);
+    }
+    this.problem = problem;
+    this.maxEvaluations = maxEvaluations;
+    this.populationSize = populationSize;
+    this.numberOfWorkers = (numberOfWorkers == 0 ? Runtime.getRuntime().availableProcessors() : numberOfWorkers);
+    this.replacementPolicy = replacementPolicy;
+    this.crossoverFactory = crossoverFactory;
+    this.mutationFactory = mutationFactory;
+    this.selectionFactory = selectionFactory;
+
+    comparator = new ObjectiveComparator<S>(0);
+    evaluations = new AtomicInteger();
+    replacements = new AtomicLong();
+  }
+
+  /* Getters and setters */
+  public int getNumberOfWorkers() {
+    return numberOfWorkers;
+  }
+
+  public ReplacementPolicy getReplacementPolicy() {
+    return replacementPolicy;
+  }
+
+  public SolutionListCreator<S> getSolutionListCreator() {
+    return solutionListCreator;
+  }
+
+  public void setSolutionListCreator(SolutionListCreator<S> solutionListCreator) {
+    this.solutionListCreator = solutionListCreator;
+  }
+
+  public int getEvaluations() {
+    return evaluations.get();
+  }
+
+  /** Returns how many offspring entered the population */
+  public long getReplacements() {
+    return replacements.get();
+  }
+
+  @Override
+  public void run() {
+    evaluations.set(0);
+    replacements.set(0);
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfWorkers);
+    try {
+      population = new AtomicReferenceArray<S>(populationSize);
+      List<S> initialPopulation = createInitialPopulation();
+      List<Callable<Void>> evaluationTasks = new ArrayList<>(populationSize);
+      for (int i = 0; i < populationSize; i++) {
+        S solution = initialPopulation.get(i);
+        evaluationTasks.add(() -> {
+          problem.evaluate(solution);
+          return null;
+        });
+        population.set(i, solution);
+      }
+      waitFor(executor.invokeAll(evaluationTasks));
+      evaluations.set(populationSize);
+
+      List<Future<Void>> workers = new ArrayList<>(numberOfWorkers);
+      for (int worker = 0; worker < numberOfWorkers; worker++) {
+        workers.add(executor.submit(new Worker(worker)));
+      }
+      waitFor(workers);
+      // every worker counts one evaluation over the budget when it stops
+      evaluations.set(Math.max(maxEvaluations, populationSize));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMetalException("Interrupted while running the workers", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<S> createInitialPopulation() {
+    if (solutionListCreator != null) {
+      return solutionListCreator.create(populationSize);
+    }
+    List<S> initialPopulation = new ArrayList<>(populationSize);
+    for (int i = 0; i < populationSize; i++) {
+      initialPopulation.add(problem.createSolution());
+    }
+    return initialPopulation;
+  }
+
+  // waits for the tasks, rethrowing the first exception thrown by them
+  private void waitFor(List<Future<Void>> tasks) throws InterruptedException {
+    for (Future<Void> task : tasks) {
+      try {
+        task.get();
+      } catch (ExecutionException e) {
+        throw new JMetalException("A worker failed", e);
+      }
+    }
+  }
+
+  // inserts the offspring according to the replacement policy. Returns false if
+  // it was not better than the individual it had to replace
+  private boolean insert(S offspring) {
+    while (true) {
+      int index;
+      if (replacementPolicy == ReplacementPolicy.WORST) {
+        index = 0;
+        for (int i = 1; i < populationSize; i++) {
+          if (comparator.compare(population.get(i), population.get(index)) > 0) {
+            index = i;
+          }
+        }
+      } else {
+        // the generator of JMetalRandom is not meant to be shared by threads
+        int first = ThreadLocalRandom.current().nextInt(populationSize);
+        int second = ThreadLocalRandom.current().nextInt(populationSize);
+        index = (comparator.compare(population.get(first), population.get(second)) >= 0 ? first : second);
+      }
+      S replaced = population.get(index);
+      if (comparator.compare(replaced, offspring) <= 0) {
+        return false;
+      }
+      // another worker may have replaced it meanwhile, and then we look again
+      if (population.compareAndSet(index, replaced, offspring)) {
+        replacements.incrementAndGet();
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public S getResult() {
+    S best = population.get(0);
+    for (int i = 1; i < populationSize; i++) {
+      if (comparator.compare(population.get(i), best) < 0) {
+        best = population.get(i);
+      }
+    }
+    return best;
+  }
+
+  /** Returns a copy of the current population */
+  public List<S> getPopulation() {
+    List<S> copy = new ArrayList<>(populationSize);
+    for (int i = 0; i < populationSize; i++) {
+      copy.add(population.get(i));
+    }
+    return copy;
+  }
+
+  @Override
+  public String getName() {
+    return "asyncssGA";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Asynchronous Steady-State Genetic Algorithm";
+  }
+
+  // breeds offspring until the evaluations are exhausted
+  private class Worker implements Callable<Void> {
+    private final CrossoverOperator<S> crossoverOperator;
+    private final MutationOperator<S> mutationOperator;
+    private final SelectionOperator<List<S>, S> selectionOperator;
+
+    Worker(int index) {
+      crossoverOperator = crossoverFactory.apply(index);
+      mutationOperator = mutationFactory.apply(index);
+      selectionOperator = selectionFactory.apply(index);
+    }
+
+    @Override
+    public Void call() {
+      // the selection sees the population as it is when it reads each individual
+      List<S> populationView = new AbstractList<S>() {
+        @Override
+        public S get(int index) {
+          return population.get(index);
+        }
+
+        @Override
+        public int size() {
+          return populationSize;
+        }
+      };
+      while (evaluations.getAndIncrement() < maxEvaluations) {
+        List<S> parents = new ArrayList<>(2);
+        parents.add(selectionOperator.execute(populationView));
+        parents.add(selectionOperator.execute(populationView));
+
+        S offspring = crossoverOperator.execute(parents).get(0);
+        mutationOperator.execute(offspring);
+        problem.evaluate(offspring);
+
+        insert(offspring);
+      }
+      return null;
+    }
+  }
+}
@@ -2,16 +2,19 @@ package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
 
 import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
 import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.LocalSearchOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalLogger;
 import org.uma.jmetal.util.comparator.ObjectiveComparator;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.logging.Level;
 
 /**
  * @author Antonio J. Nebro <antonio@lcc.uma.es>
@@ -24,6 +27,10 @@ public class GenerationalGeneticAlgorithm<S extends Solution<?>> extends Abstrac
 
   private SolutionListEvaluator<S> evaluator;
 
+  // memetic stage applied to the best individuals of every generation, if any
+  private LocalSearchOperator<S> localSearch;
+  private int localSearchIndividuals;
+
   /**
    * Constructor
    */
@@ -57,13 +64,53 @@ public class GenerationalGeneticAlgorithm<S extends Solution<?>> extends Abstrac
     offspringPopulation.remove(offspringPopulation.size() - 1);
     offspringPopulation.remove(offspringPopulation.size() - 1);
 
+    if (localSearch != null) {
+      improveBestIndividuals(offspringPopulation);
+    }
+
     return offspringPopulation;
   }
 
+  // replaces the best individuals of the population, sorted, by the result of
+  // the local search when it is better. Its evaluations count for the budget
+  private void improveBestIndividuals(List<S> population) {
+    for (int i = 0; i < Math.min(localSearchIndividuals, population.size()); i++) {
+      S improved = localSearch.execute(population.get(i));
+      evaluations += localSearch.getEvaluations();
+      if (comparator.compare(improved, population.get(i)) < 0) {
+        population.set(i, improved);
+      }
+    }
+    Collections.sort(population, comparator);
+  }
+
+  /**
+   * Applies a local search to the given number of best individuals after every replacement
+   *
+   * @param localSearch local search, null to disable the memetic stage
+   * @param individuals individuals improved in every generation
+   */
+  public void setLocalSearch(LocalSearchOperator<S> localSearch, int individuals) {
+    this.localSearch = localSearch;
+    this.localSearchIndividuals = individuals;
+  }
+
+  public LocalSearchOperator<S> getLocalSearch() {
+    return localSearch;
+  }
+
+  public int getLocalSearchIndividuals() {
+    return localSearchIndividuals;
+  }
+
   @Override
   protected List<S> evaluatePopulation(List<S> population) {
     population = evaluator.evaluate(population, getProblem());
-    System.out.println(getResult().getObjective(0) + "=============================================================");
+    // the best solution is only looked for when somebody is listening
+    if (JMetalLogger.logger.isLoggable(Level.FINE)) {
+      JMetalLogger.logger.fine("Evaluations: " + evaluations + ", best objective: "
+          + Collections.min(population, comparator).getObjective(0));
+    }
     return population;
   }
 
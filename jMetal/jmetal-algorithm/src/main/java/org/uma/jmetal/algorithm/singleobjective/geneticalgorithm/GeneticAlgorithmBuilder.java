@@ -1,7 +1,9 @@
 package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
 
 import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
 import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.LocalSearchOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
@@ -10,6 +12,7 @@ import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.JMetalException;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
 
 import java.util.List;
 
@@ -28,6 +31,9 @@ public class GeneticAlgorithmBuilder<S extends Solution<?>> {
   private MutationOperator<S> mutationOperator;
   private SelectionOperator<List<S>, S> selectionOperator;
   private SolutionListEvaluator<S> evaluator;
+  private SolutionListCreator<S> solutionListCreator;
+  private LocalSearchOperator<S> localSearch;
+  private int localSearchIndividuals;
 
   private GeneticAlgorithmVariant variant ;
   private SelectionOperator<List<S>, S> defaultSelectionOperator = new BinaryTournamentSelection<S>() ;
@@ -74,6 +80,26 @@ public class GeneticAlgorithmBuilder<S extends Solution<?>> {
     return this;
   }
 
+  public GeneticAlgorithmBuilder<S> setSolutionListCreator(SolutionListCreator<S> solutionListCreator) {
+    this.solutionListCreator = solutionListCreator;
+
+    return this;
+  }
+
+  /**
+   * Sets a local search applied to the best individuals of every generation, only available in
+   * the generational variant
+   */
+  public GeneticAlgorithmBuilder<S> setLocalSearch(LocalSearchOperator<S> localSearch, int individuals) {
+    if (individuals < 0) {
+      throw new JMetalException("Individuals to improve is negative: " + individuals);
+    }
+    this.localSearch = localSearch;
+    this.localSearchIndividuals = individuals;
+
+    return this;
+  }
+
   public GeneticAlgorithmBuilder<S> setVariant(GeneticAlgorithmVariant variant) {
     this.variant = variant;
 
@@ -81,15 +107,23 @@ public class GeneticAlgorithmBuilder<S extends Solution<?>> {
   }
 
   public Algorithm<S> build() {
+    AbstractGeneticAlgorithm<S, S> algorithm;
     if (variant == GeneticAlgorithmVariant.GENERATIONAL) {
-      return new GenerationalGeneticAlgorithm<S>(problem, maxEvaluations, populationSize,
+      algorithm = new GenerationalGeneticAlgorithm<S>(problem, maxEvaluations, populationSize,
           crossoverOperator, mutationOperator, selectionOperator, evaluator);
+      ((GenerationalGeneticAlgorithm<S>) algorithm).setLocalSearch(localSearch, localSearchIndividuals);
     } else if (variant == GeneticAlgorithmVariant.STEADY_STATE) {
-      return new SteadyStateGeneticAlgorithm<S>(problem, maxEvaluations, populationSize,
+      if (localSearch != null) {
+        throw new JMetalException("The steady state variant has no local search stage");
+      }
+      algorithm = new SteadyStateGeneticAlgorithm<S>(problem, maxEvaluations, populationSize,
           crossoverOperator, mutationOperator, selectionOperator);
     } else {
       throw new JMetalException("Unknown variant: " + variant) ;
     }
+    algorithm.setSolutionListCreator(solutionListCreator);
+
+    return algorithm;
   }
 
   /*
@@ -123,6 +157,18 @@ public class GeneticAlgorithmBuilder<S extends Solution<?>> {
     return evaluator;
   }
 
+  public SolutionListCreator<S> getSolutionListCreator() {
+    return solutionListCreator;
+  }
+
+  public LocalSearchOperator<S> getLocalSearch() {
+    return localSearch;
+  }
+
+  public int getLocalSearchIndividuals() {
+    return localSearchIndividuals;
+  }
+
   public GeneticAlgorithmVariant getVariant() {
     return variant ;
   }
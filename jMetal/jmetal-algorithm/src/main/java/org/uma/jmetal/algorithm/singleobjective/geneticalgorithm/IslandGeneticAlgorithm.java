@@ -0,0 +1,254 @@
+package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
+import org.uma.jmetal.algorithm.impl.GenerationListener;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.ObjectiveComparator;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Island model: runs several genetic algorithms, each one with its own population and on its own
+ * thread, which periodically send copies of some of their individuals to other islands.
+ *
+ * Every island keeps a lock-free queue of the individuals sent to it. Each given number of
+ * generations an island sends its migrants to the inbox of its neighbour in a ring, or of a random
+ * island, and takes the individuals waiting in its own inbox, which replace its worst ones if
+ * they are better. Islands never wait for each other: each one stops on its own stopping
+ * condition, so the budget of the model is the sum of the budgets of the islands. Islands may be
+ * configured differently, e.g. with other operator probabilities.
+ *
+ * As the migrants an island takes depend on how far the other islands have run, the results of
+ * the model are not reproducible, even when every island draws its numbers from its own streams.
+ */
+@SuppressWarnings("serial")
+public class IslandGeneticAlgorithm<S extends Solution<?>> implements Algorithm<S> {
+  /** Islands the migrants of an island are sent to */
+  public enum Topology {
+    /** The next island, the last one sending to the first one */
+    RING,
+    /** An island chosen at random each time */
+    RANDOM
+  }
+
+  /** Individuals of an island sent as migrants */
+  public enum MigrantSelection {
+    /** The best individuals */
+    BEST,
+    /** Individuals chosen at random */
+    RANDOM
+  }
+
+  private List<AbstractGeneticAlgorithm<S, S>> islands;
+  private Topology topology;
+  private MigrantSelection migrantSelection;
+  private int migrationInterval;
+  private int numberOfMigrants;
+  private Comparator<S> comparator;
+
+  private List<Queue<S>> inboxes;
+  private AtomicLong migrations;
+
+  /**
+   * Constructor
+   *
+   * @param islands algorithms run as islands, which must not be shared with other island models
+   * @param topology islands the migrants are sent to
+   * @param migrantSelection individuals sent as migrants
+   * @param migrationInterval generations between migrations
+   * @param numberOfMigrants individuals sent in every migration
+   */
+  public IslandGeneticAlgorithm(List<AbstractGeneticAlgorithm<S, S>> islands, Topology topology,
+      MigrantSelection migrantSelection, int migrationInterval, int numberOfMigrants) {
+    this(islands, topology, migrantSelection, migrationInterval, numberOfMigrants,
+        island -> (a, b) -> ThreadLocalRandom.current().nextInt(a, b + 1));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param islands algorithms run as islands, which must not be shared with other island models
+   * @param topology islands the migrants are sent to
+   * @param migrantSelection individuals sent as migrants
+   * @param migrationInterval generations between migrations
+   * @param numberOfMigrants individuals sent in every migration
+   * @param randomGeneratorFactory generator of the random destinations and migrants of every
+   *          island, only used by its thread
+   */
+  public IslandGeneticAlgorithm(List<AbstractGeneticAlgorithm<S, S>> islands, Topology topology,
+      MigrantSelection migrantSelection, int migrationInterval, int numberOfMigrants,
+      IntFunction<BoundedRandomGenerator<Integer>> randomGeneratorFactory) {
+    if (islands.isEmpty()) {
+      throw new JMetalException("There must be at least one island");
+    } else if (migrationInterval < 1) {
+      throw new JMetalException("Wrong migration interval: " + migrationInterval);
+    } else if (numberOfMigrants < 0) {
+      throw new JMetalException("Wrong number of migrants: " + numberOfMigrants);
+    }
+    this.islands = new ArrayList<>(islands);
+    this.topology = topology;
+    this.migrantSelection = migrantSelection;
+    this.migrationInterval = migrationInterval;
+    this.numberOfMigrants = numberOfMigrants;
+
+    comparator = new ObjectiveComparator<S>(0);
+    migrations = new AtomicLong();
+    inboxes = new ArrayList<>(islands.size());
+    for (int island = 0; island < islands.size(); island++) {
+      inboxes.add(new ConcurrentLinkedQueue<S>());
+      this.islands.get(island).setGenerationListener(new Migration(island, randomGeneratorFactory.apply(island)));
+    }
+  }
+
+  /* Getters */
+  public List<AbstractGeneticAlgorithm<S, S>> getIslands() {
+    return Collections.unmodifiableList(islands);
+  }
+
+  public Topology getTopology() {
+    return topology;
+  }
+
+  public MigrantSelection getMigrantSelection() {
+    return migrantSelection;
+  }
+
+  public int getMigrationInterval() {
+    return migrationInterval;
+  }
+
+  public int getNumberOfMigrants() {
+    return numberOfMigrants;
+  }
+
+  /** Returns how many migrants entered the population of an island */
+  public long getMigrations() {
+    return migrations.get();
+  }
+
+  @Override
+  public void run() {
+    migrations.set(0);
+    for (Queue<S> inbox : inboxes) {
+      inbox.clear();
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(islands.size());
+    try {
+      List<Future<?>> runs = new ArrayList<>(islands.size());
+      for (AbstractGeneticAlgorithm<S, S> island : islands) {
+        runs.add(executor.submit(island));
+      }
+      for (Future<?> run : runs) {
+        run.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMetalException("Interrupted while running the islands", e);
+    } catch (ExecutionException e) {
+      throw new JMetalException("An island failed", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Override
+  public S getResult() {
+    S best = null;
+    for (AbstractGeneticAlgorithm<S, S> island : islands) {
+      S result = island.getResult();
+      if (best == null || comparator.compare(result, best) < 0) {
+        best = result;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public String getName() {
+    return "islandGA";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Island Model Genetic Algorithm";
+  }
+
+  // exchanges the individuals of an island every migrationInterval generations
+  private class Migration implements GenerationListener<S> {
+    private final int island;
+    private final BoundedRandomGenerator<Integer> randomGenerator;
+    private int generations = 0;
+
+    Migration(int island, BoundedRandomGenerator<Integer> randomGenerator) {
+      this.island = island;
+      this.randomGenerator = randomGenerator;
+    }
+
+    @Override
+    public void generationDone(List<S> population) {
+      if (++generations % migrationInterval != 0) {
+        return;
+      }
+      if (islands.size() > 1) {
+        Queue<S> destination = inboxes.get(getDestination());
+        for (S migrant : selectMigrants(population)) {
+          destination.offer(migrant);
+        }
+      }
+
+      // immigrants replace the worst individuals they are better than
+      Collections.sort(population, comparator);
+      S immigrant;
+      while ((immigrant = inboxes.get(island).poll()) != null) {
+        int worst = population.size() - 1;
+        if (comparator.compare(immigrant, population.get(worst)) < 0) {
+          population.set(worst, immigrant);
+          migrations.incrementAndGet();
+          Collections.sort(population, comparator);
+        }
+      }
+    }
+
+    private int getDestination() {
+      if (topology == Topology.RING) {
+        return (island + 1) % islands.size();
+      }
+      int destination = randomGenerator.getRandomValue(0, islands.size() - 2);
+      return (destination >= island ? destination + 1 : destination);
+    }
+
+    // returns copies of the migrants, as the original individuals stay in the island
+    @SuppressWarnings("unchecked")
+    private List<S> selectMigrants(List<S> population) {
+      List<S> candidates = new ArrayList<>(population);
+      if (migrantSelection == MigrantSelection.BEST) {
+        Collections.sort(candidates, comparator);
+      } else {
+        // only the first migrants have to be shuffled
+        for (int i = 0; i < Math.min(numberOfMigrants, candidates.size() - 1); i++) {
+          Collections.swap(candidates, i, randomGenerator.getRandomValue(i, candidates.size() - 1));
+        }
+      }
+      List<S> migrants = new ArrayList<>(numberOfMigrants);
+      for (int i = 0; i < Math.min(numberOfMigrants, candidates.size()); i++) {
+        migrants.add((S) candidates.get(i).copy());
+      }
+      return migrants;
+    }
+  }
+}
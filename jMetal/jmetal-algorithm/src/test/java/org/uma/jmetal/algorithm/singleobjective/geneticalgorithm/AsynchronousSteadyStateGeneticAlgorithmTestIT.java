@@ -0,0 +1,34 @@
+package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
+
+import org.junit.Test;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.AsynchronousSteadyStateGeneticAlgorithm.ReplacementPolicy;
+import org.uma.jmetal.operator.impl.crossover.SinglePointCrossover;
+import org.uma.jmetal.operator.impl.mutation.BitFlipMutation;
+import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
+import org.uma.jmetal.problem.BinaryProblem;
+import org.uma.jmetal.problem.singleobjective.OneMax;
+import org.uma.jmetal.solution.BinarySolution;
+import org.uma.jmetal.util.AlgorithmRunner;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsynchronousSteadyStateGeneticAlgorithmTestIT {
+
+  @Test
+  public void shouldTheAlgorithmReturnTheCorrectSolutionWhenSolvingProblemOneMax() {
+    int NUMBER_OF_BITS = 512 ;
+    BinaryProblem problem = new OneMax(NUMBER_OF_BITS) ;
+
+    AsynchronousSteadyStateGeneticAlgorithm<BinarySolution> algorithm =
+        new AsynchronousSteadyStateGeneticAlgorithm<BinarySolution>(problem, 50000, 50, 4, ReplacementPolicy.WORST,
+            worker -> new SinglePointCrossover(0.9),
+            worker -> new BitFlipMutation(1.0 / NUMBER_OF_BITS),
+            worker -> new BinaryTournamentSelection<BinarySolution>()) ;
+
+    new AlgorithmRunner.Executor(algorithm).execute() ;
+
+    BinarySolution solution = algorithm.getResult() ;
+    assertEquals(NUMBER_OF_BITS, -1 * (int)solution.getObjective(0)) ;
+    assertEquals(50000, algorithm.getEvaluations()) ;
+  }
+}
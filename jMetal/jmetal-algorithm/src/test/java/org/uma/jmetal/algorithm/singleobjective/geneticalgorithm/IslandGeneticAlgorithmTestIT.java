@@ -0,0 +1,46 @@
+package org.uma.jmetal.algorithm.singleobjective.geneticalgorithm;
+
+import org.junit.Test;
+import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.IslandGeneticAlgorithm.MigrantSelection;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.IslandGeneticAlgorithm.Topology;
+import org.uma.jmetal.operator.impl.crossover.SinglePointCrossover;
+import org.uma.jmetal.operator.impl.mutation.BitFlipMutation;
+import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
+import org.uma.jmetal.problem.BinaryProblem;
+import org.uma.jmetal.problem.singleobjective.OneMax;
+import org.uma.jmetal.solution.BinarySolution;
+import org.uma.jmetal.util.AlgorithmRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IslandGeneticAlgorithmTestIT {
+
+  @Test
+  public void shouldTheAlgorithmReturnTheCorrectSolutionWhenSolvingProblemOneMax() {
+    int NUMBER_OF_BITS = 512 ;
+    BinaryProblem problem = new OneMax(NUMBER_OF_BITS) ;
+
+    List<AbstractGeneticAlgorithm<BinarySolution, BinarySolution>> islands = new ArrayList<>() ;
+    for (int island = 0; island < 4; island++) {
+      islands.add((AbstractGeneticAlgorithm<BinarySolution, BinarySolution>) new GeneticAlgorithmBuilder<>(problem,
+          new SinglePointCrossover(0.9), new BitFlipMutation(1.0 / NUMBER_OF_BITS))
+          .setPopulationSize(50)
+          .setMaxEvaluations(25000)
+          .setSelectionOperator(new BinaryTournamentSelection<BinarySolution>())
+          .build()) ;
+    }
+    IslandGeneticAlgorithm<BinarySolution> algorithm =
+        new IslandGeneticAlgorithm<>(islands, Topology.RING, MigrantSelection.BEST, 10, 2) ;
+
+    new AlgorithmRunner.Executor(algorithm).execute() ;
+
+    BinarySolution solution = algorithm.getResult() ;
+    assertEquals(NUMBER_OF_BITS, -1 * (int)solution.getObjective(0)) ;
+    assertTrue(algorithm.getMigrations() > 0) ;
+  }
+}
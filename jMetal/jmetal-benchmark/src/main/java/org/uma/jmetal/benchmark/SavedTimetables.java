@@ -0,0 +1,91 @@
+package org.uma.jmetal.benchmark;
+
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.solution.impl.ArrayIntegerSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.solutionscreation.impl.ForkJoinSolutionListCreator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timetables of the default instance used as input by the benchmarks. They are saved as a
+ * resource instead of being created when the benchmarks start, so that a change in the creation
+ * of solutions does not change what the other benchmarks measure and results of different commits
+ * can be compared.
+ *
+ * The resource has a timetable per line, with the values of its cells separated by spaces. Lines
+ * starting with # are comments. Running {@link #main(String[])} writes it again.
+ */
+public final class SavedTimetables {
+  public static final String RESOURCE = "/benchmarkTimetables.txt";
+  public static final long SEED = 1;
+  public static final int TIMETABLES = 8;
+
+  private SavedTimetables() {
+  }
+
+  /** Returns the saved timetables as solutions of the given problem */
+  public static List<IntegerSolution> load(Schedule problem) {
+    InputStream stream = SavedTimetables.class.getResourceAsStream(RESOURCE);
+    if (stream == null) {
+      throw new JMetalException("Resource not found: " + RESOURCE);
+    }
+    List<IntegerSolution> timetables = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] values = line.trim().split(" ");
+        if (values.length != problem.getNumberOfVariables()) {
+          throw new JMetalException("Saved timetable with " + values.length + " cells instead of "
+              + problem.getNumberOfVariables() + ", was the instance changed?");
+        }
+        ArrayIntegerSolution timetable = new ArrayIntegerSolution(problem, ScheduleDataHandler.AVAILABLE_INDEX);
+        for (int cellIndex = 0; cellIndex < values.length; cellIndex++) {
+          timetable.setIntVariableValue(cellIndex, Integer.parseInt(values[cellIndex]));
+        }
+        timetables.add(timetable);
+      }
+    } catch (IOException e) {
+      throw new JMetalException("Error reading " + RESOURCE, e);
+    }
+    return timetables;
+  }
+
+  /**
+   * Creates the timetables from {@link #SEED} and writes them to the given file, by default the
+   * resource in the sources of this module
+   */
+  public static void main(String[] args) throws IOException {
+    String file = (args.length > 0 ? args[0] : "jmetal-benchmark/src/main/resources" + RESOURCE);
+    Schedule problem = new Schedule(new ScheduleDataHandler());
+    ForkJoinSolutionListCreator<IntegerSolution> creator = new ForkJoinSolutionListCreator<>(problem, SEED, 1);
+    List<IntegerSolution> timetables = creator.create(TIMETABLES);
+    creator.shutdown();
+
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+      writer.println("# " + TIMETABLES + " timetables of the default instance created with seed " + SEED
+          + " by SavedTimetables");
+      for (IntegerSolution timetable : timetables) {
+        StringBuilder line = new StringBuilder();
+        for (int cellIndex = 0; cellIndex < timetable.getNumberOfVariables(); cellIndex++) {
+          line.append(cellIndex == 0 ? "" : " ").append(timetable.getVariableValue(cellIndex));
+        }
+        writer.println(line);
+      }
+    }
+  }
+}
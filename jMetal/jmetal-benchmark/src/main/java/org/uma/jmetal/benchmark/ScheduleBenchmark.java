@@ -0,0 +1,158 @@
+package org.uma.jmetal.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.solution.impl.DefaultIntegerSolution;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the evaluation and creation of schedule solutions, the mutation and the search
+ * of feasible cells. Benchmarks modifying a timetable work on a copy of a saved one, so their time
+ * includes a copy, measured alone by {@link #copyArrayIntegerSolution(ScheduleState)}.
+ *
+ * The benchmarks of the module are packaged in target/benchmarks.jar, run with
+ * java -jar jmetal-benchmark/target/benchmarks.jar [regular expression of the benchmarks]
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+  // classes with pair of the saved timetables, searched by getFeasibleClassroomsWithPair
+  @State(Scope.Thread)
+  public static class ClassesWithPair {
+    List<Integer> classes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void findClasses(ScheduleState state) {
+      classes = new ArrayList<>();
+      IntegerSolution timetable = state.timetables.get(0);
+      for (int cellIndex = 0; cellIndex < timetable.getNumberOfVariables(); cellIndex++) {
+        if (state.handler.isIndexClass(cellIndex) && state.handler.hasPair(cellIndex, timetable)) {
+          classes.add(state.handler.getCell(timetable, cellIndex));
+        }
+      }
+    }
+
+    int nextClass() {
+      next = (next + 1) % classes.size();
+      return classes.get(next);
+    }
+  }
+
+  // cells of the saved timetables holding a class swappable with the class of the next turn, not
+  // its pair, as unsafeSwap leaves pair references in the empty cells it swaps
+  @State(Scope.Thread)
+  public static class SwappableClasses {
+    // timetable and cell of every swap
+    List<int[]> swaps;
+    int next;
+
+    @Setup(Level.Trial)
+    public void findClasses(ScheduleState state) {
+      swaps = new ArrayList<>();
+      for (int timetable = 0; timetable < state.timetables.size(); timetable++) {
+        IntegerSolution solution = state.timetables.get(timetable);
+        for (int cellIndex = 0; cellIndex < solution.getNumberOfVariables(); cellIndex++) {
+          if (state.handler.isIndexClass(cellIndex) && state.handler.getTurn(cellIndex) < 2
+              && !state.handler.isAvailable(cellIndex, solution)
+              && !state.handler.isAvailable(cellIndex + 20, solution)
+              && state.handler.getCell(solution, cellIndex + 10) != cellIndex + 20) {
+            swaps.add(new int[] {timetable, cellIndex});
+          }
+        }
+      }
+    }
+
+    int[] nextSwap() {
+      next = (next + 1) % swaps.size();
+      return swaps.get(next);
+    }
+  }
+
+  // saved timetables copied as DefaultIntegerSolution, the encoding of most integer problems
+  @State(Scope.Thread)
+  public static class DefaultSolutions {
+    List<DefaultIntegerSolution> solutions;
+    int next;
+
+    @Setup(Level.Trial)
+    public void copyTimetables(ScheduleState state) {
+      solutions = new ArrayList<>();
+      for (IntegerSolution timetable : state.timetables) {
+        DefaultIntegerSolution solution = new DefaultIntegerSolution(state.problem);
+        for (int cellIndex = 0; cellIndex < timetable.getNumberOfVariables(); cellIndex++) {
+          solution.setVariableValue(cellIndex, timetable.getVariableValue(cellIndex));
+        }
+        solutions.add(solution);
+      }
+    }
+
+    DefaultIntegerSolution nextSolution() {
+      next = (next + 1) % solutions.size();
+      return solutions.get(next);
+    }
+  }
+
+  @Benchmark
+  public IntegerSolution evaluate(ScheduleState state) {
+    IntegerSolution timetable = state.nextTimetable();
+    state.fullEvaluationProblem.evaluate(timetable);
+    return timetable;
+  }
+
+  @Benchmark
+  public IntegerSolution evaluateDeltaAfterSwap(ScheduleState state, SwappableClasses classes) {
+    int[] swap = classes.nextSwap();
+    IntegerSolution timetable = (IntegerSolution) state.timetables.get(swap[0]).copy();
+    // swaps the classes of two cells of the same day and classroom in consecutive turns
+    state.handler.unsafeSwap(swap[1], swap[1] + 20, timetable);
+    state.problem.evaluate(timetable);
+    return timetable;
+  }
+
+  @Benchmark
+  public IntegerSolution createSolution(ScheduleState state) {
+    return state.problem.createSolution(state.random);
+  }
+
+  @Benchmark
+  public IntegerSolution mutation(ScheduleState state) {
+    IntegerSolution timetable = (IntegerSolution) state.nextTimetable().copy();
+    return state.mutation.execute(timetable);
+  }
+
+  @Benchmark
+  public HashMap<Integer, ArrayList<Integer>> getFeasibleClassroomsWithPair(ScheduleState state,
+      ClassesWithPair classes) {
+    return state.handler.getFeasibleClassroomsWithPair(classes.nextClass(), state.nextTimetable());
+  }
+
+  @Benchmark
+  public IntegerSolution copyArrayIntegerSolution(ScheduleState state) {
+    return (IntegerSolution) state.nextTimetable().copy();
+  }
+
+  @Benchmark
+  public IntegerSolution copyDefaultIntegerSolution(DefaultSolutions solutions) {
+    return solutions.nextSolution().copy();
+  }
+}
@@ -0,0 +1,72 @@
+package org.uma.jmetal.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.impl.crossover.ConstraintAwareScheduleCrossover;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.RandomGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of every variant of the schedule crossovers, on pairs of saved timetables. Both
+ * crossovers draw the variant right after deciding to cross the parents, so the random numbers
+ * given to them always cross and answer that draw with the variant benchmarked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleCrossoverBenchmark {
+  @Param({"ScheduleCrossover", "ConstraintAwareScheduleCrossover"})
+  public String operator;
+
+  // slice of the timetable exchanged: 0 a day, 1 a turn, 2 a classroom
+  @Param({"0", "1", "2"})
+  public int variant;
+
+  private CrossoverOperator<IntegerSolution> crossover;
+  private boolean drawingVariant;
+
+  @Setup
+  public void createCrossover(ScheduleState state) {
+    RandomGenerator<Double> probability = () -> {
+      drawingVariant = true;
+      return 0.0;
+    };
+    BoundedRandomGenerator<Integer> points = (lowerBound, upperBound) -> {
+      if (drawingVariant) {
+        drawingVariant = false;
+        return variant;
+      }
+      return state.random.nextInt(lowerBound, upperBound);
+    };
+    if (operator.equals("ScheduleCrossover")) {
+      crossover = new ScheduleCrossover(state.handler, 1.0, probability, points);
+    } else {
+      crossover = new ConstraintAwareScheduleCrossover(state.handler, 1.0,
+          ConstraintAwareScheduleCrossover.DEFAULT_MAX_REPAIRS, probability, points);
+    }
+  }
+
+  @Benchmark
+  public List<IntegerSolution> crossover(ScheduleState state) {
+    return crossover.execute(Arrays.asList(state.nextTimetable(), state.nextTimetable()));
+  }
+}
@@ -0,0 +1,57 @@
+package org.uma.jmetal.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.pseudorandom.RandomStreams;
+import org.uma.jmetal.util.pseudorandom.impl.SplittableRandomGenerator;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.List;
+
+/**
+ * Problem, saved timetables, random numbers and operators shared by the schedule benchmarks. The
+ * random numbers are drawn from a stream with a fixed seed, restarted at every iteration together
+ * with the operators using it, so every iteration and every run does the same work.
+ */
+@State(Scope.Thread)
+public class ScheduleState {
+  public static final long SEED = 1;
+
+  public ScheduleDataHandler handler;
+  public Schedule problem;
+  public Schedule fullEvaluationProblem;
+  public List<IntegerSolution> timetables;
+  public SplittableRandomGenerator random;
+  public ScheduleMutation mutation;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void loadTimetables() {
+    handler = new ScheduleDataHandler();
+    problem = new Schedule(handler);
+    fullEvaluationProblem = new Schedule(handler, false);
+    timetables = SavedTimetables.load(problem);
+    for (IntegerSolution timetable : timetables) {
+      problem.evaluate(timetable);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void restartRandomNumbers() {
+    random = new RandomStreams(SEED).getStream(0);
+    mutation = new ScheduleMutation(handler, 0.01, random);
+    next = 0;
+  }
+
+  /** Returns the saved timetables one after the other */
+  public IntegerSolution nextTimetable() {
+    IntegerSolution timetable = timetables.get(next);
+    next = (next + 1) % timetables.size();
+    return timetable;
+  }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 public abstract class AbstractEvolutionaryAlgorithm<S, R> implements Algorithm<R> {
   protected List<S> population;
   protected Problem<S> problem;
+  private GenerationListener<S> generationListener;
 
   public List<S> getPopulation() {
     return population;
@@ -34,6 +35,15 @@ public abstract class AbstractEvolutionaryAlgorithm<S, R> implements Algorithm<R
     return problem;
   }
 
+  public GenerationListener<S> getGenerationListener() {
+    return generationListener;
+  }
+
+  /** Sets an object notified at the end of every generation, null to remove it */
+  public void setGenerationListener(GenerationListener<S> generationListener) {
+    this.generationListener = generationListener;
+  }
+
   protected abstract void initProgress();
 
   protected abstract void updateProgress();
@@ -61,16 +71,15 @@ public abstract class AbstractEvolutionaryAlgorithm<S, R> implements Algorithm<R
     population = createInitialPopulation();
     population = evaluatePopulation(population);
     initProgress();
-    int generation = 0;
     while (!isStoppingConditionReached()) {
       matingPopulation = selection(population);
       offspringPopulation = reproduction(matingPopulation);
-      System.out.println("EVALUO POBLACION");
       offspringPopulation = evaluatePopulation(offspringPopulation);
       population = replacement(population, offspringPopulation);
       updateProgress();
-      System.out.println("TERMINO GENERACION " + generation);
-      generation++;
+      if (generationListener != null) {
+        generationListener.generationDone(population);
+      }
     }
   }
 }
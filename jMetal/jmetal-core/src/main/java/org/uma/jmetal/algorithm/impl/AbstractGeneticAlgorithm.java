@@ -5,6 +5,8 @@ import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +22,7 @@ public abstract class AbstractGeneticAlgorithm<S, Result> extends AbstractEvolut
   protected SelectionOperator<List<S>, S> selectionOperator;
   protected CrossoverOperator<S> crossoverOperator;
   protected MutationOperator<S> mutationOperator;
+  protected SolutionListCreator<S> solutionListCreator;
 
   /* Setters and getters */
   public void setMaxPopulationSize(int maxPopulationSize) {
@@ -42,6 +45,14 @@ public abstract class AbstractGeneticAlgorithm<S, Result> extends AbstractEvolut
     return mutationOperator;
   }
 
+  public SolutionListCreator<S> getSolutionListCreator() {
+    return solutionListCreator;
+  }
+
+  public void setSolutionListCreator(SolutionListCreator<S> solutionListCreator) {
+    this.solutionListCreator = solutionListCreator;
+  }
+
   /**
    * Constructor
    * 
@@ -53,17 +64,23 @@ public abstract class AbstractGeneticAlgorithm<S, Result> extends AbstractEvolut
 
   /**
    * This method implements a default scheme create the initial population of
-   * genetic algorithm
+   * genetic algorithm. If a {@link SolutionListCreator} has been set, the
+   * population is created by it
    * 
    * @return
    */
   protected List<S> createInitialPopulation() {
-    List<S> population = new ArrayList<>(getMaxPopulationSize());
-    for (int i = 0; i < getMaxPopulationSize(); i++) {
-      S newIndividual = getProblem().createSolution();
-      population.add(newIndividual);
+    List<S> population;
+    if (solutionListCreator != null) {
+      population = solutionListCreator.create(getMaxPopulationSize());
+    } else {
+      population = new ArrayList<>(getMaxPopulationSize());
+      for (int i = 0; i < getMaxPopulationSize(); i++) {
+        S newIndividual = getProblem().createSolution();
+        population.add(newIndividual);
+      }
     }
-    System.out.println("POBLACION INICIAL CREADA");
+    JMetalLogger.logger.fine("Initial population created");
     return population;
   }
 
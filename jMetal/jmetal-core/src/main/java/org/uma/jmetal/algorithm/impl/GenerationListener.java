@@ -0,0 +1,19 @@
+package org.uma.jmetal.algorithm.impl;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Interface representing an object notified by an {@link AbstractEvolutionaryAlgorithm} at the
+ * end of every generation, e.g. to exchange individuals with other algorithms
+ *
+ * @param <S> Solution
+ */
+public interface GenerationListener<S> extends Serializable {
+  /**
+   * Called after the replacement of every generation, from the thread running the algorithm
+   *
+   * @param population the population of the algorithm, which can be modified in place
+   */
+  void generationDone(List<S> population);
+}
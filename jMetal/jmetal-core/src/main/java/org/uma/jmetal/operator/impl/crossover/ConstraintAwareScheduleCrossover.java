@@ -0,0 +1,354 @@
+package org.uma.jmetal.operator.impl.crossover;
+
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.measure.Measurable;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.measure.impl.AtomicCountingMeasure;
+import org.uma.jmetal.util.measure.impl.ConcurrentCountingMeasure;
+import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.RandomGenerator;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Variant of {@link ScheduleCrossover} exchanging the same slices (a day, a turn or a classroom)
+ * but repairing the child instead of giving up on it.
+ *
+ * The classes of the mother in the slice are removed and the ones of the father are copied in,
+ * counting in a single pass over the slice how many classes of each class with type the child
+ * gained or lost. Pairs of the father that do not fit where they were are moved to another day,
+ * the classes in excess are removed from outside the slice and the missing ones are inserted in a
+ * feasible slot, or in place of a victim. All the searches go through the occupancy the handler
+ * keeps for the child. A child needing more than a given amount of repairs is reverted to its
+ * mother.
+ */
+public class ConstraintAwareScheduleCrossover implements CrossoverOperator<IntegerSolution>, Measurable {
+  public static final int DEFAULT_MAX_REPAIRS = 32;
+  public static final int LOG_SAMPLING_PERIOD = 1000;
+
+  private static final int DAY_SLICE = 0;
+  private static final int TURN_SLICE = 1;
+  private static final int CLASSROOM_SLICE = 2;
+
+  private double crossoverProbability;
+  private int maxRepairs;
+  private RandomGenerator<Double> crossoverRandomGenerator;
+  private BoundedRandomGenerator<Integer> pointRandomGenerator;
+  private ScheduleDataHandler data;
+
+  private ConcurrentCountingMeasure crossovers;
+  private AtomicCountingMeasure abortedChildren;
+  private ConcurrentCountingMeasure repairs;
+  private SimpleMeasureManager measureManager;
+
+  /** Constructor */
+  public ConstraintAwareScheduleCrossover(ScheduleDataHandler data, double crossoverProbability) {
+    this(data, crossoverProbability, DEFAULT_MAX_REPAIRS);
+  }
+
+  /** Constructor */
+  public ConstraintAwareScheduleCrossover(ScheduleDataHandler data, double crossoverProbability, int maxRepairs) {
+    this(data, crossoverProbability, maxRepairs, () -> JMetalRandom.getInstance().nextDouble(),
+        (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
+  }
+
+  /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+  public ConstraintAwareScheduleCrossover(ScheduleDataHandler data, double crossoverProbability, int maxRepairs,
+      PseudoRandomGenerator randomGenerator) {
+    this(data, crossoverProbability, maxRepairs, () -> randomGenerator.nextDouble(),
+        (a, b) -> randomGenerator.nextInt(a, b));
+  }
+
+  /** Constructor */
+  public ConstraintAwareScheduleCrossover(ScheduleDataHandler data, double crossoverProbability, int maxRepairs,
+      RandomGenerator<Double> crossoverRandomGenerator, BoundedRandomGenerator<Integer> pointRandomGenerator) {
+    if (crossoverProbability < 0) {
+      throw new JMetalException("Crossover probability is negative: " + crossoverProbability);
+    } else if (maxRepairs < 0) {
+      throw new JMetalException("Maximum number of repairs is negative: " + maxRepairs);
+    }
+    this.crossoverProbability = crossoverProbability;
+    this.maxRepairs = maxRepairs;
+    this.crossoverRandomGenerator = crossoverRandomGenerator;
+    this.pointRandomGenerator = pointRandomGenerator;
+    this.data = data;
+
+    initMeasures();
+  }
+
+  private void initMeasures() {
+    crossovers = new ConcurrentCountingMeasure("crossovers", "Crossovers done, not counting the skipped ones");
+    abortedChildren = new AtomicCountingMeasure("abortedChildren",
+        "Children reverted to their mother because they could not be repaired");
+    repairs = new ConcurrentCountingMeasure("repairs", "Classes moved or inserted to repair a child");
+
+    measureManager = new SimpleMeasureManager();
+    measureManager.setPullMeasure("crossovers", crossovers);
+    measureManager.setPullMeasure("abortedChildren", abortedChildren);
+    measureManager.setPullMeasure("repairs", repairs);
+  }
+
+  @Override
+  public MeasureManager getMeasureManager() {
+    return measureManager;
+  }
+
+  /* Getters */
+  public double getCrossoverProbability() {
+    return crossoverProbability;
+  }
+
+  public int getMaxRepairs() {
+    return maxRepairs;
+  }
+
+  @Override
+  public int getNumberOfRequiredParents() {
+    return 2;
+  }
+
+  @Override
+  public int getNumberOfGeneratedChildren() {
+    return 2;
+  }
+
+  @Override
+  public List<IntegerSolution> execute(List<IntegerSolution> integerSolutions) {
+    if (null == integerSolutions) {
+      throw new JMetalException("Null parameter");
+    } else if (integerSolutions.size() != 2) {
+      throw new JMetalException("There must be two parents instead of " + integerSolutions.size());
+    }
+
+    return doCrossover(integerSolutions.get(0), integerSolutions.get(1));
+  }
+
+  private List<IntegerSolution> doCrossover(IntegerSolution parent1, IntegerSolution parent2) {
+    List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(2);
+    if (crossoverRandomGenerator.getRandomValue() <= crossoverProbability) {
+      crossovers.increment();
+
+      int slice = pointRandomGenerator.getRandomValue(0, 2);
+      int point;
+      if (slice == DAY_SLICE) {
+        point = pointRandomGenerator.getRandomValue(0, 4);
+      } else if (slice == TURN_SLICE) {
+        point = pointRandomGenerator.getRandomValue(0, 2);
+      } else {
+        point = pointRandomGenerator.getRandomValue(0, data.getClassroomQty() - 1);
+      }
+      offspring.add(createChild(parent1, parent2, slice, point));
+      offspring.add(createChild(parent2, parent1, slice, point));
+    } else {
+      offspring.add((IntegerSolution) parent1.copy());
+      offspring.add((IntegerSolution) parent2.copy());
+    }
+    return offspring;
+  }
+
+  private IntegerSolution createChild(IntegerSolution father, IntegerSolution mother, int slice, int point) {
+    IntegerSolution child = (IntegerSolution) mother.copy();
+    // an aborted child is reverted to the mother through its undo log
+    data.beginTransaction(child);
+
+    // classes gained by the child minus classes lost, by class with type
+    int[] classBalance = new int[10 * data.getCompiledInstance().getAmountCourses()];
+    int[] cells = getSliceCells(slice, point);
+
+    // the classes of the mother in the slice are removed, with their pairs
+    for (int cellIndex : cells) {
+      if (!data.isAvailable(cellIndex, child)) {
+        classBalance[data.getCell(child, cellIndex)]--;
+        removeClass(child, cellIndex);
+      }
+    }
+
+    // and the ones of the father are copied in. Pairs out of the slice are only
+    // taken from the father when they are free in the child
+    int repairsDone = 0;
+    for (int cellIndex : cells) {
+      if (data.isAvailable(cellIndex, father) || !data.isAvailable(cellIndex, child)) {
+        continue;
+      }
+      int classWithType = data.getCell(father, cellIndex);
+      data.setCell(child, cellIndex, classWithType);
+      data.setCell(child, cellIndex + 10, cellIndex);
+      if (data.hasPair(cellIndex, father)) {
+        int pairIndex = data.getCell(father, cellIndex + 10);
+        if (!isInSlice(pairIndex, slice, point) && !data.isAvailable(pairIndex, child)) {
+          pairIndex = data.findFeasibleDay(cellIndex, child, false);
+          repairsDone++;
+        }
+        if (pairIndex == -1) {
+          // the class will be inserted somewhere else as a missing one
+          data.setCell(child, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+          data.setCell(child, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+          continue;
+        }
+        data.setCell(child, pairIndex, classWithType);
+        data.setCell(child, cellIndex + 10, pairIndex);
+        data.setCell(child, pairIndex + 10, cellIndex);
+      }
+      classBalance[classWithType]++;
+    }
+
+    // the slots freed by the classes in excess are given to the missing ones
+    // first, and only the rest have to be searched for
+    int[] freedSlots = removeExcess(child, classBalance, slice, point);
+    for (int classWithType = 0; classWithType < classBalance.length; classWithType++) {
+      for (; classBalance[classWithType] < 0; classBalance[classWithType]++) {
+        if (!insertIntoFreedSlot(child, classWithType, freedSlots)
+            && (++repairsDone > maxRepairs || !insertClass(child, classWithType))) {
+          return abort(child);
+        }
+      }
+    }
+    repairs.increment(repairsDone);
+
+    data.commitTransaction(child);
+
+    return child;
+  }
+
+  // returns the class cells of a slice
+  private int[] getSliceCells(int slice, int point) {
+    int classroomsQty = (slice == CLASSROOM_SLICE ? 1 : data.getClassroomQty());
+    int turnsQty = (slice == TURN_SLICE ? 1 : 3);
+    int daysQty = (slice == DAY_SLICE ? 1 : 5);
+    int[] cells = new int[classroomsQty * turnsQty * daysQty * 2];
+    int position = 0;
+    for (int classroom = 0; classroom < classroomsQty; classroom++) {
+      for (int turn = 0; turn < turnsQty; turn++) {
+        for (int day = 0; day < daysQty; day++) {
+          for (int cell = 0; cell < 2; cell++) {
+            cells[position++] = 60 * (slice == CLASSROOM_SLICE ? point : classroom)
+                + 20 * (slice == TURN_SLICE ? point : turn) + 2 * (slice == DAY_SLICE ? point : day) + cell;
+          }
+        }
+      }
+    }
+    return cells;
+  }
+
+  private boolean isInSlice(int cellIndex, int slice, int point) {
+    if (slice == DAY_SLICE) {
+      return data.getDay(cellIndex) == point;
+    } else if (slice == TURN_SLICE) {
+      return data.getTurn(cellIndex) == point;
+    } else {
+      return data.getClassroom(cellIndex) == point;
+    }
+  }
+
+  // removes the class in a cell of the child together with its pair
+  private void removeClass(IntegerSolution child, int cellIndex) {
+    if (data.hasPair(cellIndex, child)) {
+      int pairIndex = data.getCell(child, cellIndex + 10);
+      data.setCell(child, pairIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(child, pairIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+    data.setCell(child, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+    data.setCell(child, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+  }
+
+  // removes the classes the child gained from the cells out of the slice, leaving
+  // the pairs of the classes copied from the father. Returns the slots freed, -1
+  // once they are taken
+  private int[] removeExcess(IntegerSolution child, int[] classBalance, int slice, int point) {
+    int excess = 0;
+    for (int balance : classBalance) {
+      excess += Math.max(balance, 0);
+    }
+    int[] freedSlots = new int[excess];
+    for (int cellIndex = 0; cellIndex < data.getCellsInMatrix() && excess > 0; cellIndex++) {
+      if (!data.isIndexClass(cellIndex) || data.isAvailable(cellIndex, child) || isInSlice(cellIndex, slice, point)) {
+        continue;
+      }
+      int classWithType = data.getCell(child, cellIndex);
+      if (classBalance[classWithType] > 0 && !isInSlice(data.getCell(child, cellIndex + 10), slice, point)) {
+        int pairIndex = (data.hasPair(cellIndex, child) ? data.getCell(child, cellIndex + 10) : cellIndex);
+        freedSlots[--excess] = ScheduleDataHandler.packSlot(cellIndex, pairIndex);
+        removeClass(child, cellIndex);
+        classBalance[classWithType]--;
+      }
+    }
+    return freedSlots;
+  }
+
+  // inserts a missing class into a freed slot with the same pair status and enough capacity.
+  // A class inserted earlier by insertClass may have taken the slot since it was freed
+  private boolean insertIntoFreedSlot(IntegerSolution child, int classWithType, int[] freedSlots) {
+    boolean withPair = data.getClassType(classWithType) < 2;
+    int attendingStudents = data.getAttendingStudents(classWithType);
+    for (int i = 0; i < freedSlots.length; i++) {
+      if (freedSlots[i] == -1) {
+        continue;
+      }
+      int cellIndex = ScheduleDataHandler.getSlotCell(freedSlots[i]);
+      int pairIndex = ScheduleDataHandler.getSlotPairCell(freedSlots[i]);
+      if (!isFree(child, cellIndex) || !isFree(child, pairIndex)) {
+        freedSlots[i] = -1;
+        continue;
+      }
+      if ((cellIndex != pairIndex) != withPair
+          || attendingStudents > data.getClassroomCapacity(data.getClassroom(cellIndex))) {
+        continue;
+      }
+      freedSlots[i] = -1;
+      data.setCell(child, cellIndex, classWithType);
+      data.setCell(child, cellIndex + 10, pairIndex);
+      if (withPair) {
+        data.setCell(child, pairIndex, classWithType);
+        data.setCell(child, pairIndex + 10, cellIndex);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  // returns if both a class cell and its pair reference cell are empty in the child
+  private boolean isFree(IntegerSolution child, int cellIndex) {
+    return data.isAvailable(cellIndex, child) && data.isAvailable(cellIndex + 10, child);
+  }
+
+  // inserts a missing class in a random feasible slot, or in place of a victim
+  private boolean insertClass(IntegerSolution child, int classWithType) {
+    boolean withPair = data.getClassType(classWithType) < 2;
+    int feasibleSlots = data.countFeasibleSlots(classWithType, withPair, child);
+    if (feasibleSlots == 0) {
+      if (withPair) {
+        return data.insertPairIntoSolution(classWithType, child) != null;
+      }
+      return data.insertClassIntoSolution(classWithType, child) != null;
+    }
+    int slot = data.getFeasibleSlot(classWithType, withPair, child,
+        pointRandomGenerator.getRandomValue(0, feasibleSlots - 1));
+    int cellIndex = ScheduleDataHandler.getSlotCell(slot);
+    int pairIndex = ScheduleDataHandler.getSlotPairCell(slot);
+    data.setCell(child, cellIndex, classWithType);
+    data.setCell(child, cellIndex + 10, pairIndex);
+    if (withPair) {
+      data.setCell(child, pairIndex, classWithType);
+      data.setCell(child, pairIndex + 10, cellIndex);
+    }
+    return true;
+  }
+
+  private IntegerSolution abort(IntegerSolution child) {
+    long aborted = abortedChildren.incrementAndGet();
+    if (aborted % LOG_SAMPLING_PERIOD == 0 && JMetalLogger.logger.isLoggable(Level.FINE)) {
+      JMetalLogger.logger.fine("Crossover children aborted: " + aborted + " of " + 2 * crossovers.get());
+    }
+    data.rollbackTransaction(child);
+    return child;
+  }
+}
@@ -3,8 +3,15 @@ package org.uma.jmetal.operator.impl.crossover;
 import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.solution.IntegerSolution;
 import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.measure.Measurable;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.measure.impl.AtomicCountingMeasure;
+import org.uma.jmetal.util.measure.impl.ConcurrentCountingMeasure;
+import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
 import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
 import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
 
@@ -13,20 +20,44 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
+import java.util.logging.Level;
+
+/**
+ * Crossover of schedule solutions exchanging a day, a turn or a classroom between the parents.
+ *
+ * What it does is counted by the measures of {@link #getMeasureManager()}, which are cheap enough
+ * to be left on. Aborted crossovers are also logged at {@link Level#FINE}, one of every
+ * {@link #LOG_SAMPLING_PERIOD}.
+ */
+public class ScheduleCrossover implements CrossoverOperator<IntegerSolution>, Measurable {
+  public static final int LOG_SAMPLING_PERIOD = 1000;
 
-public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
   private double crossoverProbability;
   private RandomGenerator<Double> crossoverRandomGenerator;
   private BoundedRandomGenerator<Integer> pointRandomGenerator;
   private ScheduleDataHandler data;
 
+  private ConcurrentCountingMeasure crossovers;
+  private ConcurrentCountingMeasure dayCrossovers;
+  private ConcurrentCountingMeasure turnCrossovers;
+  private ConcurrentCountingMeasure classroomCrossovers;
+  private AtomicCountingMeasure abortedChildren;
+  private ConcurrentCountingMeasure relocatedPairs;
+  private SimpleMeasureManager measureManager;
+
   /** Constructor */
   public ScheduleCrossover(ScheduleDataHandler data, double crossoverProbability) {
     this(data, crossoverProbability, () -> JMetalRandom.getInstance().nextDouble(),
         (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
   }
 
+  /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+  public ScheduleCrossover(ScheduleDataHandler data, double crossoverProbability,
+      PseudoRandomGenerator randomGenerator) {
+    this(data, crossoverProbability, () -> randomGenerator.nextDouble(),
+        (a, b) -> randomGenerator.nextInt(a, b));
+  }
+
   /** Constructor */
   public ScheduleCrossover(ScheduleDataHandler data, double crossoverProbability,
       RandomGenerator<Double> randomGenerator) {
@@ -43,6 +74,32 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
     this.crossoverRandomGenerator = crossoverRandomGenerator;
     this.pointRandomGenerator = pointRandomGenerator;
     this.data = data;
+
+    initMeasures();
+  }
+
+  private void initMeasures() {
+    crossovers = new ConcurrentCountingMeasure("crossovers", "Crossovers done, not counting the skipped ones");
+    dayCrossovers = new ConcurrentCountingMeasure("dayCrossovers", "Crossovers exchanging a day");
+    turnCrossovers = new ConcurrentCountingMeasure("turnCrossovers", "Crossovers exchanging a turn");
+    classroomCrossovers = new ConcurrentCountingMeasure("classroomCrossovers", "Crossovers exchanging a classroom");
+    abortedChildren = new AtomicCountingMeasure("abortedChildren",
+        "Children reverted to their mother because a pair could not be placed");
+    relocatedPairs = new ConcurrentCountingMeasure("relocatedPairs",
+        "Pairs moved to another cell to solve a collision in a child");
+
+    measureManager = new SimpleMeasureManager();
+    measureManager.setPullMeasure("crossovers", crossovers);
+    measureManager.setPullMeasure("dayCrossovers", dayCrossovers);
+    measureManager.setPullMeasure("turnCrossovers", turnCrossovers);
+    measureManager.setPullMeasure("classroomCrossovers", classroomCrossovers);
+    measureManager.setPullMeasure("abortedChildren", abortedChildren);
+    measureManager.setPullMeasure("relocatedPairs", relocatedPairs);
+  }
+
+  @Override
+  public MeasureManager getMeasureManager() {
+    return measureManager;
   }
 
   @Override
@@ -63,22 +120,23 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
       throw new JMetalException("There must be two parents instead of " + integerSolutions.size());
     }
 
-    System.out.println("EMPIEZO CRUZAMIENTO");
-
     return doCrossover(integerSolutions.get(0), integerSolutions.get(1));
   }
 
   private List<IntegerSolution> doCrossover(IntegerSolution parent1, IntegerSolution parent2) {
     if (crossoverRandomGenerator.getRandomValue() <= crossoverProbability) {
-      System.out.println("CRUZANDO...");
+      crossovers.increment();
 
-      int crossoverType = JMetalRandom.getInstance().nextInt(0, 2);
+      int crossoverType = pointRandomGenerator.getRandomValue(0, 2);
 
       if (crossoverType == 0) {
+        dayCrossovers.increment();
         return dayCrossover(parent1, parent2);
       } else if (crossoverType == 1) {
+        turnCrossovers.increment();
         return turnCrossover(parent1, parent2);
       } else {
+        classroomCrossovers.increment();
         return classroomCrossover(parent1, parent2);
       }
     } else {
@@ -90,8 +148,7 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
   }
 
   private List<IntegerSolution> dayCrossover(IntegerSolution parent1, IntegerSolution parent2) {
-    Random random = new Random();
-    int day = random.nextInt(5);
+    int day = pointRandomGenerator.getRandomValue(0, 4);
     List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(2);
     offspring.add(doDayCrossover(parent1, parent2, day));
     offspring.add(doDayCrossover(parent2, parent1, day));
@@ -100,11 +157,13 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
 
   private IntegerSolution doDayCrossover(IntegerSolution father, IntegerSolution mother, int day) {
     IntegerSolution child = (IntegerSolution) mother.copy();
+    // an aborted child is reverted to the mother through its undo log
+    data.beginTransaction(child);
 
     // register classes to delete from mother
     HashMap<Integer, Integer> classBalance = new HashMap<Integer, Integer>();
     for (int turn = 0; turn < 3; turn++) {
-      for (int classroom = 0; classroom < data.getClassroomCapacity().keySet().size(); classroom++) {
+      for (int classroom = 0; classroom < data.getClassroomQty(); classroom++) {
         for (int cell = 0; cell < 2; cell++) {
           int cellIndex = classroom * 60 + turn * 20 + day * 2 + cell;
           setUpChildCell(child, mother, father, classBalance, cellIndex);
@@ -117,30 +176,28 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
     deleteExcessFromChild(child, mother, classBalance);
 
     // we need to insert now
-    for (int classroom = 0; classroom < data.getClassroomCapacity().keySet().size(); classroom++) {
+    for (int classroom = 0; classroom < data.getClassroomQty(); classroom++) {
       for (int turn = 0; turn < 3; turn++) {
         for (int cell = 0; cell < 2; cell++) {
           int cellIndex = 60 * classroom + 20 * turn + 2 * day + cell;
-          child.setVariableValue(cellIndex, father.getVariableValue(cellIndex));
-          child.setVariableValue(cellIndex + 10, father.getVariableValue(cellIndex + 10));
+          data.setCell(child, cellIndex, data.getCell(father, cellIndex));
+          data.setCell(child, cellIndex + 10, data.getCell(father, cellIndex + 10));
           if (data.hasPair(cellIndex, father)) {
-            if (!solveCollision(father.getVariableValue(cellIndex + 10), child, father)) {
-              System.out.println("CROSSOVER ABORTED");
-              return (IntegerSolution) mother.copy();
+            if (!solveCollision(data.getCell(father, cellIndex + 10), child, father)) {
+              return abort(child);
             }
           }
         }
       }
     }
 
-    addMissingClassesToChild(child, mother, classBalance);
+    data.commitTransaction(child);
 
     return child;
   }
 
   private List<IntegerSolution> turnCrossover(IntegerSolution parent1, IntegerSolution parent2) {
-    Random random = new Random();
-    int turn = random.nextInt(3);
+    int turn = pointRandomGenerator.getRandomValue(0, 2);
     List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(2);
     offspring.add(doTurnCrossover(parent1, parent2, turn));
     offspring.add(doTurnCrossover(parent2, parent1, turn));
@@ -149,11 +206,13 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
 
   private IntegerSolution doTurnCrossover(IntegerSolution father, IntegerSolution mother, int turn) {
     IntegerSolution child = (IntegerSolution) mother.copy();
+    // an aborted child is reverted to the mother through its undo log
+    data.beginTransaction(child);
 
     // register classes to delete from mother
     HashMap<Integer, Integer> classBalance = new HashMap<Integer, Integer>();
     for (int day = 0; day < 5; day++) {
-      for (int classroom = 0; classroom < data.getClassroomCapacity().keySet().size(); classroom++) {
+      for (int classroom = 0; classroom < data.getClassroomQty(); classroom++) {
         for (int cell = 0; cell < 2; cell++) {
           int cellIndex = classroom * 60 + turn * 20 + day * 2 + cell;
           setUpChildCell(child, mother, father, classBalance, cellIndex);
@@ -166,30 +225,28 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
     deleteExcessFromChild(child, mother, classBalance);
 
     // we need to insert now
-    for (int classroom = 0; classroom < data.getClassroomCapacity().keySet().size(); classroom++) {
+    for (int classroom = 0; classroom < data.getClassroomQty(); classroom++) {
       for (int day = 0; day < 5; day++) {
         for (int cell = 0; cell < 2; cell++) {
           int cellIndex = 60 * classroom + 20 * turn + 2 * day + cell;
-          child.setVariableValue(cellIndex, father.getVariableValue(cellIndex));
-          child.setVariableValue(cellIndex + 10, father.getVariableValue(cellIndex + 10));
+          data.setCell(child, cellIndex, data.getCell(father, cellIndex));
+          data.setCell(child, cellIndex + 10, data.getCell(father, cellIndex + 10));
           if (data.hasPair(cellIndex, father)) {
-            if (!solveCollision(father.getVariableValue(cellIndex + 10), child, father)) {
-              System.out.println("CROSSOVER ABORTED");
-              return (IntegerSolution) mother.copy();
+            if (!solveCollision(data.getCell(father, cellIndex + 10), child, father)) {
+              return abort(child);
             }
           }
         }
       }
     }
 
-    addMissingClassesToChild(child, mother, classBalance);
+    data.commitTransaction(child);
 
     return child;
   }
 
   private List<IntegerSolution> classroomCrossover(IntegerSolution parent1, IntegerSolution parent2) {
-    Random random = new Random();
-    int classroom = random.nextInt(data.getClassroomQty());
+    int classroom = pointRandomGenerator.getRandomValue(0, data.getClassroomQty() - 1);
     List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(2);
     offspring.add(doClassroomCrossover(parent1, parent2, classroom));
     offspring.add(doClassroomCrossover(parent2, parent1, classroom));
@@ -198,6 +255,8 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
 
   private IntegerSolution doClassroomCrossover(IntegerSolution father, IntegerSolution mother, int classroom) {
     IntegerSolution child = (IntegerSolution) mother.copy();
+    // an aborted child is reverted to the mother through its undo log
+    data.beginTransaction(child);
 
     // register classes to delete from mother
     HashMap<Integer, Integer> classBalance = new HashMap<Integer, Integer>();
@@ -219,45 +278,53 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
       for (int day = 0; day < 5; day++) {
         for (int cell = 0; cell < 2; cell++) {
           int cellIndex = 60 * classroom + 20 * turn + 2 * day + cell;
-          child.setVariableValue(cellIndex, father.getVariableValue(cellIndex));
-          child.setVariableValue(cellIndex + 10, father.getVariableValue(cellIndex + 10));
+          data.setCell(child, cellIndex, data.getCell(father, cellIndex));
+          data.setCell(child, cellIndex + 10, data.getCell(father, cellIndex + 10));
           if (data.hasPair(cellIndex, father)) {
-            if (!solveCollision(father.getVariableValue(cellIndex + 10), child, father)) {
-              System.out.println("CROSSOVER ABORTED");
-              return (IntegerSolution) mother.copy();
+            if (!solveCollision(data.getCell(father, cellIndex + 10), child, father)) {
+              return abort(child);
             }
           }
         }
       }
     }
 
-    addMissingClassesToChild(child, mother, classBalance);
+    data.commitTransaction(child);
 
     return child;
   }
 
+  private IntegerSolution abort(IntegerSolution child) {
+    long aborted = abortedChildren.incrementAndGet();
+    if (aborted % LOG_SAMPLING_PERIOD == 0 && JMetalLogger.logger.isLoggable(Level.FINE)) {
+      JMetalLogger.logger.fine("Crossover children aborted: " + aborted + " of " + 2 * crossovers.get());
+    }
+    data.rollbackTransaction(child);
+    return child;
+  }
+
   private void setUpChildCell(IntegerSolution child, IntegerSolution mother, IntegerSolution father,
       HashMap<Integer, Integer> classBalance, int cellIndex) {
     if (!data.isAvailable(cellIndex, mother)) {
       // we register the loss in the child
-      int amount = (classBalance.containsKey(mother.getVariableValue(cellIndex))
-          ? classBalance.get(mother.getVariableValue(cellIndex))
+      int amount = (classBalance.containsKey(data.getCell(mother, cellIndex))
+          ? classBalance.get(data.getCell(mother, cellIndex))
           : 0);
       amount--;
-      classBalance.put(mother.getVariableValue(cellIndex), amount);
+      classBalance.put(data.getCell(mother, cellIndex), amount);
       // delete step is done here
-      child.setVariableValue(cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
-      child.setVariableValue(cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(child, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(child, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
       if (data.hasPair(cellIndex, mother)) {
-        child.setVariableValue(mother.getVariableValue(cellIndex + 10), ScheduleDataHandler.AVAILABLE_INDEX);
-        child.setVariableValue(mother.getVariableValue(cellIndex + 10) + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(child, data.getCell(mother, cellIndex + 10), ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(child, data.getCell(mother, cellIndex + 10) + 10, ScheduleDataHandler.AVAILABLE_INDEX);
       }
       // register what we're about to insert
-      amount = (classBalance.containsKey(father.getVariableValue(cellIndex))
-          ? classBalance.get(father.getVariableValue(cellIndex))
+      amount = (classBalance.containsKey(data.getCell(father, cellIndex))
+          ? classBalance.get(data.getCell(father, cellIndex))
           : 0);
       amount++;
-      classBalance.put(father.getVariableValue(cellIndex), amount);
+      classBalance.put(data.getCell(father, cellIndex), amount);
     }
   }
 
@@ -267,13 +334,13 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
       if (!data.isIndexClass(cellIndex) || data.isAvailable(cellIndex, child)) {
         continue;
       }
-      int classWithType = child.getVariableValue(cellIndex);
+      int classWithType = data.getCell(child, cellIndex);
       if (classBalance.keySet().contains(classWithType) && 0 < classBalance.get(classWithType)) {
-        child.setVariableValue(cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
-        child.setVariableValue(cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(child, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(child, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
         if (data.hasPair(cellIndex, mother)) {
-          child.setVariableValue(mother.getVariableValue(cellIndex + 10), ScheduleDataHandler.AVAILABLE_INDEX);
-          child.setVariableValue(mother.getVariableValue(cellIndex + 10) + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+          data.setCell(child, data.getCell(mother, cellIndex + 10), ScheduleDataHandler.AVAILABLE_INDEX);
+          data.setCell(child, data.getCell(mother, cellIndex + 10) + 10, ScheduleDataHandler.AVAILABLE_INDEX);
         }
         int amount = classBalance.get(classWithType) - 1;
         classBalance.put(classWithType, amount);
@@ -281,39 +348,6 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
     }
   }
 
-  private void addMissingClassesToChild(IntegerSolution child, IntegerSolution mother,
-      HashMap<Integer, Integer> classBalance) {
-    // if the balance is negative, add the missing classes
-    for (int typeOfClass = 0; typeOfClass < 4; typeOfClass++) {
-      for (int course = 0; course < data.getAmountCourses() * 4; course++) {
-        int classWithType = course * 10 + typeOfClass;
-        if (classBalance.containsKey(classWithType)) {
-          while (classBalance.get(classWithType) < 0) {
-            if (data.getClassType(classWithType) < 2) {
-              child = data.insertPairIntoSolution(classWithType, child);
-              if (child == null) {
-                System.out.println("CROSSOVER ABORTED");
-                child = (IntegerSolution) mother.copy();
-                return;
-              } else {
-                classBalance.put(classWithType, classBalance.get(classWithType) - 1);
-              }
-            } else {
-              child = data.insertClassIntoSolution(classWithType, child);
-              if (child == null) {
-                System.out.println("CROSSOVER ABORTED");
-                child = (IntegerSolution) mother.copy();
-                return;
-              } else {
-                classBalance.put(classWithType, classBalance.get(classWithType) - 1);
-              }
-            }
-          }
-        }
-      }
-    }
-  }
-
   boolean solveCollision(int cellIndex, IntegerSolution child, IntegerSolution father) {
     int cellDestination = cellIndex;
 
@@ -329,11 +363,12 @@ public class ScheduleCrossover implements CrossoverOperator<IntegerSolution> {
           }
         }
       }
+      relocatedPairs.increment();
     }
 
-    child.setVariableValue(cellDestination, father.getVariableValue(cellIndex));
-    child.setVariableValue(cellDestination + 10, father.getVariableValue(cellIndex + 10));
-    child.setVariableValue(father.getVariableValue(cellIndex + 10) + 10, cellDestination);
+    data.setCell(child, cellDestination, data.getCell(father, cellIndex));
+    data.setCell(child, cellDestination + 10, data.getCell(father, cellIndex + 10));
+    data.setCell(child, data.getCell(father, cellIndex + 10) + 10, cellDestination);
 
     return true;
   }
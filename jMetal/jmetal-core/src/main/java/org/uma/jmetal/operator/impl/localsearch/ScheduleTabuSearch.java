@@ -0,0 +1,273 @@
+package org.uma.jmetal.operator.impl.localsearch;
+
+import org.uma.jmetal.operator.LocalSearchOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+/**
+ * Tabu search over the moves of a schedule solution: swapping a class with another one of a
+ * different day or turn, moving a class without pair to another classroom and moving the pair of
+ * a class to another day.
+ *
+ * Each iteration samples some moves of the current solution and takes the best one, even if it
+ * is worse, unless it touches a cell moved in the last iterations. Tabu moves are only taken when
+ * they improve the best solution found. Moves are tried in a transaction of the handler and
+ * scored by evaluating the solution again, so the problem should evaluate the cells modified
+ * incrementally.
+ */
+@SuppressWarnings("serial")
+public class ScheduleTabuSearch implements LocalSearchOperator<IntegerSolution> {
+  public static final int DEFAULT_ITERATIONS = 50;
+  public static final int DEFAULT_NEIGHBOURS = 20;
+  public static final int DEFAULT_TENURE = 10;
+
+  private static final int DAY_SWAP = 0;
+  private static final int TURN_SWAP = 1;
+  private static final int CLASSROOM_MOVE = 2;
+  private static final int PAIR_MOVE = 3;
+  // attempts to find a class cell when sampling a move
+  private static final int SAMPLING_ATTEMPTS = 10;
+
+  private Problem<IntegerSolution> problem;
+  private ScheduleDataHandler data;
+  private int iterations;
+  private int neighbours;
+  private int tenure;
+  private BoundedRandomGenerator<Integer> randomGenerator;
+
+  private int evaluations;
+  private int numberOfImprovements;
+  private int numberOfNonComparableSolutions;
+
+  /** Constructor */
+  public ScheduleTabuSearch(Problem<IntegerSolution> problem, ScheduleDataHandler data) {
+    this(problem, data, DEFAULT_ITERATIONS, DEFAULT_NEIGHBOURS, DEFAULT_TENURE);
+  }
+
+  /** Constructor */
+  public ScheduleTabuSearch(Problem<IntegerSolution> problem, ScheduleDataHandler data, int iterations,
+      int neighbours, int tenure) {
+    this(problem, data, iterations, neighbours, tenure, (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
+  }
+
+  /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+  public ScheduleTabuSearch(Problem<IntegerSolution> problem, ScheduleDataHandler data, int iterations,
+      int neighbours, int tenure, PseudoRandomGenerator randomGenerator) {
+    this(problem, data, iterations, neighbours, tenure, (a, b) -> randomGenerator.nextInt(a, b));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param problem problem evaluating the moves
+   * @param data handler of the instance of the problem
+   * @param iterations moves taken
+   * @param neighbours moves sampled and evaluated in every iteration
+   * @param tenure iterations during which the cells of a move can not be moved again
+   * @param randomGenerator generator used to sample the moves
+   */
+  public ScheduleTabuSearch(Problem<IntegerSolution> problem, ScheduleDataHandler data, int iterations,
+      int neighbours, int tenure, BoundedRandomGenerator<Integer> randomGenerator) {
+    if (iterations < 0 || neighbours < 1 || tenure < 0) {
+      throw new JMetalException("Wrong parameters of the tabu search: " + iterations + " iterations, "
+          + neighbours + " neighbours, tenure " + tenure);
+    }
+    this.problem = problem;
+    this.data = data;
+    this.iterations = iterations;
+    this.neighbours = neighbours;
+    this.tenure = tenure;
+    this.randomGenerator = randomGenerator;
+  }
+
+  /**
+   * Executes the tabu search.
+   *
+   * @param solution The solution to improve, which is not modified
+   * @return The best solution found, a copy of the given one if it was not improved
+   */
+  @Override
+  public IntegerSolution execute(IntegerSolution solution) {
+    evaluations = 0;
+    numberOfImprovements = 0;
+    numberOfNonComparableSolutions = 0;
+
+    IntegerSolution current = (IntegerSolution) solution.copy();
+    problem.evaluate(current);
+    evaluations++;
+    IntegerSolution best = (IntegerSolution) current.copy();
+    // iteration until which a cell can not be moved
+    int[] tabuUntil = new int[data.getCellsInMatrix()];
+
+    for (int iteration = 0; iteration < iterations; iteration++) {
+      int chosenMove = -1;
+      double chosenFitness = Double.POSITIVE_INFINITY;
+      for (int neighbour = 0; neighbour < neighbours; neighbour++) {
+        int move = sampleMove(current);
+        if (move == -1) {
+          continue;
+        }
+        data.beginTransaction(current);
+        applyMove(move, current);
+        problem.evaluate(current);
+        evaluations++;
+        double fitness = current.getObjective(0);
+        data.rollbackTransaction(current);
+
+        boolean isTabu = tabuUntil[getMoveCell(move)] > iteration || tabuUntil[getMoveTarget(move)] > iteration;
+        if ((!isTabu || fitness < best.getObjective(0)) && fitness < chosenFitness) {
+          chosenMove = move;
+          chosenFitness = fitness;
+        }
+      }
+      if (chosenMove == -1) {
+        // every move was tabu, or no move was found
+        continue;
+      }
+
+      applyMove(chosenMove, current);
+      problem.evaluate(current);
+      evaluations++;
+      tabuUntil[getMoveCell(chosenMove)] = iteration + tenure;
+      tabuUntil[getMoveTarget(chosenMove)] = iteration + tenure;
+      if (current.getObjective(0) < best.getObjective(0)) {
+        best = (IntegerSolution) current.copy();
+        numberOfImprovements++;
+      } else if (current.getObjective(0) == best.getObjective(0)) {
+        numberOfNonComparableSolutions++;
+      }
+    }
+    return best;
+  }
+
+  // MOVES
+
+  // moves are packed as type << 28 | cell << 14 | target
+  private static int packMove(int type, int cellIndex, int target) {
+    return type << 28 | cellIndex << 14 | target;
+  }
+
+  private static int getMoveType(int move) {
+    return move >>> 28;
+  }
+
+  private static int getMoveCell(int move) {
+    return (move >>> 14) & 0x3FFF;
+  }
+
+  private static int getMoveTarget(int move) {
+    return move & 0x3FFF;
+  }
+
+  // returns a random feasible move of the solution, -1 if none was found
+  private int sampleMove(IntegerSolution solution) {
+    int cellIndex = -1;
+    for (int attempt = 0; attempt < SAMPLING_ATTEMPTS && cellIndex == -1; attempt++) {
+      int candidate = 60 * randomGenerator.getRandomValue(0, data.getClassroomQty() - 1)
+          + 20 * randomGenerator.getRandomValue(0, 2) + randomGenerator.getRandomValue(0, 9);
+      cellIndex = (data.isAvailable(candidate, solution) ? -1 : candidate);
+    }
+    if (cellIndex == -1) {
+      return -1;
+    }
+
+    int type = randomGenerator.getRandomValue(0, 3);
+    int classroom = data.getClassroom(cellIndex);
+    int turn = data.getTurn(cellIndex);
+    int day = data.getDay(cellIndex);
+    int target;
+    if (type == DAY_SWAP) {
+      int otherDay = (day + randomGenerator.getRandomValue(1, 4)) % 5;
+      target = 60 * classroom + 20 * turn + 2 * otherDay + randomGenerator.getRandomValue(0, 1);
+      if (!isSwappable(cellIndex, target, solution)) {
+        return -1;
+      }
+    } else if (type == TURN_SWAP) {
+      int otherTurn = (turn + randomGenerator.getRandomValue(1, 2)) % 3;
+      target = 60 * classroom + 20 * otherTurn + 2 * day + randomGenerator.getRandomValue(0, 1);
+      // classes with pair are swapped together with their pairs, which must be in the same day
+      if (!isSwappable(cellIndex, target, solution)
+          || data.hasPair(cellIndex, solution) != data.hasPair(target, solution)
+          || (data.hasPair(cellIndex, solution) && data.getDay(data.getCell(solution, cellIndex + 10)) != data
+              .getDay(data.getCell(solution, target + 10)))) {
+        return -1;
+      }
+    } else if (type == CLASSROOM_MOVE) {
+      if (data.getCell(solution, cellIndex + 10) != cellIndex) {
+        return -1;
+      }
+      target = data.findFeasibleClassroom(cellIndex, solution, false);
+    } else {
+      if (!data.hasPair(cellIndex, solution)) {
+        return -1;
+      }
+      target = data.findFeasibleDay(cellIndex, solution, false);
+    }
+    return (target == -1 ? -1 : packMove(type, cellIndex, target));
+  }
+
+  // whether two classes can be exchanged by unsafeSwap without breaking their pairs
+  private boolean isSwappable(int cellIndex, int target, IntegerSolution solution) {
+    return !data.isAvailable(target, solution) && data.getCell(solution, target) != data.getCell(solution, cellIndex)
+        && data.getCell(solution, cellIndex + 10) != target;
+  }
+
+  private void applyMove(int move, IntegerSolution solution) {
+    int cellIndex = getMoveCell(move);
+    int target = getMoveTarget(move);
+    int type = getMoveType(move);
+    if (type == DAY_SWAP) {
+      data.unsafeSwap(cellIndex, target, solution);
+    } else if (type == TURN_SWAP) {
+      boolean withPairs = data.hasPair(cellIndex, solution);
+      int cellPair = data.getCell(solution, cellIndex + 10);
+      int targetPair = data.getCell(solution, target + 10);
+      data.unsafeSwap(cellIndex, target, solution);
+      if (withPairs) {
+        data.unsafeSwap(cellPair, targetPair, solution);
+      }
+    } else if (type == CLASSROOM_MOVE) {
+      data.setCell(solution, target, data.getCell(solution, cellIndex));
+      data.setCell(solution, target + 10, target);
+      data.setCell(solution, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(solution, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+    } else {
+      // the pair of the class is moved to the target
+      int pairIndex = data.getCell(solution, cellIndex + 10);
+      data.setCell(solution, target, data.getCell(solution, pairIndex));
+      data.setCell(solution, target + 10, cellIndex);
+      data.setCell(solution, pairIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(solution, pairIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+      data.setCell(solution, cellIndex + 10, target);
+    }
+  }
+
+  /**
+   * Returns the number of evaluations of the last execution
+   */
+  @Override
+  public int getEvaluations() {
+    return evaluations;
+  }
+
+  /**
+   * Returns the number of moves of the last execution improving the best solution
+   */
+  @Override
+  public int getNumberOfImprovements() {
+    return numberOfImprovements;
+  }
+
+  /**
+   * Returns the number of moves of the last execution leading to a solution as good as the best one
+   */
+  @Override
+  public int getNumberOfNonComparableSolutions() {
+    return numberOfNonComparableSolutions;
+  }
+}
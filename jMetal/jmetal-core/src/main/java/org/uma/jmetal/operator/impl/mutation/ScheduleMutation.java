@@ -1,9 +1,10 @@
 package org.uma.jmetal.operator.impl.mutation;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.logging.Level;
 
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.problem.IntegerProblem;
@@ -11,7 +12,15 @@ import org.uma.jmetal.solution.IntegerSolution;
 import org.uma.jmetal.solution.util.RepairDoubleSolution;
 import org.uma.jmetal.solution.util.RepairDoubleSolutionAtBounds;
 import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.measure.Measurable;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.measure.impl.AtomicCountingMeasure;
+import org.uma.jmetal.util.measure.impl.ConcurrentCountingMeasure;
+import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
 import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 //import org.uma.jmetal.problem.singleobjective.Schedule;
 import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
@@ -26,19 +35,32 @@ import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
  * A {@link RepairDoubleSolution} object is used to decide the strategy to apply
  * when a value is out of range.
  *
+ * What the mutation does is counted by the measures of {@link #getMeasureManager()}. Aborted moves
+ * are also logged at {@link Level#FINE}, one of every {@link #LOG_SAMPLING_PERIOD}.
+ *
  * @author Antonio J. Nebro <antonio@lcc.uma.es>
  */
 @SuppressWarnings("serial")
-public class ScheduleMutation implements MutationOperator<IntegerSolution> {
+public class ScheduleMutation implements MutationOperator<IntegerSolution>, Measurable {
     private static final double DEFAULT_PROBABILITY = 0.01;
+    public static final int LOG_SAMPLING_PERIOD = 1000;
 
     // private Schedule schedule;
     private double mutationProbability;
     private RepairDoubleSolution solutionRepair;
     private RandomGenerator<Double> randomGenerator;
+    private BoundedRandomGenerator<Integer> indexRandomGenerator;
     private boolean[] evaluated;
     private ScheduleDataHandler data;
 
+    private ConcurrentCountingMeasure mutatedCells;
+    private ConcurrentCountingMeasure dayMutations;
+    private ConcurrentCountingMeasure turnMutations;
+    private ConcurrentCountingMeasure classroomMutations;
+    private AtomicCountingMeasure abortedMutations;
+    private ConcurrentCountingMeasure examinedVictims;
+    private SimpleMeasureManager measureManager;
+
     /** Constructor */
     public ScheduleMutation(ScheduleDataHandler data) {
         this(data, DEFAULT_PROBABILITY);
@@ -56,12 +78,27 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
 
     /** Constructor */
     public ScheduleMutation(ScheduleDataHandler data, double mutationProbability, RepairDoubleSolution solutionRepair) {
-        this(data, mutationProbability, solutionRepair, () -> JMetalRandom.getInstance().nextDouble());
+        this(data, mutationProbability, solutionRepair, () -> JMetalRandom.getInstance().nextDouble(),
+                (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
+    }
+
+    /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+    public ScheduleMutation(ScheduleDataHandler data, double mutationProbability,
+            PseudoRandomGenerator randomGenerator) {
+        this(data, mutationProbability, new RepairDoubleSolutionAtBounds(), () -> randomGenerator.nextDouble(),
+                (a, b) -> randomGenerator.nextInt(a, b));
     }
 
     /** Constructor */
     public ScheduleMutation(ScheduleDataHandler data, double mutationProbability, RepairDoubleSolution solutionRepair,
             RandomGenerator<Double> randomGenerator) {
+        this(data, mutationProbability, solutionRepair, randomGenerator,
+                BoundedRandomGenerator.fromDoubleToInteger(randomGenerator));
+    }
+
+    /** Constructor */
+    public ScheduleMutation(ScheduleDataHandler data, double mutationProbability, RepairDoubleSolution solutionRepair,
+            RandomGenerator<Double> randomGenerator, BoundedRandomGenerator<Integer> indexRandomGenerator) {
         if (mutationProbability < 0) {
             throw new JMetalException("Mutation probability is negative: " + mutationProbability);
         }
@@ -69,6 +106,34 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
         this.mutationProbability = mutationProbability;
         this.solutionRepair = solutionRepair;
         this.randomGenerator = randomGenerator;
+        this.indexRandomGenerator = indexRandomGenerator;
+
+        initMeasures();
+    }
+
+    private void initMeasures() {
+        mutatedCells = new ConcurrentCountingMeasure("mutatedCells", "Cells selected for a mutation");
+        dayMutations = new ConcurrentCountingMeasure("dayMutations", "Mutations exchanging a cell with another day");
+        turnMutations = new ConcurrentCountingMeasure("turnMutations", "Mutations exchanging a cell with another turn");
+        classroomMutations = new ConcurrentCountingMeasure("classroomMutations",
+                "Mutations exchanging a cell with another classroom");
+        abortedMutations = new AtomicCountingMeasure("abortedMutations",
+                "Turn mutations reverted because the pairs could not be placed");
+        examinedVictims = new ConcurrentCountingMeasure("examinedVictims",
+                "Candidate cells examined as victims of a mutation");
+
+        measureManager = new SimpleMeasureManager();
+        measureManager.setPullMeasure("mutatedCells", mutatedCells);
+        measureManager.setPullMeasure("dayMutations", dayMutations);
+        measureManager.setPullMeasure("turnMutations", turnMutations);
+        measureManager.setPullMeasure("classroomMutations", classroomMutations);
+        measureManager.setPullMeasure("abortedMutations", abortedMutations);
+        measureManager.setPullMeasure("examinedVictims", examinedVictims);
+    }
+
+    @Override
+    public MeasureManager getMeasureManager() {
+        return measureManager;
     }
 
     /* Getters */
@@ -87,8 +152,6 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
             throw new JMetalException("Null parameter");
         }
 
-        System.out.println("EMPIEZO MUTACION");
-
         doMutation(mutationProbability, solution);
         return solution;
     }
@@ -99,7 +162,6 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
         LinkedList<Integer> victims = new LinkedList<Integer>();
         int victimIndex;
         boolean cellHadPair, victimHadPair;
-        IntegerSolution originalSolution = (IntegerSolution) solution.copy();
 
         // For each cell
         for (int cellIndex = 0; cellIndex < solution.getNumberOfVariables(); cellIndex++) {
@@ -108,31 +170,35 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
             }
             victims.clear();
             if (randomGenerator.getRandomValue() <= probability && data.isIndexClass(cellIndex)
-                    && !data.isAvailable(cellIndex, originalSolution) && !evaluated[cellIndex]) {
-                System.out.println("MUTANDO...");
+                    && !data.isAvailable(cellIndex, solution) && !evaluated[cellIndex]) {
+                mutatedCells.increment();
                 if (solution.getLowerBound(cellIndex) == solution.getUpperBound(cellIndex)) {
-                    solution.setVariableValue(cellIndex, solution.getLowerBound(cellIndex));
+                    data.setCell(solution, cellIndex, solution.getLowerBound(cellIndex));
                 } else {
-                    int mutationType = JMetalRandom.getInstance().nextInt(0, 2);
+                    int mutationType = indexRandomGenerator.getRandomValue(0, 2);
 
                     // Day mutation
                     if (mutationType == 0) {
+                        dayMutations.increment();
                         victims = dayMutation(solution, cellIndex);
                     }
                     // Turn mutation
                     else if (mutationType == 1) {
+                        turnMutations.increment();
                         victims = turnMutation(solution, cellIndex);
                     }
                     // Classroom mutation
                     else {
+                        classroomMutations.increment();
                         victims = classroomMutation(solution, cellIndex);
                     }
-                    LinkedList<Integer> feasibleVictims = new LinkedList<Integer>();
-                    int attendingStudents = data.getAttendingStudents(solution.getVariableValue(cellIndex));
+                    examinedVictims.increment(victims.size());
+                    ArrayList<Integer> feasibleVictims = new ArrayList<Integer>();
+                    int attendingStudents = data.getAttendingStudents(data.getCell(solution, cellIndex));
                     int indexCapacity = data.getClassroomCapacity(data.getClassroom(cellIndex));
                     for (Integer victim : victims) {
                         int vicitimCapacity = data.getClassroomCapacity(data.getClassroom(cellIndex));
-                        int victimAttendingStudents = data.getAttendingStudents(solution.getVariableValue(victim));
+                        int victimAttendingStudents = data.getAttendingStudents(data.getCell(solution, victim));
                         if (attendingStudents < vicitimCapacity && victimAttendingStudents < indexCapacity) {
                             feasibleVictims.add(victim);
                         }
@@ -140,81 +206,97 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
                     if (feasibleVictims.isEmpty()) {
                         break;
                     }
-                    Collections.shuffle(feasibleVictims);
-                    victimIndex = feasibleVictims.getFirst();
+                    // a random victim, as the first one after shuffling them
+                    victimIndex = feasibleVictims.get(indexRandomGenerator.getRandomValue(0, feasibleVictims.size() - 1));
                     cellHadPair = data.hasPair(cellIndex, solution);
                     victimHadPair = data.hasPair(victimIndex, solution);
 
                     // Only in turn mutation, the pairs are exchanged too
                     if (mutationType == 1) {
-                        // Swap the cells and the pair references
-                        solution = data.swapFeasibleClassroom(victimIndex, cellIndex, solution);
-
-                        int cellPairIndex = solution.getVariableValue(cellIndex + 10);
-                        int victimPairIndex = solution.getVariableValue(victimIndex + 10);
-
-                        if (cellHadPair && victimHadPair) {
-                            data.unsafeSwap(cellPairIndex, victimPairIndex, solution);
-                            if (!solveCollision(cellPairIndex, solution)) {
-                                // abort
-                                System.out.println("MUTATION ABORTED");
-                                solution = originalSolution;
-                            }
-                            if (!solveCollision(victimPairIndex, solution)) {
-                                // abort
-                                System.out.println("MUTATION ABORTED");
-                                solution = originalSolution;
-                            }
-                        }
-
-                        if (cellHadPair && !victimHadPair) {
-                            int cellToSubstitute = 20 * data.getTurn(victimIndex) + 2 * data.getDay(cellPairIndex);
-                            int cellToSubstituteValue = solution.getVariableValue(cellToSubstitute);
-                            int cellToSubstituteRefValue = solution.getVariableValue(cellToSubstitute + 10);
-
-                            solution.setVariableValue(cellToSubstitute, solution.getVariableValue(cellPairIndex));
-                            solution.setVariableValue(cellToSubstitute + 10, victimIndex);
-
-                            if (!solveCollision(cellToSubstitute, solution)) {
-                                // abort
-                                System.out.println("MUTATION ABORTED");
-                                solution = originalSolution;
-                            } else {
-                                solution.setVariableValue(cellToSubstitute, cellToSubstituteValue);
-                                solution.setVariableValue(cellToSubstitute + 10, cellToSubstituteRefValue);
-                            }
-                        }
-
-                        if (victimHadPair && !cellHadPair) {
-                            int cellToSubstitute = 20 * data.getTurn(cellIndex) + 2 * data.getDay(victimPairIndex);
-                            int cellToSubstituteValue = solution.getVariableValue(cellToSubstitute);
-                            int cellToSubstituteRefValue = solution.getVariableValue(cellToSubstitute + 10);
-
-                            solution.setVariableValue(cellToSubstitute, solution.getVariableValue(victimPairIndex));
-                            solution.setVariableValue(cellToSubstitute + 10, cellIndex);
-
-                            if (!solveCollision(cellToSubstitute, solution)) {
-                                // abort
-                                System.out.println("MUTATION ABORTED");
-                                solution = originalSolution;
-                            } else {
-                                solution.setVariableValue(cellToSubstitute, cellToSubstituteValue);
-                                solution.setVariableValue(cellToSubstitute + 10, cellToSubstituteRefValue);
+                        // aborted moves, and moves that would leave a class scheduled
+                        // twice or not at all, are reverted through the undo log
+                        data.beginTransaction(solution);
+                        if (turnMove(solution, cellIndex, victimIndex, cellHadPair, victimHadPair)
+                                && data.getTransactionClassesDelta(solution) == 0) {
+                            data.commitTransaction(solution);
+                        } else {
+                            long aborted = abortedMutations.incrementAndGet();
+                            if (aborted % LOG_SAMPLING_PERIOD == 0 && JMetalLogger.logger.isLoggable(Level.FINE)) {
+                                JMetalLogger.logger.fine("Mutations aborted: " + aborted + " of "
+                                        + turnMutations.get() + " turn mutations");
                             }
+                            data.rollbackTransaction(solution);
                         }
                     } else {
-                        int oldCellValue = solution.getVariableValue(cellIndex);
-                        solution.setVariableValue(cellIndex, solution.getVariableValue(victimIndex));
-                        solution.setVariableValue(victimIndex, oldCellValue);
-                        oldCellValue = solution.getVariableValue(cellIndex + 10);
-                        solution.setVariableValue(cellIndex + 10, solution.getVariableValue(victimIndex + 10));
-                        solution.setVariableValue(victimIndex + 10, solution.getVariableValue(cellIndex + 10));
+                        int oldCellValue = data.getCell(solution, cellIndex);
+                        data.setCell(solution, cellIndex, data.getCell(solution, victimIndex));
+                        data.setCell(solution, victimIndex, oldCellValue);
+                        oldCellValue = data.getCell(solution, cellIndex + 10);
+                        data.setCell(solution, cellIndex + 10, data.getCell(solution, victimIndex + 10));
+                        data.setCell(solution, victimIndex + 10, data.getCell(solution, cellIndex + 10));
                     }
                 }
             }
         }
     }
 
+    // exchanges the cell with a victim of another turn together with their pairs.
+    // Returns false if the move has to be aborted, leaving the solution partially
+    // modified
+    private boolean turnMove(IntegerSolution solution, int cellIndex, int victimIndex, boolean cellHadPair,
+            boolean victimHadPair) {
+        // Swap the cells and the pair references
+        if (data.swapFeasibleClassroom(victimIndex, cellIndex, solution) == null) {
+            return false;
+        }
+
+        int cellPairIndex = data.getCell(solution, cellIndex + 10);
+        int victimPairIndex = data.getCell(solution, victimIndex + 10);
+
+        if (cellHadPair && victimHadPair) {
+            data.unsafeSwap(cellPairIndex, victimPairIndex, solution);
+            if (!solveCollision(cellPairIndex, solution) || !solveCollision(victimPairIndex, solution)) {
+                // abort
+                return false;
+            }
+        }
+
+        if (cellHadPair && !victimHadPair) {
+            int cellToSubstitute = 20 * data.getTurn(victimIndex) + 2 * data.getDay(cellPairIndex);
+            int cellToSubstituteValue = data.getCell(solution, cellToSubstitute);
+            int cellToSubstituteRefValue = data.getCell(solution, cellToSubstitute + 10);
+
+            data.setCell(solution, cellToSubstitute, data.getCell(solution, cellPairIndex));
+            data.setCell(solution, cellToSubstitute + 10, victimIndex);
+
+            if (!solveCollision(cellToSubstitute, solution)) {
+                // abort
+                return false;
+            } else {
+                data.setCell(solution, cellToSubstitute, cellToSubstituteValue);
+                data.setCell(solution, cellToSubstitute + 10, cellToSubstituteRefValue);
+            }
+        }
+
+        if (victimHadPair && !cellHadPair) {
+            int cellToSubstitute = 20 * data.getTurn(cellIndex) + 2 * data.getDay(victimPairIndex);
+            int cellToSubstituteValue = data.getCell(solution, cellToSubstitute);
+            int cellToSubstituteRefValue = data.getCell(solution, cellToSubstitute + 10);
+
+            data.setCell(solution, cellToSubstitute, data.getCell(solution, victimPairIndex));
+            data.setCell(solution, cellToSubstitute + 10, cellIndex);
+
+            if (!solveCollision(cellToSubstitute, solution)) {
+                // abort
+                return false;
+            } else {
+                data.setCell(solution, cellToSubstitute, cellToSubstituteValue);
+                data.setCell(solution, cellToSubstitute + 10, cellToSubstituteRefValue);
+            }
+        }
+        return true;
+    }
+
     LinkedList<Integer> dayMutation(IntegerSolution solution, int cellIndex) {
         LinkedList<Integer> res = new LinkedList<Integer>();
         int victimIndex = 0;
@@ -229,12 +311,12 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
             for (int cell = 0; cell < 2; cell++) {
                 victimIndex = 60 * data.getClassroom(cellIndex) + 20 * data.getTurn(cellIndex) + 2 * day + cell;
                 isSelectable = !evaluated[victimIndex] && !data.isAvailable(victimIndex, solution)
-                        && solution.getVariableValue(victimIndex) != solution.getVariableValue(cellIndex);
+                        && data.getCell(solution, victimIndex) != data.getCell(solution, cellIndex);
                 // The cell in the same block that the victim can't be my pair
                 if (victimIndex % 2 == 0) {
-                    isSelectable &= victimIndex - 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex - 1 != data.getCell(solution, cellIndex + 10);
                 } else {
-                    isSelectable &= victimIndex + 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex + 1 != data.getCell(solution, cellIndex + 10);
                 }
                 if (isSelectable) {
                     res.add(victimIndex);
@@ -261,12 +343,12 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
             for (int cell = 0; cell < 2; cell++) {
                 victimIndex = 60 * data.getClassroom(cellIndex) + 20 * turn + 2 * data.getDay(cellIndex) + cell;
                 isSelectable = !evaluated[victimIndex] && !data.isAvailable(victimIndex, solution)
-                        && solution.getVariableValue(victimIndex) != solution.getVariableValue(cellIndex);
+                        && data.getCell(solution, victimIndex) != data.getCell(solution, cellIndex);
                 // The other cell in my block can't be the victim's pair
                 if (victimIndex % 2 == 0) {
-                    isSelectable &= victimIndex - 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex - 1 != data.getCell(solution, cellIndex + 10);
                 } else {
-                    isSelectable &= victimIndex + 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex + 1 != data.getCell(solution, cellIndex + 10);
                 }
                 if (isSelectable) {
                     res.add(victimIndex);
@@ -293,11 +375,11 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
                 victimIndex = 60 * candidateClassroom + 20 * data.getTurn(cellIndex) + 2 * data.getDay(cellIndex)
                         + cell;
                 isSelectable = !evaluated[victimIndex] && !data.isAvailable(victimIndex, solution)
-                        && solution.getVariableValue(victimIndex) != solution.getVariableValue(cellIndex);
+                        && data.getCell(solution, victimIndex) != data.getCell(solution, cellIndex);
                 if (victimIndex % 2 == 0) {
-                    isSelectable &= victimIndex - 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex - 1 != data.getCell(solution, cellIndex + 10);
                 } else {
-                    isSelectable &= victimIndex + 1 != solution.getVariableValue(cellIndex + 10);
+                    isSelectable &= victimIndex + 1 != data.getCell(solution, cellIndex + 10);
                 }
                 if (isSelectable) {
                     res.add(victimIndex);
@@ -308,7 +390,7 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
     }
 
     private boolean solveCollision(int cellIndex, IntegerSolution solution) {
-        if (data.getAttendingStudents(solution.getVariableValue(cellIndex)) < data
+        if (data.getAttendingStudents(data.getCell(solution, cellIndex)) < data
                 .getClassroomCapacity(data.getClassroom(cellIndex))) {
             return true;
         }
@@ -325,14 +407,14 @@ public class ScheduleMutation implements MutationOperator<IntegerSolution> {
             }
         }
 
-        int cellPairIndex = solution.getVariableValue(cellIndex + 10);
+        int cellPairIndex = data.getCell(solution, cellIndex + 10);
 
         // Swap the cells and the pair references, and the reference to me of my pair
-        solution.setVariableValue(cellDestination, solution.getVariableValue(cellIndex));
-        solution.setVariableValue(cellDestination + 10, cellPairIndex);
-        solution.setVariableValue(cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
-        solution.setVariableValue(cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
-        solution.setVariableValue(cellPairIndex + 10, cellDestination);
+        data.setCell(solution, cellDestination, data.getCell(solution, cellIndex));
+        data.setCell(solution, cellDestination + 10, cellPairIndex);
+        data.setCell(solution, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(solution, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+        data.setCell(solution, cellPairIndex + 10, cellDestination);
 
         return true;
     }
@@ -2,6 +2,7 @@ package org.uma.jmetal.operator.impl.selection;
 
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
 
 import java.util.Comparator;
 
@@ -24,4 +25,9 @@ public class BinaryTournamentSelection<S extends Solution<?>> extends Tournament
   public BinaryTournamentSelection(Comparator<S> comparator) {
     super(comparator,2);
   }
+
+  /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+  public BinaryTournamentSelection(Comparator<S> comparator, PseudoRandomGenerator randomGenerator) {
+    super(comparator, 2, randomGenerator);
+  }
 }
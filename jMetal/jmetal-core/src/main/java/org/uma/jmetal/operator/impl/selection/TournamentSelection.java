@@ -6,6 +6,10 @@ import org.uma.jmetal.util.JMetalException;
 import org.uma.jmetal.util.SolutionListUtils;
 import org.uma.jmetal.util.SolutionUtils;
 import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.pseudorandom.BoundedRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 
 import java.util.Comparator;
 import java.util.List;
@@ -21,6 +25,8 @@ public class TournamentSelection<S extends Solution<?>> implements SelectionOper
   private Comparator<S> comparator;
 
   private final int n_arity;
+  private BoundedRandomGenerator<Integer> selectionRandomGenerator;
+  private RandomGenerator<Double> equalityRandomGenerator;
 
   /** Constructor */
   public TournamentSelection(int n_arity) {
@@ -29,8 +35,22 @@ public class TournamentSelection<S extends Solution<?>> implements SelectionOper
 
   /** Constructor */
   public TournamentSelection(Comparator<S> comparator, int n_arity) {
+    this(comparator, n_arity, (a, b) -> JMetalRandom.getInstance().nextInt(a, b),
+        () -> JMetalRandom.getInstance().nextDouble()) ;
+  }
+
+  /** Constructor taking all its random numbers from the given generator, e.g. a stream of a thread */
+  public TournamentSelection(Comparator<S> comparator, int n_arity, PseudoRandomGenerator randomGenerator) {
+    this(comparator, n_arity, (a, b) -> randomGenerator.nextInt(a, b), () -> randomGenerator.nextDouble()) ;
+  }
+
+  /** Constructor */
+  public TournamentSelection(Comparator<S> comparator, int n_arity,
+      BoundedRandomGenerator<Integer> selectionRandomGenerator, RandomGenerator<Double> equalityRandomGenerator) {
     this.n_arity = n_arity;
     this.comparator = comparator ;
+    this.selectionRandomGenerator = selectionRandomGenerator ;
+    this.equalityRandomGenerator = equalityRandomGenerator ;
   }
 
   @Override
@@ -46,11 +66,11 @@ public class TournamentSelection<S extends Solution<?>> implements SelectionOper
     if (solutionList.size() == 1) {
       result = solutionList.get(0);
     } else {
-      result = SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList).get(0);
+      result = SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList, selectionRandomGenerator).get(0);
       int count = 1; // at least 2 solutions are compared
       do {
-        S candidate = SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList).get(0);
-        result = SolutionUtils.getBestSolution(result, candidate, comparator) ;
+        S candidate = SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList, selectionRandomGenerator).get(0);
+        result = SolutionUtils.getBestSolution(result, candidate, comparator, equalityRandomGenerator) ;
       } while (++count < this.n_arity);
     }
 
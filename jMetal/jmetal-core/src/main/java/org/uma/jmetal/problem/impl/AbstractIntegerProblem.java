@@ -2,6 +2,7 @@ package org.uma.jmetal.problem.impl;
 
 import org.uma.jmetal.problem.IntegerProblem;
 import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.solution.impl.ArrayIntegerSolution;
 import org.uma.jmetal.solution.impl.DefaultIntegerSolution;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public abstract class AbstractIntegerProblem extends AbstractGenericProblem<Inte
 
   private List<Integer> lowerLimit ;
   private List<Integer> upperLimit ;
+  // whether createSolution() returns ArrayIntegerSolution instances
+  private boolean arrayBasedSolutions = false ;
 
   /* Getters */
 	@Override
@@ -24,6 +27,10 @@ public abstract class AbstractIntegerProblem extends AbstractGenericProblem<Inte
 		return lowerLimit.get(index);
 	}
 
+  public boolean isArrayBasedSolutions() {
+    return arrayBasedSolutions ;
+  }
+
   /* Setters */
   protected void setLowerLimit(List<Integer> lowerLimit) {
     this.lowerLimit = lowerLimit;
@@ -33,8 +40,15 @@ public abstract class AbstractIntegerProblem extends AbstractGenericProblem<Inte
     this.upperLimit = upperLimit;
   }
 
+  public void setArrayBasedSolutions(boolean arrayBasedSolutions) {
+    this.arrayBasedSolutions = arrayBasedSolutions ;
+  }
+
   @Override
   public IntegerSolution createSolution() {
+    if (arrayBasedSolutions) {
+      return new ArrayIntegerSolution(this) ;
+    }
     return new DefaultIntegerSolution(this) ;
   }
 
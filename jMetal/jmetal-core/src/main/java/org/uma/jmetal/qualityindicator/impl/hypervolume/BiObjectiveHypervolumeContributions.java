@@ -0,0 +1,248 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Hypervolume contributions of a set of mutually non-dominated solutions of a bi-objective
+ * problem, kept up to date as solutions are added and removed. The solutions are sorted by their
+ * first objective, so the region dominated only by one of them is the rectangle bounded by its
+ * neighbours, and adding or removing a solution changes the contributions of its neighbours
+ * only. Both operations and finding the least contributor take O(log n) time.
+ *
+ * The reference point is offset from the worst value of each objective in the set, as done by
+ * {@link PISAHypervolume} and {@link WFGHypervolume}, so their contributions order the solutions
+ * in the same way. The contributions are not normalized.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class BiObjectiveHypervolumeContributions<S extends Solution<?>> implements Serializable {
+  private double offset;
+  private TreeSet<Entry<S>> front;
+  private TreeSet<Entry<S>> contributions;
+  private Map<S, Entry<S>> entries;
+  private long insertions;
+
+  /**
+   * Constructor
+   *
+   * @param offset distance from the worst value of each objective to the reference point
+   */
+  public BiObjectiveHypervolumeContributions(double offset) {
+    this.offset = offset;
+    front = new TreeSet<>(new FrontComparator<S>());
+    contributions = new TreeSet<>(new ContributionComparator<S>());
+    entries = new IdentityHashMap<>();
+  }
+
+  public double getOffset() {
+    return offset;
+  }
+
+  public int size() {
+    return front.size();
+  }
+
+  public boolean contains(S solution) {
+    return entries.containsKey(solution);
+  }
+
+  /**
+   * Adds a solution, updating the contributions of its neighbours
+   *
+   * @return false, without adding it, if the solution dominates or is dominated by one of the set
+   */
+  public boolean add(S solution) {
+    if (entries.containsKey(solution)) {
+      return true;
+    }
+    Entry<S> entry = new Entry<>(solution, insertions++);
+    Entry<S> previous = front.lower(entry);
+    Entry<S> next = front.higher(entry);
+    if ((previous != null && previous.second <= entry.second && !previous.isEqual(entry))
+        || (next != null && next.second >= entry.second && !next.isEqual(entry))) {
+      return false;
+    }
+
+    front.add(entry);
+    entries.put(solution, entry);
+    update(entry);
+    update(previous);
+    update(next);
+    return true;
+  }
+
+  /** Removes a solution, updating the contributions of its neighbours */
+  public void remove(S solution) {
+    Entry<S> entry = entries.remove(solution);
+    if (entry != null) {
+      contributions.remove(entry);
+      front.remove(entry);
+      update(front.lower(entry));
+      update(front.higher(entry));
+    }
+  }
+
+  /**
+   * Removes the solutions dominated by the given one, as an archive does before adding it. They
+   * follow it in the order of the first objective, so it takes O(k log n) time to remove k of them
+   */
+  public void removeDominatedBy(S solution) {
+    Entry<S> entry = new Entry<>(solution, -1);
+    Entry<S> next;
+    while ((next = front.higher(entry)) != null && next.second >= entry.second && !next.isEqual(entry)) {
+      remove(next.solution);
+    }
+  }
+
+  public void clear() {
+    front.clear();
+    contributions.clear();
+    entries.clear();
+  }
+
+  /**
+   * Adds and removes solutions so the set holds the given ones
+   *
+   * @return false if a solution can not be added, in which case the set is left empty
+   */
+  public boolean synchronize(List<S> solutionList) {
+    Set<S> solutions = Collections.newSetFromMap(new IdentityHashMap<S, Boolean>());
+    solutions.addAll(solutionList);
+    for (S solution : new ArrayList<>(entries.keySet())) {
+      if (!solutions.contains(solution)) {
+        remove(solution);
+      }
+    }
+    for (S solution : solutionList) {
+      if (!add(solution)) {
+        clear();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the solution with the lowest contribution, or null if the set is empty */
+  public S getLeastContributor() {
+    return (contributions.isEmpty() ? null : contributions.first().solution);
+  }
+
+  public double getContribution(S solution) {
+    return entries.get(solution).contribution;
+  }
+
+  /** Sets the {@link HypervolumeContributionAttribute} of all the solutions */
+  public void setAttributes() {
+    HypervolumeContributionAttribute<S> attribute = new HypervolumeContributionAttribute<>();
+    for (Entry<S> entry : front) {
+      attribute.setDouble(entry.solution, entry.contribution);
+    }
+  }
+
+  private void update(Entry<S> entry) {
+    if (entry != null) {
+      contributions.remove(entry);
+      Entry<S> previous = front.lower(entry);
+      Entry<S> next = front.higher(entry);
+      double width = (next == null ? offset : next.first - entry.first);
+      double height = (previous == null ? offset : previous.second - entry.second);
+      entry.contribution = width * height;
+      contributions.add(entry);
+    }
+  }
+
+  /**
+   * Computes the contributions of a list of mutually non-dominated solutions, with the given
+   * reference point, setting their {@link HypervolumeContributionAttribute} and sorting them as
+   * {@link org.uma.jmetal.qualityindicator.impl.Hypervolume#computeHypervolumeContribution} does:
+   * the one with the highest contribution first. It takes O(n log n) time.
+   *
+   * @return false, without changing the list, if a solution dominates another one
+   */
+  public static <S extends Solution<?>> boolean computeContributions(List<S> solutionList,
+      double[] referencePoint) {
+    List<S> sorted = new ArrayList<>(solutionList);
+    Collections.sort(sorted, new Comparator<S>() {
+      @Override
+      public int compare(S solution1, S solution2) {
+        int result = Double.compare(solution1.getObjective(0), solution2.getObjective(0));
+        return (result != 0 ? result : Double.compare(solution1.getObjective(1), solution2.getObjective(1)));
+      }
+    });
+
+    double[] contributions = new double[sorted.size()];
+    for (int i = 0; i < sorted.size(); i++) {
+      S solution = sorted.get(i);
+      S previous = (i > 0 ? sorted.get(i - 1) : null);
+      if (previous != null && previous.getObjective(1) <= solution.getObjective(1)
+          && (previous.getObjective(0) != solution.getObjective(0)
+          || previous.getObjective(1) != solution.getObjective(1))) {
+        return false;
+      }
+      double width = (i < sorted.size() - 1 ? sorted.get(i + 1).getObjective(0) : referencePoint[0])
+          - solution.getObjective(0);
+      double height = (previous != null ? previous.getObjective(1) : referencePoint[1]) - solution.getObjective(1);
+      contributions[i] = width * height;
+    }
+
+    HypervolumeContributionAttribute<S> attribute = new HypervolumeContributionAttribute<>();
+    for (int i = 0; i < sorted.size(); i++) {
+      attribute.setDouble(sorted.get(i), contributions[i]);
+    }
+    Collections.sort(solutionList, new HypervolumeContributionComparator<S>());
+    return true;
+  }
+
+  // by first objective, second objective and order of insertion
+  private static class FrontComparator<S extends Solution<?>> implements Comparator<Entry<S>>, Serializable {
+    @Override
+    public int compare(Entry<S> entry1, Entry<S> entry2) {
+      int result = Double.compare(entry1.first, entry2.first);
+      if (result == 0) {
+        result = Double.compare(entry1.second, entry2.second);
+      }
+      return (result != 0 ? result : Long.compare(entry1.insertion, entry2.insertion));
+    }
+  }
+
+  // by contribution and order of insertion
+  private static class ContributionComparator<S extends Solution<?>> implements Comparator<Entry<S>>, Serializable {
+    @Override
+    public int compare(Entry<S> entry1, Entry<S> entry2) {
+      int result = Double.compare(entry1.contribution, entry2.contribution);
+      return (result != 0 ? result : Long.compare(entry1.insertion, entry2.insertion));
+    }
+  }
+
+  private static class Entry<S extends Solution<?>> implements Serializable {
+    private final S solution;
+    private final double first;
+    private final double second;
+    private final long insertion;
+    private double contribution;
+
+    Entry(S solution, long insertion) {
+      this.solution = solution;
+      this.first = solution.getObjective(0);
+      this.second = solution.getObjective(1);
+      this.insertion = insertion;
+    }
+
+    boolean isEqual(Entry<S> entry) {
+      return first == entry.first && second == entry.second;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.front.Front;
+import org.uma.jmetal.util.front.imp.ArrayFront;
+import org.uma.jmetal.util.front.util.FrontNormalizer;
+import org.uma.jmetal.util.front.util.FrontUtils;
+import org.uma.jmetal.util.point.Point;
+
+import java.util.List;
+
+/**
+ * Preprocessing of the fronts of the hypervolume implementations working on flat arrays, which
+ * store the objectives of the points one after another. As in {@link PISAHypervolume}, the
+ * fronts are inverted, so the hypervolume is that of a maximization problem with the origin as
+ * reference point.
+ */
+final class FlatFronts {
+  private FlatFronts() {
+  }
+
+  /**
+   * Copies the inverted points of a list of solutions, leaving out those with no volume
+   *
+   * @param points array receiving the points, with room for all of them
+   * @return the number of points copied
+   */
+  static int copyInvertedPoints(List<? extends Solution<?>> solutionList, double[] points) {
+    Front invertedFront = FrontUtils.getInvertedFront(new ArrayFront(solutionList));
+    int size = 0;
+    for (int i = 0; i < invertedFront.getNumberOfPoints(); i++) {
+      if (copy(invertedFront.getPoint(i), points, size * invertedFront.getPoint(i).getDimension())) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the points of a list of solutions as used to compute their contributions: normalized
+   * by the bounds of the reference front, inverted and shifted away from the origin by the offset,
+   * so that boundary points also get a contribution > 0
+   */
+  static double[] getContributionPoints(List<? extends Solution<?>> solutionList,
+      List<? extends Solution<?>> referenceFrontList, double offset) {
+    Front referenceFront = new ArrayFront(referenceFrontList);
+    double[] maximumValues = FrontUtils.getMaximumValues(referenceFront);
+    double[] minimumValues = FrontUtils.getMinimumValues(referenceFront);
+
+    Front normalizedFront = new FrontNormalizer(minimumValues, maximumValues).normalize(new ArrayFront(solutionList));
+    Front invertedFront = FrontUtils.getInvertedFront(normalizedFront);
+    int numberOfObjectives = maximumValues.length;
+    double[] points = new double[invertedFront.getNumberOfPoints() * numberOfObjectives];
+    for (int i = 0; i < invertedFront.getNumberOfPoints(); i++) {
+      Point point = invertedFront.getPoint(i);
+      for (int j = 0; j < numberOfObjectives; j++) {
+        points[i * numberOfObjectives + j] = point.getValue(j) + offset / (maximumValues[j] - minimumValues[j]);
+      }
+    }
+    return points;
+  }
+
+  // copies the point unless it has no volume, returning whether it was copied
+  private static boolean copy(Point point, double[] points, int index) {
+    for (int j = 0; j < point.getDimension(); j++) {
+      if (point.getValue(j) <= 0.0) {
+        return false;
+      }
+      points[index + j] = point.getValue(j);
+    }
+    return true;
+  }
+}
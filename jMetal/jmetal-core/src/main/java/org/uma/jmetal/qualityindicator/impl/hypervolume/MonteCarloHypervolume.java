@@ -0,0 +1,344 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.front.Front;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.RandomGenerator;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Estimation of the hypervolume by Monte Carlo sampling, for fronts with too many objectives for
+ * the exact algorithms. Points are sampled uniformly in the box between the reference point and
+ * the best value of each objective in the front, and the hypervolume is the volume of the box
+ * times the fraction of them dominated by the front. Samples are drawn in batches until the half
+ * width of the confidence interval of the estimate is below a target, or the maximum number of
+ * samples is reached; {@link #getHalfWidth()} returns the half width of the last estimate.
+ *
+ * The contribution of a point is estimated in the same way, sampling a box that contains the
+ * region dominated only by that point (Bader, Deb and Zitzler, "Faster hypervolume-based search
+ * using Monte Carlo sampling", MCDM 2008). Each point gets an equal share of the maximum number
+ * of samples. The values are those of {@link PISAHypervolume}, up to the sampling error, so this
+ * class can replace the exact implementations wherever a {@link Hypervolume} is used.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class MonteCarloHypervolume<S extends Solution<?>> extends Hypervolume<S> {
+  private static final double DEFAULT_OFFSET = 100.0;
+  private static final int DEFAULT_MAXIMUM_NUMBER_OF_SAMPLES = 1000000;
+  private static final double DEFAULT_TARGET_HALF_WIDTH = 0.001;
+  private static final double DEFAULT_CONFIDENCE_LEVEL = 0.95;
+  private static final int BATCH_SIZE = 1000;
+
+  private double offset = DEFAULT_OFFSET;
+  private int maximumNumberOfSamples = DEFAULT_MAXIMUM_NUMBER_OF_SAMPLES;
+  private double targetHalfWidth = DEFAULT_TARGET_HALF_WIDTH;
+  private double confidenceLevel;
+  private double quantile;
+  private RandomGenerator<Double> randomGenerator = () -> JMetalRandom.getInstance().nextDouble();
+  private double halfWidth;
+
+  /** Default constructor */
+  public MonteCarloHypervolume() {
+    setConfidenceLevel(DEFAULT_CONFIDENCE_LEVEL);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFrontFile
+   * @throws FileNotFoundException
+   */
+  public MonteCarloHypervolume(String referenceParetoFrontFile) throws FileNotFoundException {
+    super(referenceParetoFrontFile);
+    setConfidenceLevel(DEFAULT_CONFIDENCE_LEVEL);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFront
+   */
+  public MonteCarloHypervolume(Front referenceParetoFront) {
+    super(referenceParetoFront);
+    setConfidenceLevel(DEFAULT_CONFIDENCE_LEVEL);
+  }
+
+  @Override
+  public double getOffset() {
+    return offset;
+  }
+
+  @Override
+  public void setOffset(double offset) {
+    this.offset = offset;
+  }
+
+  public int getMaximumNumberOfSamples() {
+    return maximumNumberOfSamples;
+  }
+
+  /** Sets the maximum number of samples of an estimate, shared by all the points for the contributions */
+  public void setMaximumNumberOfSamples(int maximumNumberOfSamples) {
+    if (maximumNumberOfSamples <= 0) {
+      throw new JMetalException("The maximum number of samples is not positive: " + maximumNumberOfSamples);
+    }
+    this.maximumNumberOfSamples = maximumNumberOfSamples;
+  }
+
+  public double getTargetHalfWidth() {
+    return targetHalfWidth;
+  }
+
+  /**
+   * Sets the half width of the confidence interval below which sampling stops when evaluating a
+   * front. The hypervolume of a front is at most one, so it is an absolute error; with a target of
+   * zero the maximum number of samples is always drawn.
+   */
+  public void setTargetHalfWidth(double targetHalfWidth) {
+    if (targetHalfWidth < 0) {
+      throw new JMetalException("The target half width is negative: " + targetHalfWidth);
+    }
+    this.targetHalfWidth = targetHalfWidth;
+  }
+
+  public double getConfidenceLevel() {
+    return confidenceLevel;
+  }
+
+  public void setConfidenceLevel(double confidenceLevel) {
+    if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+      throw new JMetalException("The confidence level is not in (0, 1): " + confidenceLevel);
+    }
+    this.confidenceLevel = confidenceLevel;
+    quantile = new NormalDistribution().inverseCumulativeProbability(0.5 + confidenceLevel / 2);
+  }
+
+  public void setRandomGenerator(RandomGenerator<Double> randomGenerator) {
+    this.randomGenerator = randomGenerator;
+  }
+
+  /** Returns the half width of the confidence interval of the last value returned by {@link #evaluate} */
+  public double getHalfWidth() {
+    return halfWidth;
+  }
+
+  @Override
+  public Double evaluate(List<S> paretoFrontApproximation) {
+    if (paretoFrontApproximation == null) {
+      throw new JMetalException("The pareto front approximation is null");
+    }
+
+    // as in the exact implementations, the front is inverted and the reference point is the origin
+    int numberOfObjectives = paretoFrontApproximation.get(0).getNumberOfObjectives();
+    double[] points = new double[paretoFrontApproximation.size() * numberOfObjectives];
+    int size = FlatFronts.copyInvertedPoints(paretoFrontApproximation, points);
+    double[] upper = new double[numberOfObjectives];
+    for (int i = 0; i < size * numberOfObjectives; i++) {
+      upper[i % numberOfObjectives] = Math.max(upper[i % numberOfObjectives], points[i]);
+    }
+
+    halfWidth = 0.0;
+    if (size <= 1) {
+      return (size == 0 ? 0.0 : volume(new double[numberOfObjectives], upper));
+    }
+
+    // most samples are dominated by the largest points, so they are checked first
+    points = sortByVolume(points, size, numberOfObjectives);
+    double[] lower = new double[numberOfObjectives];
+    double boxVolume = volume(lower, upper);
+    double[] batch = new double[BATCH_SIZE * numberOfObjectives];
+    long samples = 0;
+    long dominated = 0;
+    do {
+      int batchSize = (int) Math.min(BATCH_SIZE, maximumNumberOfSamples - samples);
+      sample(batch, batchSize, lower, upper);
+      dominated += countDominated(points, size, numberOfObjectives, batch, batchSize);
+      samples += batchSize;
+      halfWidth = boxVolume * computeHalfWidth(dominated, samples);
+    } while (samples < maximumNumberOfSamples && halfWidth > targetHalfWidth);
+
+    return boxVolume * dominated / samples;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Monte Carlo estimation of the hypervolume quality indicator";
+  }
+
+  @Override
+  public List<S> computeHypervolumeContribution(List<S> solutionList, List<S> referenceFrontList) {
+    if (solutionList.size() > 1) {
+      // normalized by the reference front, inverted and shifted by the offset as in the exact
+      // implementations
+      int size = solutionList.size();
+      double[] points = FlatFronts.getContributionPoints(solutionList, referenceFrontList, offset);
+      int numberOfObjectives = points.length / size;
+
+      // estimate the contributions and sort
+      HypervolumeContributionAttribute<S> hvContribution = new HypervolumeContributionAttribute<>();
+      double[] contributions = estimateContributions(points, size, numberOfObjectives);
+      for (int i = 0; i < size; i++) {
+        hvContribution.setDouble(solutionList.get(i), contributions[i]);
+      }
+
+      Collections.sort(solutionList, new HypervolumeContributionComparator<S>());
+    }
+    return solutionList;
+  }
+
+  private double[] estimateContributions(double[] points, int size, int numberOfObjectives) {
+    int samplesPerPoint = Math.max(Math.min(BATCH_SIZE, maximumNumberOfSamples), maximumNumberOfSamples / size);
+    double[] contributions = new double[size];
+    double[] lower = new double[numberOfObjectives];
+    double[] upper = new double[numberOfObjectives];
+    double[] others = new double[(size - 1) * numberOfObjectives];
+    double[] batch = new double[BATCH_SIZE * numberOfObjectives];
+    for (int i = 0; i < size; i++) {
+      System.arraycopy(points, i * numberOfObjectives, upper, 0, numberOfObjectives);
+      boundSamplingBox(points, size, numberOfObjectives, i, lower);
+      double boxVolume = volume(lower, upper);
+      if (boxVolume <= 0.0) {
+        continue;
+      }
+
+      // only the points beyond the lower corner of the box may dominate some of its samples
+      int numberOfOthers = 0;
+      for (int k = 0; k < size; k++) {
+        if (k != i && isBeyond(points, k * numberOfObjectives, lower, numberOfObjectives)) {
+          for (int j = 0; j < numberOfObjectives; j++) {
+            others[numberOfOthers * numberOfObjectives + j] = Math.min(points[k * numberOfObjectives + j], upper[j]);
+          }
+          numberOfOthers++;
+        }
+      }
+
+      long nonDominated = 0;
+      for (int samples = 0; samples < samplesPerPoint && numberOfOthers > 0; samples += BATCH_SIZE) {
+        int batchSize = Math.min(BATCH_SIZE, samplesPerPoint - samples);
+        sample(batch, batchSize, lower, upper);
+        nonDominated += batchSize - countDominated(others, numberOfOthers, numberOfObjectives, batch, batchSize);
+      }
+      contributions[i] = (numberOfOthers == 0 ? boxVolume : boxVolume * nonDominated / samplesPerPoint);
+    }
+    return contributions;
+  }
+
+  /*
+   * Sets the lower corner of a box, below the point at 'index', containing the region dominated
+   * only by that point: the samples below another point in one objective, and below the point at
+   * 'index' in the rest, are dominated by the other point, which is not worse in those objectives
+   */
+  private static void boundSamplingBox(double[] points, int size, int numberOfObjectives, int index,
+      double[] lower) {
+    Arrays.fill(lower, 0.0);
+    int point = index * numberOfObjectives;
+    for (int k = 0; k < size; k++) {
+      if (k == index) {
+        continue;
+      }
+      int other = k * numberOfObjectives;
+      int worse = -1;
+      boolean bounding = true;
+      for (int j = 0; j < numberOfObjectives && bounding; j++) {
+        if (points[other + j] < points[point + j]) {
+          bounding = (worse < 0);
+          worse = j;
+        }
+      }
+      if (bounding && worse < 0) {
+        // weakly dominated, so the contribution is zero
+        System.arraycopy(points, point, lower, 0, numberOfObjectives);
+        return;
+      } else if (bounding) {
+        lower[worse] = Math.max(lower[worse], points[other + worse]);
+      }
+    }
+  }
+
+  private static boolean isBeyond(double[] points, int point, double[] lower, int numberOfObjectives) {
+    for (int j = 0; j < numberOfObjectives; j++) {
+      if (points[point + j] <= lower[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // half width of the Agresti-Coull interval of a proportion, which is not zero when it is 0 or 1
+  private double computeHalfWidth(long successes, long trials) {
+    double adjustedTrials = trials + quantile * quantile;
+    double proportion = (successes + quantile * quantile / 2) / adjustedTrials;
+    return quantile * Math.sqrt(proportion * (1 - proportion) / adjustedTrials);
+  }
+
+  private void sample(double[] batch, int batchSize, double[] lower, double[] upper) {
+    int numberOfObjectives = lower.length;
+    for (int i = 0; i < batchSize * numberOfObjectives; i += numberOfObjectives) {
+      for (int j = 0; j < numberOfObjectives; j++) {
+        batch[i + j] = lower[j] + randomGenerator.getRandomValue() * (upper[j] - lower[j]);
+      }
+    }
+  }
+
+  // number of samples of the batch weakly dominated by any of the points
+  private static int countDominated(double[] points, int size, int numberOfObjectives, double[] batch,
+      int batchSize) {
+    int count = 0;
+    for (int sample = 0; sample < batchSize * numberOfObjectives; sample += numberOfObjectives) {
+      for (int point = 0; point < size * numberOfObjectives; point += numberOfObjectives) {
+        int j = 0;
+        while (j < numberOfObjectives && points[point + j] >= batch[sample + j]) {
+          j++;
+        }
+        if (j == numberOfObjectives) {
+          count++;
+          break;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static double volume(double[] lower, double[] upper) {
+    double volume = 1.0;
+    for (int j = 0; j < lower.length; j++) {
+      volume *= upper[j] - lower[j];
+    }
+    return volume;
+  }
+
+  private static double[] sortByVolume(final double[] points, int size, final int numberOfObjectives) {
+    final double[] volumes = new double[size];
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      volumes[i] = 1.0;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        volumes[i] *= points[i * numberOfObjectives + j];
+      }
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer point1, Integer point2) {
+        return Double.compare(volumes[point2], volumes[point1]);
+      }
+    });
+
+    double[] sorted = new double[size * numberOfObjectives];
+    for (int i = 0; i < size; i++) {
+      System.arraycopy(points, order[i] * numberOfObjectives, sorted, i * numberOfObjectives, numberOfObjectives);
+    }
+    return sorted;
+  }
+}
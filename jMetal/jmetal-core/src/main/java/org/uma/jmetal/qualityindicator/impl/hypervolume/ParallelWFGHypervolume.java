@@ -0,0 +1,407 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.front.Front;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Implementation of the WFG hypervolume algorithm (While, Bradstreet and Barone, "A fast way of
+ * calculating exact hypervolumes", IEEE TEVC 2012) computed in parallel in a {@link ForkJoinPool}.
+ * The points are sorted by their last objective, so the hypervolume is the sum of the slices
+ * that each of them adds to the previous ones; the slices are independent, so they are computed
+ * by tasks balanced by work stealing. The hypervolume contributions are computed in the same way,
+ * one task per point.
+ *
+ * The points are stored in flat arrays, and each worker reuses its own arrays for the limited
+ * fronts of every level of the recursion. The values are the same as those of
+ * {@link PISAHypervolume}, up to rounding, so it can replace it wherever a {@link Hypervolume}
+ * is used. The speed up is noticeable with fronts of more than four objectives; smaller ones are
+ * computed in the calling thread.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class ParallelWFGHypervolume<S extends Solution<?>> extends Hypervolume<S> {
+  private static final double DEFAULT_OFFSET = 100.0;
+  private static final int MINIMUM_NUMBER_OF_OBJECTIVES_IN_PARALLEL = 4;
+  private static final int MINIMUM_NUMBER_OF_POINTS_IN_PARALLEL = 16;
+  private static final int TASKS_PER_THREAD = 8;
+
+  private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+  private double offset = DEFAULT_OFFSET;
+  private transient ForkJoinPool pool;
+
+  /** Default constructor */
+  public ParallelWFGHypervolume() {
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFrontFile
+   * @throws FileNotFoundException
+   */
+  public ParallelWFGHypervolume(String referenceParetoFrontFile) throws FileNotFoundException {
+    super(referenceParetoFrontFile);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFront
+   */
+  public ParallelWFGHypervolume(Front referenceParetoFront) {
+    super(referenceParetoFront);
+  }
+
+  @Override
+  public double getOffset() {
+    return offset;
+  }
+
+  @Override
+  public void setOffset(double offset) {
+    this.offset = offset;
+  }
+
+  /** Returns the pool computing the tasks, which is the common pool unless another one is set */
+  public ForkJoinPool getPool() {
+    return (pool == null ? ForkJoinPool.commonPool() : pool);
+  }
+
+  public void setPool(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public Double evaluate(List<S> paretoFrontApproximation) {
+    if (paretoFrontApproximation == null) {
+      throw new JMetalException("The pareto front approximation is null");
+    }
+
+    // the original algorithm is for maximization problems, with the origin as reference point
+    int numberOfObjectives = paretoFrontApproximation.get(0).getNumberOfObjectives();
+    double[] points = new double[paretoFrontApproximation.size() * numberOfObjectives];
+    int size = FlatFronts.copyInvertedPoints(paretoFrontApproximation, points);
+
+    return hypervolume(points, size, numberOfObjectives);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Parallel WFG implementation of the hypervolume quality indicator";
+  }
+
+  @Override
+  public List<S> computeHypervolumeContribution(List<S> solutionList, List<S> referenceFrontList) {
+    if (solutionList.size() > 1) {
+      // normalized by the reference front, inverted as the algorithm is for maximization
+      // problems, and shifted by the offset
+      double[] points = FlatFronts.getContributionPoints(solutionList, referenceFrontList, offset);
+      int numberOfObjectives = points.length / solutionList.size();
+
+      // calculate the contributions and sort
+      double[] contributions = new double[solutionList.size()];
+      if (numberOfObjectives < MINIMUM_NUMBER_OF_OBJECTIVES_IN_PARALLEL) {
+        new ContributionTask(points, numberOfObjectives, contributions, 0, contributions.length,
+            contributions.length).compute();
+      } else {
+        getPool().invoke(new ContributionTask(points, numberOfObjectives, contributions, 0,
+            contributions.length, getGrain(contributions.length)));
+      }
+
+      HypervolumeContributionAttribute<S> hvContribution = new HypervolumeContributionAttribute<>();
+      for (int i = 0; i < contributions.length; i++) {
+        hvContribution.setDouble(solutionList.get(i), contributions[i]);
+      }
+
+      Collections.sort(solutionList, new HypervolumeContributionComparator<S>());
+    }
+    return solutionList;
+  }
+
+  /**
+   * Computes the hypervolume of a set of points of a maximization problem with the origin as
+   * reference point
+   *
+   * @param points the objectives of the points, one after another; they are reordered
+   * @param size number of points
+   * @param numberOfObjectives number of objectives of every point
+   */
+  double hypervolume(double[] points, int size, int numberOfObjectives) {
+    if (size == 0) {
+      return 0.0;
+    } else if (numberOfObjectives == 1) {
+      double volume = 0.0;
+      for (int i = 0; i < size; i++) {
+        volume = Math.max(volume, points[i]);
+      }
+      return volume;
+    } else if (numberOfObjectives < MINIMUM_NUMBER_OF_OBJECTIVES_IN_PARALLEL
+        || size < MINIMUM_NUMBER_OF_POINTS_IN_PARALLEL) {
+      return hv(points, size, numberOfObjectives, numberOfObjectives, scratch.get(), 0);
+    }
+
+    sort(points, 0, size, numberOfObjectives, numberOfObjectives - 1);
+    return getPool().invoke(new SliceTask(points, numberOfObjectives, 0, size, getGrain(size)));
+  }
+
+  private int getGrain(int size) {
+    return Math.max(1, size / (TASKS_PER_THREAD * getPool().getParallelism()));
+  }
+
+  /*
+   * Hypervolume of the first 'objectives' objectives of the 'size' points of 'front', stored
+   * every 'stride' values. The points are sorted by their last objective, so each one adds the
+   * slice of its exclusive hypervolume in the remaining objectives, as high as that objective.
+   */
+  private static double hv(double[] front, int size, int stride, int objectives, Scratch scratch, int depth) {
+    if (size == 0) {
+      return 0.0;
+    } else if (size == 1) {
+      return inclhv(front, 0, objectives);
+    } else if (objectives == 2) {
+      return hv2(front, size, stride);
+    }
+
+    sort(front, 0, size, stride, objectives - 1);
+    double volume = 0.0;
+    for (int i = 0; i < size; i++) {
+      volume += front[i * stride + objectives - 1] * exclhv(front, i, stride, objectives - 1, scratch, depth);
+    }
+    return volume;
+  }
+
+  // hypervolume of two objectives, sweeping the points by their first objective
+  private static double hv2(double[] front, int size, int stride) {
+    sort(front, 0, size, stride, 0);
+    double volume = 0.0;
+    double height = 0.0;
+    for (int i = 0; i < size; i++) {
+      double second = front[i * stride + 1];
+      if (second > height) {
+        volume += front[i * stride] * (second - height);
+        height = second;
+      }
+    }
+    return volume;
+  }
+
+  // hypervolume dominated by the point at 'index' and not by the ones before it
+  private static double exclhv(double[] front, int index, int stride, int objectives, Scratch scratch, int depth) {
+    double[] limited = scratch.getFront(depth, index * objectives);
+    int size = limitSet(front, index, index, stride, objectives, limited);
+    return inclhv(front, index * stride, objectives)
+        - hv(limited, size, objectives, objectives, scratch, depth + 1);
+  }
+
+  // hypervolume dominated by the point at 'index' and by none of the others
+  private static double contribution(double[] front, int size, int index, int objectives, Scratch scratch) {
+    double[] limited = scratch.getFront(0, (size - 1) * objectives);
+    int limitedSize = limitSet(front, size, index, objectives, objectives, limited);
+    return inclhv(front, index * objectives, objectives)
+        - hv(limited, limitedSize, objectives, objectives, scratch, 1);
+  }
+
+  private static double inclhv(double[] front, int index, int objectives) {
+    double volume = 1.0;
+    for (int j = 0; j < objectives; j++) {
+      volume *= front[index + j];
+    }
+    return volume;
+  }
+
+  /*
+   * Stores in 'limited' the non-dominated points of the first 'size' points of 'front' but the
+   * one at 'index', each one limited to the region dominated by the one at 'index', returning
+   * how many they are
+   */
+  private static int limitSet(double[] front, int size, int index, int stride, int objectives, double[] limited) {
+    int limitedSize = 0;
+    int point = index * stride;
+    for (int i = 0; i < size; i++) {
+      if (i == index) {
+        continue;
+      }
+      int candidate = limitedSize * objectives;
+      for (int j = 0; j < objectives; j++) {
+        limited[candidate + j] = Math.min(front[i * stride + j], front[point + j]);
+      }
+
+      boolean dominated = false;
+      int k = 0;
+      while (k < limitedSize && !dominated) {
+        int result = compare(limited, k * objectives, candidate, objectives);
+        if (result == 1) {
+          dominated = true;
+        } else if (result == -1) {
+          // the candidate dominates the k-th point, which is replaced by the last one
+          limitedSize--;
+          System.arraycopy(limited, limitedSize * objectives, limited, k * objectives, objectives);
+          System.arraycopy(limited, candidate, limited, limitedSize * objectives, objectives);
+          candidate = limitedSize * objectives;
+        } else {
+          k++;
+        }
+      }
+      if (!dominated) {
+        limitedSize++;
+      }
+    }
+    return limitedSize;
+  }
+
+  // 1 if the first point weakly dominates the second one, -1 if it is dominated, 0 otherwise
+  private static int compare(double[] points, int first, int second, int objectives) {
+    boolean better = false;
+    boolean worse = false;
+    for (int j = 0; j < objectives && !(better && worse); j++) {
+      better |= points[first + j] > points[second + j];
+      worse |= points[first + j] < points[second + j];
+    }
+    return (!worse ? 1 : (!better ? -1 : 0));
+  }
+
+  // sorts the points from 'from' to 'to' by descending values of the objective
+  private static void sort(double[] front, int from, int to, int stride, int objective) {
+    while (to - from > 16) {
+      double pivot = median(front[from * stride + objective], front[((from + to) >>> 1) * stride + objective],
+          front[(to - 1) * stride + objective]);
+      int i = from;
+      int j = to - 1;
+      while (i <= j) {
+        while (front[i * stride + objective] > pivot) {
+          i++;
+        }
+        while (front[j * stride + objective] < pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(front, i++, j--, stride);
+        }
+      }
+      // recursion on the smaller part, so the depth is logarithmic
+      if (j - from < to - i) {
+        sort(front, from, j + 1, stride, objective);
+        from = i;
+      } else {
+        sort(front, i, to, stride, objective);
+        to = j + 1;
+      }
+    }
+    for (int i = from + 1; i < to; i++) {
+      for (int j = i; j > from && front[j * stride + objective] > front[(j - 1) * stride + objective]; j--) {
+        swap(front, j, j - 1, stride);
+      }
+    }
+  }
+
+  private static double median(double a, double b, double c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+
+  private static void swap(double[] front, int i, int j, int stride) {
+    for (int k = 0; k < stride; k++) {
+      double value = front[i * stride + k];
+      front[i * stride + k] = front[j * stride + k];
+      front[j * stride + k] = value;
+    }
+  }
+
+  /** Limited fronts of every level of the recursion, reused by a thread */
+  private static class Scratch {
+    private double[][] fronts = new double[0][];
+
+    double[] getFront(int depth, int length) {
+      if (depth >= fronts.length) {
+        double[][] grown = new double[depth + 1][];
+        System.arraycopy(fronts, 0, grown, 0, fronts.length);
+        fronts = grown;
+      }
+      if (fronts[depth] == null || fronts[depth].length < length) {
+        fronts[depth] = new double[Math.max(length, 2 * (fronts[depth] == null ? 0 : fronts[depth].length))];
+      }
+      return fronts[depth];
+    }
+  }
+
+  /** Sum of the slices of the points from 'from' to 'to' of a front sorted by its last objective */
+  private static class SliceTask extends RecursiveTask<Double> {
+    private final double[] front;
+    private final int objectives;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    SliceTask(double[] front, int objectives, int from, int to, int grain) {
+      this.front = front;
+      this.objectives = objectives;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    @Override
+    protected Double compute() {
+      if (to - from <= grain) {
+        Scratch workerScratch = scratch.get();
+        double volume = 0.0;
+        for (int i = from; i < to; i++) {
+          volume += front[i * objectives + objectives - 1]
+              * exclhv(front, i, objectives, objectives - 1, workerScratch, 0);
+        }
+        return volume;
+      }
+
+      int middle = (from + to) >>> 1;
+      SliceTask first = new SliceTask(front, objectives, from, middle, grain);
+      first.fork();
+      double volume = new SliceTask(front, objectives, middle, to, grain).compute();
+      return first.join() + volume;
+    }
+  }
+
+  /** Contributions of the points from 'from' to 'to' of a front */
+  private static class ContributionTask extends RecursiveAction {
+    private final double[] front;
+    private final int objectives;
+    private final double[] contributions;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    ContributionTask(double[] front, int objectives, double[] contributions, int from, int to, int grain) {
+      this.front = front;
+      this.objectives = objectives;
+      this.contributions = contributions;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= grain) {
+        Scratch workerScratch = scratch.get();
+        for (int i = from; i < to; i++) {
+          contributions[i] = contribution(front, contributions.length, i, objectives, workerScratch);
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ContributionTask(front, objectives, contributions, from, middle, grain),
+            new ContributionTask(front, objectives, contributions, middle, to, grain));
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package org.uma.jmetal.solution;
+
+import org.uma.jmetal.util.JMetalException;
+
+import java.util.Arrays;
+
+/**
+ * Registry of the attributes whose values are numbers stored by the solutions in primitive
+ * arrays, at the index of their slot, instead of boxed in their map of attributes. Attributes
+ * read or written for every solution when selecting, such as the rank or the crowding distance,
+ * are registered by their {@link org.uma.jmetal.util.solutionattribute.SolutionAttribute} and
+ * accessed with {@link Solution#getDoubleAttribute(AttributeSlot)} and the like, without hashing
+ * nor boxing. {@link Solution#getAttribute(Object)} and {@link Solution#setAttribute(Object, Object)}
+ * still work with the identifiers of the slots, boxing the values.
+ *
+ * Slots are never unregistered, so only a few identifiers known in advance should be registered.
+ */
+public final class AttributeSlot {
+  /** Type of the values of an attribute */
+  public enum Type {
+    DOUBLE, INTEGER
+  }
+
+  // copied on every registration, as they are far less frequent than lookups
+  private static volatile AttributeSlot[] slots = new AttributeSlot[0];
+
+  private final Object identifier;
+  private final Type type;
+  private final int index;
+
+  private AttributeSlot(Object identifier, Type type, int index) {
+    this.identifier = identifier;
+    this.type = type;
+    this.index = index;
+  }
+
+  /**
+   * Returns the slot of an attribute, registering it the first time
+   *
+   * @param identifier identifier of the attribute
+   * @param type type of its values, which must be the same every time
+   */
+  public static synchronized AttributeSlot register(Object identifier, Type type) {
+    AttributeSlot slot = find(identifier);
+    if (slot == null) {
+      slot = new AttributeSlot(identifier, type, slots.length);
+      AttributeSlot[] registered = Arrays.copyOf(slots, slots.length + 1);
+      registered[slot.index] = slot;
+      slots = registered;
+    } else if (slot.type != type) {
+      throw new JMetalException("The attribute " + identifier + " is registered with type " + slot.type);
+    }
+    return slot;
+  }
+
+  /** Returns the slot of an attribute, or null if it is not registered */
+  public static AttributeSlot find(Object identifier) {
+    for (AttributeSlot slot : slots) {
+      if (slot.identifier.equals(identifier)) {
+        return slot;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the slot with the given index */
+  public static AttributeSlot getSlot(int index) {
+    return slots[index];
+  }
+
+  /** Returns the number of slots registered */
+  public static int getNumberOfSlots() {
+    return slots.length;
+  }
+
+  public Object getIdentifier() {
+    return identifier;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  /** Returns the value boxed in the class of the type of the slot */
+  public Object box(double value) {
+    return (type == Type.INTEGER ? (Object) (int) value : (Object) value);
+  }
+
+  /** Returns the value of a boxed number, which must be an integer if the type is INTEGER */
+  public double unbox(Object value) {
+    if (type == Type.INTEGER ? !(value instanceof Integer) : !(value instanceof Number)) {
+      throw new JMetalException("The attribute " + identifier + " of type " + type + " can not be " + value);
+    }
+    return ((Number) value).doubleValue();
+  }
+
+  @Override
+  public String toString() {
+    return identifier.toString();
+  }
+}
@@ -27,6 +27,32 @@ public interface Solution<T> extends Serializable {
 
   void setAttribute(Object id, Object value) ;
   Object getAttribute(Object id) ;
-  
+
+  /**
+   * Returns the attributes set by identifier. Solutions storing the values of the
+   * {@link AttributeSlot}s apart do not include them.
+   */
   public Map<Object, Object> getAttributes();
+
+  /* Attributes stored in slots. By default they are kept with the rest of the attributes,
+   * solutions should override these methods to store them in primitive arrays */
+  default boolean hasAttribute(AttributeSlot slot) {
+    return getAttribute(slot.getIdentifier()) != null ;
+  }
+
+  default double getDoubleAttribute(AttributeSlot slot) {
+    return slot.unbox(getAttribute(slot.getIdentifier())) ;
+  }
+
+  default void setDoubleAttribute(AttributeSlot slot, double value) {
+    setAttribute(slot.getIdentifier(), slot.box(value)) ;
+  }
+
+  default int getIntegerAttribute(AttributeSlot slot) {
+    return (int) getDoubleAttribute(slot) ;
+  }
+
+  default void setIntegerAttribute(AttributeSlot slot, int value) {
+    setDoubleAttribute(slot, value) ;
+  }
 }
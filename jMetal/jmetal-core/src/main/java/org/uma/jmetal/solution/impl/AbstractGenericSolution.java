@@ -1,6 +1,7 @@
 package org.uma.jmetal.solution.impl;
 
 import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
@@ -17,6 +18,7 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
   private List<T> variables;
   protected P problem ;
   protected Map<Object, Object> attributes ;
+  protected AttributeSlotValues slotValues ;
   /**
    * @deprecated Call {@link JMetalRandom#getInstance()} if you need one.
    */
@@ -29,6 +31,7 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
   protected AbstractGenericSolution(P problem) {
     this.problem = problem ;
     attributes = new HashMap<>() ;
+    slotValues = new AttributeSlotValues() ;
     randomGenerator = JMetalRandom.getInstance() ;
 
     objectives = new double[problem.getNumberOfObjectives()] ;
@@ -50,12 +53,33 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
 
   @Override
   public void setAttribute(Object id, Object value) {
-    attributes.put(id, value) ;
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    if (slot != null) {
+      slotValues.setBoxed(slot, value) ;
+    } else {
+      attributes.put(id, value) ;
+    }
   }
 
   @Override
   public Object getAttribute(Object id) {
-    return attributes.get(id) ;
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    return (slot != null ? slotValues.getBoxed(slot) : attributes.get(id)) ;
+  }
+
+  @Override
+  public boolean hasAttribute(AttributeSlot slot) {
+    return slotValues.has(slot) ;
+  }
+
+  @Override
+  public double getDoubleAttribute(AttributeSlot slot) {
+    return slotValues.get(slot) ;
+  }
+
+  @Override
+  public void setDoubleAttribute(AttributeSlot slot, double value) {
+    slotValues.set(slot, value) ;
   }
 
   @Override
@@ -105,7 +129,7 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
       result += "" + obj + " " ;
     }
     result += "\t" ;
-    result += "AlgorithmAttributes: " + attributes + "\n" ;
+    result += "AlgorithmAttributes: " + attributes + " " + slotValues + "\n" ;
 
     return result ;
   }
@@ -142,6 +166,10 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
     //
     // the following implementation takes care of this by considering solutions as attributes as a special case
 
+    if (!slotValues.equals(that.slotValues)) {
+      return false;
+    }
+
     if (attributes.size() != that.attributes.size()) {
       return false;
     }
@@ -178,6 +206,7 @@ public abstract class AbstractGenericSolution<T, P extends Problem<?>> implement
     int result = Arrays.hashCode(objectives);
     result = 31 * result + variables.hashCode();
     result = 31 * result + attributes.hashCode();
+    result = 31 * result + slotValues.hashCode();
     return result;
   }
 }
@@ -1,6 +1,7 @@
 package org.uma.jmetal.solution.impl;
 
 import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
@@ -18,6 +19,7 @@ public class ArrayDoubleSolution implements DoubleSolution {
   private double[] variables;
   protected DoubleProblem problem ;
   protected Map<Object, Object> attributes ;
+  protected AttributeSlotValues slotValues ;
   protected final JMetalRandom randomGenerator ;
 
   /**
@@ -26,6 +28,7 @@ public class ArrayDoubleSolution implements DoubleSolution {
   public ArrayDoubleSolution(DoubleProblem problem) {
     this.problem = problem ;
     attributes = new HashMap<>() ;
+    slotValues = new AttributeSlotValues() ;
     randomGenerator = JMetalRandom.getInstance() ;
 
     objectives = new double[problem.getNumberOfObjectives()] ;
@@ -51,6 +54,7 @@ public class ArrayDoubleSolution implements DoubleSolution {
     }
 
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   @Override
@@ -119,12 +123,33 @@ public class ArrayDoubleSolution implements DoubleSolution {
 
   @Override
   public void setAttribute(Object id, Object value) {
-    attributes.put(id, value) ;
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    if (slot != null) {
+      slotValues.setBoxed(slot, value) ;
+    } else {
+      attributes.put(id, value) ;
+    }
   }
 
   @Override
   public Object getAttribute(Object id) {
-    return attributes.get(id) ;
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    return (slot != null ? slotValues.getBoxed(slot) : attributes.get(id)) ;
+  }
+
+  @Override
+  public boolean hasAttribute(AttributeSlot slot) {
+    return slotValues.has(slot) ;
+  }
+
+  @Override
+  public double getDoubleAttribute(AttributeSlot slot) {
+    return slotValues.get(slot) ;
+  }
+
+  @Override
+  public void setDoubleAttribute(AttributeSlot slot, double value) {
+    slotValues.set(slot, value) ;
   }
 
   @Override
@@ -0,0 +1,215 @@
+package org.uma.jmetal.solution.impl;
+
+import org.uma.jmetal.problem.IntegerProblem;
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.util.*;
+
+/**
+ * Implementation of {@link IntegerSolution} using arrays. Besides the methods of the interface,
+ * which box their values, it offers primitive and bulk accessors to the variables.
+ */
+@SuppressWarnings("serial")
+public class ArrayIntegerSolution implements IntegerSolution {
+  private double[] objectives;
+  private int[] variables;
+  protected IntegerProblem problem ;
+  protected Map<Object, Object> attributes ;
+  protected AttributeSlotValues slotValues ;
+
+  /**
+   * Constructor
+   */
+  public ArrayIntegerSolution(IntegerProblem problem) {
+    this.problem = problem ;
+    attributes = new HashMap<>() ;
+    slotValues = new AttributeSlotValues() ;
+
+    objectives = new double[problem.getNumberOfObjectives()] ;
+    variables = new int[problem.getNumberOfVariables()] ;
+    JMetalRandom randomGenerator = JMetalRandom.getInstance() ;
+    for (int i = 0; i < problem.getNumberOfVariables(); i++) {
+      variables[i] = randomGenerator.nextInt(getLowerBound(i), getUpperBound(i)) ;
+    }
+  }
+
+  /**
+   * Constructor setting all the variables to the given value, without drawing random numbers
+   * @param problem
+   * @param initialValue
+   */
+  public ArrayIntegerSolution(IntegerProblem problem, int initialValue) {
+    this.problem = problem ;
+    attributes = new HashMap<>() ;
+    slotValues = new AttributeSlotValues() ;
+
+    objectives = new double[problem.getNumberOfObjectives()] ;
+    variables = new int[problem.getNumberOfVariables()] ;
+    Arrays.fill(variables, initialValue) ;
+  }
+
+  /**
+   * Copy constructor
+   * @param solution to copy
+   */
+  public ArrayIntegerSolution(ArrayIntegerSolution solution) {
+    problem = solution.problem ;
+    objectives = solution.objectives.clone() ;
+    variables = solution.variables.clone() ;
+    attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
+  }
+
+  @Override
+  public void setObjective(int index, double value) {
+    objectives[index] = value ;
+  }
+
+  @Override
+  public double getObjective(int index) {
+    return objectives[index];
+  }
+
+  @Override
+  public List<Integer> getVariables() {
+    List<Integer> vars = new ArrayList<>(getNumberOfVariables()) ;
+    for (int i = 0 ; i < getNumberOfVariables(); i++) {
+      vars.add(variables[i]) ;
+    }
+    return vars ;
+  }
+
+  @Override
+  public double[] getObjectives() {
+    return objectives ;
+  }
+
+  @Override
+  public Integer getVariableValue(int index) {
+    return variables[index];
+  }
+
+  @Override
+  public void setVariableValue(int index, Integer value) {
+    variables[index] = value ;
+  }
+
+  /** Returns the value of a variable without boxing it */
+  public int getIntVariableValue(int index) {
+    return variables[index] ;
+  }
+
+  /** Sets the value of a variable without boxing it */
+  public void setIntVariableValue(int index, int value) {
+    variables[index] = value ;
+  }
+
+  /**
+   * Copies the values of all the variables into the given array
+   * @param destination array with at least as many positions as variables
+   */
+  public void copyVariableValues(int[] destination) {
+    System.arraycopy(variables, 0, destination, 0, variables.length);
+  }
+
+  /**
+   * Sets the values of all the variables from the given array
+   * @param source array with at least as many positions as variables
+   */
+  public void setVariableValues(int[] source) {
+    System.arraycopy(source, 0, variables, 0, variables.length);
+  }
+
+  /** Sets all the variables to the given value */
+  public void fillVariableValues(int value) {
+    Arrays.fill(variables, value);
+  }
+
+  @Override
+  public String getVariableValueString(int index) {
+    return Integer.toString(variables[index]) ;
+  }
+
+  @Override
+  public int getNumberOfVariables() {
+    return problem.getNumberOfVariables();
+  }
+
+  @Override
+  public int getNumberOfObjectives() {
+    return problem.getNumberOfObjectives();
+  }
+
+  @Override
+  public Integer getUpperBound(int index) {
+    return problem.getUpperBound(index);
+  }
+
+  @Override
+  public Integer getLowerBound(int index) {
+    return problem.getLowerBound(index) ;
+  }
+
+  @Override
+  public ArrayIntegerSolution copy() {
+    return new ArrayIntegerSolution(this);
+  }
+
+  @Override
+  public void setAttribute(Object id, Object value) {
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    if (slot != null) {
+      slotValues.setBoxed(slot, value) ;
+    } else {
+      attributes.put(id, value) ;
+    }
+  }
+
+  @Override
+  public Object getAttribute(Object id) {
+    AttributeSlot slot = AttributeSlot.find(id) ;
+    return (slot != null ? slotValues.getBoxed(slot) : attributes.get(id)) ;
+  }
+
+  @Override
+  public boolean hasAttribute(AttributeSlot slot) {
+    return slotValues.has(slot) ;
+  }
+
+  @Override
+  public double getDoubleAttribute(AttributeSlot slot) {
+    return slotValues.get(slot) ;
+  }
+
+  @Override
+  public void setDoubleAttribute(AttributeSlot slot, double value) {
+    slotValues.set(slot, value) ;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ArrayIntegerSolution that = (ArrayIntegerSolution) o;
+
+    if (!Arrays.equals(objectives, that.objectives)) return false;
+    if (!Arrays.equals(variables, that.variables)) return false;
+    return problem != null ? problem.equals(that.problem) : that.problem == null;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Arrays.hashCode(objectives);
+    result = 31 * result + Arrays.hashCode(variables);
+    result = 31 * result + (problem != null ? problem.hashCode() : 0);
+    return result;
+  }
+
+  @Override
+  public Map<Object, Object> getAttributes() {
+    return attributes;
+  }
+}
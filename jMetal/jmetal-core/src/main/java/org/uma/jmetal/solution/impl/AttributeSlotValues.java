@@ -0,0 +1,147 @@
+package org.uma.jmetal.solution.impl;
+
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.util.JMetalException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Values of the {@link AttributeSlot}s of a solution, in arrays indexed by slot. They are
+ * serialized by the identifiers of their slots, as the indexes depend on the order of
+ * registration.
+ */
+@SuppressWarnings("serial")
+public class AttributeSlotValues implements Serializable {
+  private transient double[] values;
+  private transient boolean[] present;
+
+  /**
+   * Constructor
+   */
+  public AttributeSlotValues() {
+    values = new double[AttributeSlot.getNumberOfSlots()];
+    present = new boolean[values.length];
+  }
+
+  /**
+   * Copy constructor
+   */
+  public AttributeSlotValues(AttributeSlotValues slotValues) {
+    values = slotValues.values.clone();
+    present = slotValues.present.clone();
+  }
+
+  public boolean has(AttributeSlot slot) {
+    return slot.getIndex() < present.length && present[slot.getIndex()];
+  }
+
+  public double get(AttributeSlot slot) {
+    if (!has(slot)) {
+      throw new JMetalException("The attribute " + slot + " is not set");
+    }
+    return values[slot.getIndex()];
+  }
+
+  public void set(AttributeSlot slot, double value) {
+    int index = slot.getIndex();
+    if (index >= values.length) {
+      int length = Math.max(index + 1, AttributeSlot.getNumberOfSlots());
+      values = Arrays.copyOf(values, length);
+      present = Arrays.copyOf(present, length);
+    }
+    values[index] = value;
+    present[index] = true;
+  }
+
+  public void remove(AttributeSlot slot) {
+    if (slot.getIndex() < present.length) {
+      present[slot.getIndex()] = false;
+    }
+  }
+
+  /** Returns the boxed value of the slot, or null if it is not set */
+  public Object getBoxed(AttributeSlot slot) {
+    return (has(slot) ? slot.box(values[slot.getIndex()]) : null);
+  }
+
+  /** Sets the value of the slot from a boxed one, removing it if it is null */
+  public void setBoxed(AttributeSlot slot, Object value) {
+    if (value == null) {
+      remove(slot);
+    } else {
+      set(slot, slot.unbox(value));
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    AttributeSlotValues that = (AttributeSlotValues) o;
+    for (int i = 0; i < Math.max(present.length, that.present.length); i++) {
+      boolean isPresent = i < present.length && present[i];
+      if (isPresent != (i < that.present.length && that.present[i])) {
+        return false;
+      } else if (isPresent && Double.compare(values[i], that.values[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 0;
+    for (int i = 0; i < present.length; i++) {
+      if (present[i]) {
+        result += 31 * i + Double.hashCode(values[i]);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("{");
+    for (int i = 0; i < present.length; i++) {
+      if (present[i]) {
+        result.append(result.length() > 1 ? ", " : "").append(AttributeSlot.getSlot(i)).append('=').append(values[i]);
+      }
+    }
+    return result.append('}').toString();
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    int size = 0;
+    for (boolean isPresent : present) {
+      size += (isPresent ? 1 : 0);
+    }
+    out.writeInt(size);
+    for (int i = 0; i < present.length; i++) {
+      if (present[i]) {
+        AttributeSlot slot = AttributeSlot.getSlot(i);
+        out.writeObject(slot.getIdentifier());
+        out.writeObject(slot.getType());
+        out.writeDouble(values[i]);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    values = new double[AttributeSlot.getNumberOfSlots()];
+    present = new boolean[values.length];
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      Object identifier = in.readObject();
+      AttributeSlot.Type type = (AttributeSlot.Type) in.readObject();
+      set(AttributeSlot.register(identifier, type), in.readDouble());
+    }
+  }
+}
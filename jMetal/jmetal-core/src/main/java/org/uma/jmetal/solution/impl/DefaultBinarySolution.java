@@ -39,6 +39,7 @@ public class DefaultBinarySolution
     }
 
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   private static BinarySet createNewBitSet(int numberOfBits, JMetalRandom randomGenerator) {
@@ -46,6 +46,7 @@ public class DefaultDoubleBinarySolution
     copyBitSet(solution);
 
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   private void initializeDoubleVariables(JMetalRandom randomGenerator) {
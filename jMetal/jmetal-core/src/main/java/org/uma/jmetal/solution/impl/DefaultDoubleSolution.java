@@ -38,6 +38,7 @@ public class DefaultDoubleSolution
     }
 
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   @Override
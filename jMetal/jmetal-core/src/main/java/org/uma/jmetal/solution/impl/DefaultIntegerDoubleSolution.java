@@ -48,6 +48,7 @@ public class DefaultIntegerDoubleSolution
     }
 
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   @Override
@@ -47,6 +47,7 @@ public class DefaultIntegerPermutationSolution
     }
     
     attributes = new HashMap<Object, Object>(solution.attributes) ;
+    slotValues = new AttributeSlotValues(solution.slotValues) ;
   }
 
   @Override public String getVariableValueString(int index) {
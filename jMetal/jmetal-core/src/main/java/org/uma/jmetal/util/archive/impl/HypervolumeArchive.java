@@ -1,6 +1,7 @@
 package org.uma.jmetal.util.archive.impl;
 
 import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.BiObjectiveHypervolumeContributions;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.SolutionListUtils;
 import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
@@ -10,27 +11,71 @@ import java.util.Comparator;
 
 /**
  * Created by Antonio J. Nebro on 24/09/14.
+ *
+ * With two objectives the contributions are kept up to date as solutions enter and leave the
+ * archive by {@link BiObjectiveHypervolumeContributions}, instead of computing them all again
+ * every time the archive is pruned. They are only built again from the solution list when they
+ * no longer hold as many solutions, e.g. if the list was modified from outside the archive.
  */
 @SuppressWarnings("serial")
 public class HypervolumeArchive<S extends Solution<?>> extends AbstractBoundedArchive<S> {
   private Comparator<S> comparator;
   Hypervolume<S> hypervolume ;
+  private BiObjectiveHypervolumeContributions<S> contributions ;
 
   public HypervolumeArchive(int maxSize, Hypervolume<S> hypervolume) {
     super(maxSize);
     comparator = new HypervolumeContributionComparator<S>() ;
     this.hypervolume = hypervolume ;
+    contributions = new BiObjectiveHypervolumeContributions<>(hypervolume.getOffset()) ;
+  }
+
+  @Override
+  public boolean add(S solution) {
+    // the contributions follow the archive if they held its solutions before the addition
+    boolean tracked = solution.getNumberOfObjectives() == 2 && contributions.getOffset() == hypervolume.getOffset()
+        && contributions.size() == getSolutionList().size() ;
+    boolean success = archive.add(solution) ;
+    if (success) {
+      if (tracked) {
+        contributions.removeDominatedBy(solution) ;
+        contributions.add(solution) ;
+      }
+      prune() ;
+    }
+
+    return success ;
   }
 
   @Override
   public void prune() {
-    if (getSolutionList().size() > getMaxSize()) {
+    if (updateContributions()) {
+      if (getSolutionList().size() > getMaxSize()) {
+        S worst = contributions.getLeastContributor() ;
+        getSolutionList().remove(worst);
+        contributions.remove(worst);
+      }
+    } else if (getSolutionList().size() > getMaxSize()) {
       computeDensityEstimator() ;
       S worst = new SolutionListUtils().findWorstSolution(getSolutionList(), comparator) ;
       getSolutionList().remove(worst);
     }
   }
 
+  // brings the contributions up to date, returning false if they can not be kept
+  // as the problem is not bi-objective or the solutions dominate each other
+  private boolean updateContributions() {
+    if (getSolutionList().isEmpty() || getSolutionList().get(0).getNumberOfObjectives() != 2) {
+      return false ;
+    } else if (contributions.getOffset() != hypervolume.getOffset()) {
+      contributions = new BiObjectiveHypervolumeContributions<>(hypervolume.getOffset()) ;
+    }
+    if (contributions.size() == getSolutionList().size()) {
+      return true ;
+    }
+    return contributions.synchronize(getSolutionList()) ;
+  }
+
   @Override
   public Comparator<S> getComparator() {
     return comparator ;
@@ -38,7 +83,11 @@ public class HypervolumeArchive<S extends Solution<?>> extends AbstractBoundedAr
 
   @Override
   public void computeDensityEstimator() {
-    hypervolume.computeHypervolumeContribution(archive.getSolutionList(), archive.getSolutionList()) ;
+    if (updateContributions()) {
+      contributions.setAttributes() ;
+    } else {
+      hypervolume.computeHypervolumeContribution(archive.getSolutionList(), archive.getSolutionList()) ;
+    }
   }
 
   @Override
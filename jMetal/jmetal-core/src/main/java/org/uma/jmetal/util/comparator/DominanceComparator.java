@@ -36,6 +36,10 @@ public class DominanceComparator<S extends Solution<?>> implements Comparator<S>
     constraintViolationComparator = constraintComparator ;
   }
 
+  public ConstraintViolationComparator<S> getConstraintViolationComparator() {
+    return constraintViolationComparator ;
+  }
+
   /**
    * Compares two solutions.
    *
@@ -0,0 +1,185 @@
+package org.uma.jmetal.util.evaluator.impl;
+
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.measure.Measurable;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.measure.impl.ConcurrentCountingMeasure;
+import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Evaluator that remembers the objectives of the last solutions evaluated, keyed by a hash of
+ * their variables, and only hands the solutions not seen before to the evaluator it decorates.
+ * It pays off when many offspring are copies of their parents, e.g. with a low crossover
+ * probability or when the mutation is rolled back.
+ *
+ * The hash only selects the entry of a solution: the variables are stored with the objectives
+ * and compared on every hit, so a stale hash, e.g. a {@link
+ * org.uma.jmetal.util.solutionattribute.impl.ZobristHash} carried over by a copy whose variables
+ * were then written without updating it, or a collision only cost an evaluation, never wrong
+ * objectives. Only the objectives are restored, attributes set by the problem when evaluating are
+ * not. When the cache
+ * is full the least recently used entry is discarded. Hits, misses and evictions are counted by
+ * the measures of {@link #getMeasureManager()}.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class CachingSolutionListEvaluator<S extends Solution<?>> implements SolutionListEvaluator<S>, Measurable {
+  private SolutionListEvaluator<S> evaluator;
+  private ToLongFunction<S> hashFunction;
+  private int capacity;
+  // variables and objectives by hash, in access order
+  private LinkedHashMap<Long, CachedSolution> cache;
+
+  private ConcurrentCountingMeasure hits;
+  private ConcurrentCountingMeasure misses;
+  private ConcurrentCountingMeasure evictions;
+  private SimpleMeasureManager measureManager;
+
+  /**
+   * Constructor
+   *
+   * @param evaluator evaluator of the solutions not found in the cache
+   * @param hashFunction hash of the variables of a solution
+   * @param capacity solutions whose objectives are remembered
+   */
+  public CachingSolutionListEvaluator(SolutionListEvaluator<S> evaluator, ToLongFunction<S> hashFunction,
+      int capacity) {
+    if (capacity < 1) {
+      throw new JMetalException("Wrong capacity of the cache: " + capacity);
+    }
+    this.evaluator = evaluator;
+    this.hashFunction = hashFunction;
+    this.capacity = capacity;
+    cache = new LinkedHashMap<Long, CachedSolution>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, CachedSolution> eldest) {
+        if (size() > CachingSolutionListEvaluator.this.capacity) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+    initMeasures();
+  }
+
+  private void initMeasures() {
+    hits = new ConcurrentCountingMeasure("hits", "Solutions whose objectives were found in the cache");
+    misses = new ConcurrentCountingMeasure("misses", "Solutions handed to the decorated evaluator");
+    evictions = new ConcurrentCountingMeasure("evictions", "Entries discarded as the cache was full");
+    measureManager = new SimpleMeasureManager();
+    measureManager.setPullMeasure("hits", hits);
+    measureManager.setPullMeasure("misses", misses);
+    measureManager.setPullMeasure("evictions", evictions);
+  }
+
+  @Override
+  public MeasureManager getMeasureManager() {
+    return measureManager;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Returns the number of solutions currently remembered */
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  @Override
+  public synchronized List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+    List<S> unknown = new ArrayList<>();
+    List<Long> unknownHashes = new ArrayList<>();
+    // solutions repeated in the list, evaluated once and copied from the first one
+    List<S> repeated = new ArrayList<>();
+    List<Long> repeatedHashes = new ArrayList<>();
+    HashMap<Long, S> pending = new HashMap<>();
+    for (S solution : solutionList) {
+      long hash = hashFunction.applyAsLong(solution);
+      CachedSolution entry = cache.get(hash);
+      if (entry != null && entry.hasVariablesOf(solution)) {
+        setObjectives(solution, entry.getObjectives());
+        hits.increment();
+      } else if (pending.containsKey(hash) && haveSameVariables(pending.get(hash), solution)) {
+        repeated.add(solution);
+        repeatedHashes.add(hash);
+        hits.increment();
+      } else {
+        pending.putIfAbsent(hash, solution);
+        unknown.add(solution);
+        unknownHashes.add(hash);
+        misses.increment();
+      }
+    }
+
+    if (!unknown.isEmpty()) {
+      evaluator.evaluate(unknown, problem);
+    }
+    for (int i = 0; i < unknown.size(); i++) {
+      cache.put(unknownHashes.get(i), new CachedSolution(unknown.get(i)));
+    }
+    for (int i = 0; i < repeated.size(); i++) {
+      setObjectives(repeated.get(i), pending.get(repeatedHashes.get(i)).getObjectives());
+    }
+    return solutionList;
+  }
+
+  private void setObjectives(S solution, double[] objectives) {
+    for (int i = 0; i < objectives.length; i++) {
+      solution.setObjective(i, objectives[i]);
+    }
+  }
+
+  private static boolean haveSameVariables(Solution<?> solution1, Solution<?> solution2) {
+    if (solution1.getNumberOfVariables() != solution2.getNumberOfVariables()) {
+      return false;
+    }
+    for (int i = 0; i < solution1.getNumberOfVariables(); i++) {
+      if (!solution1.getVariableValue(i).equals(solution2.getVariableValue(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Forgets every solution, e.g. before solving another problem */
+  public synchronized void clear() {
+    cache.clear();
+  }
+
+  @Override
+  public void shutdown() {
+    evaluator.shutdown();
+  }
+
+  // copy of an evaluated solution, which keeps its variables and objectives even if the
+  // variables are objects the solution goes on modifying
+  private static class CachedSolution implements Serializable {
+    private final Solution<?> solution;
+
+    CachedSolution(Solution<?> solution) {
+      this.solution = solution.copy();
+    }
+
+    double[] getObjectives() {
+      return solution.getObjectives();
+    }
+
+    boolean hasVariablesOf(Solution<?> other) {
+      return haveSameVariables(solution, other);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.uma.jmetal.util.measure.impl;
+
+import org.uma.jmetal.util.measure.PullMeasure;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link PullMeasure} counting occurrences atomically, for events which may happen in several
+ * threads at the same time and need their own position in the count, for instance to log one of
+ * every so many of them. Frequent events that only need the total are better counted with a
+ * {@link ConcurrentCountingMeasure}, which does not contend.
+ */
+@SuppressWarnings("serial")
+public class AtomicCountingMeasure extends SimplePullMeasure<Long> {
+
+	private final AtomicLong count = new AtomicLong();
+
+	public AtomicCountingMeasure(String name, String description) {
+		super(name, description);
+	}
+
+	/** Counts an occurrence, returning the count including it */
+	public long incrementAndGet() {
+		return count.incrementAndGet();
+	}
+
+	public void reset() {
+		count.set(0);
+	}
+
+	@Override
+	public Long get() {
+		return count.get();
+	}
+}
@@ -0,0 +1,37 @@
+package org.uma.jmetal.util.measure.impl;
+
+import org.uma.jmetal.util.measure.PullMeasure;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PullMeasure} counting occurrences without locks, meant for events of hot paths which
+ * may happen in several threads at the same time. Unlike {@link CountingMeasure}, it does not
+ * notify listeners on every increment: the count has to be read when needed.
+ */
+@SuppressWarnings("serial")
+public class ConcurrentCountingMeasure extends SimplePullMeasure<Long> {
+
+	private final LongAdder count = new LongAdder();
+
+	public ConcurrentCountingMeasure(String name, String description) {
+		super(name, description);
+	}
+
+	public void increment() {
+		count.increment();
+	}
+
+	public void increment(long amount) {
+		count.add(amount);
+	}
+
+	public void reset() {
+		count.reset();
+	}
+
+	@Override
+	public Long get() {
+		return count.sum();
+	}
+}
@@ -0,0 +1,57 @@
+package org.uma.jmetal.util.pseudorandom;
+
+import org.uma.jmetal.util.pseudorandom.impl.SplittableRandomGenerator;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Independent random streams derived from a single seed, so that parallel tasks do not share
+ * the {@link JMetalRandom} singleton and a run stays reproducible.
+ *
+ * The stream of a given id only depends on the seed and the id, not on the thread asking for it
+ * nor on the order in which the streams are requested. Workers, islands or evaluation tasks
+ * should therefore be given a fixed id, e.g. their index, and take their generator with
+ * {@link #getStream(long)}.
+ */
+@SuppressWarnings("serial")
+public class RandomStreams implements Serializable {
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L ;
+
+  private final long seed ;
+  // id of the stream returned by the next call to nextStream
+  private final AtomicLong nextStreamId = new AtomicLong() ;
+
+  public RandomStreams(long seed) {
+    this.seed = seed ;
+  }
+
+  /** Streams derived from the seed of {@link JMetalRandom} */
+  public static RandomStreams fromJMetalRandom() {
+    return new RandomStreams(JMetalRandom.getInstance().getSeed()) ;
+  }
+
+  public long getSeed() {
+    return seed ;
+  }
+
+  /** Returns a new generator at the start of the given stream */
+  public SplittableRandomGenerator getStream(long streamId) {
+    return new SplittableRandomGenerator(mix64(seed + GOLDEN_GAMMA * (streamId + 1))) ;
+  }
+
+  /**
+   * Returns the streams 0, 1, 2... in successive calls. The result is only reproducible when the
+   * calls are made in a fixed order, e.g. from a single thread
+   */
+  public SplittableRandomGenerator nextStream() {
+    return getStream(nextStreamId.getAndIncrement()) ;
+  }
+
+  // finalizer of SplitMix64, so that close ids give unrelated seeds
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L ;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL ;
+    return z ^ (z >>> 31) ;
+  }
+}
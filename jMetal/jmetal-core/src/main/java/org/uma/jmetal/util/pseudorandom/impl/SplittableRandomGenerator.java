@@ -0,0 +1,75 @@
+package org.uma.jmetal.util.pseudorandom.impl;
+
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generator based on {@link SplittableRandom}. It is not thread safe: every thread is meant to
+ * use its own generator, obtained with {@link #split()} or from a
+ * {@link org.uma.jmetal.util.pseudorandom.RandomStreams}.
+ *
+ * Only the seed is serialized, so a deserialized generator starts its sequence again.
+ */
+@SuppressWarnings("serial")
+public class SplittableRandomGenerator implements PseudoRandomGenerator {
+  private transient SplittableRandom rnd ;
+  private long seed ;
+  private static final String NAME = "SplittableRandomGenerator" ;
+
+  /** Constructor */
+  public SplittableRandomGenerator() {
+    this(System.currentTimeMillis());
+  }
+
+  /** Constructor */
+  public SplittableRandomGenerator(long seed) {
+    this.seed = seed ;
+    rnd = new SplittableRandom(seed) ;
+  }
+
+  /**
+   * Returns a new generator whose values are statistically independent of the ones of this one.
+   * Both generators advance the same way for the same seed and sequence of calls. The new
+   * generator is seeded with a value drawn from this one, so it keeps its own sequence when
+   * deserialized.
+   */
+  public SplittableRandomGenerator split() {
+    return new SplittableRandomGenerator(rnd.nextLong()) ;
+  }
+
+  @Override
+  public long getSeed() {
+    return seed ;
+  }
+
+  @Override
+  public int nextInt(int lowerBound, int upperBound) {
+    return rnd.nextInt(lowerBound, upperBound + 1) ;
+  }
+
+  @Override
+  public double nextDouble(double lowerBound, double upperBound) {
+    return lowerBound + rnd.nextDouble()*(upperBound - lowerBound) ;
+  }
+
+  @Override public double nextDouble() {
+    return nextDouble(0.0, 1.0);
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    this.seed = seed ;
+    rnd = new SplittableRandom(seed) ;
+  }
+
+  @Override
+  public String getName() {
+    return NAME ;
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    rnd = new SplittableRandom(seed) ;
+  }
+}
@@ -0,0 +1,173 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.solutionattribute.impl.GenericSolutionAttribute;
+
+/**
+ * Occupied class cells of a schedule solution, kept as one bitmap over the classrooms for each
+ * turn, day and cell of the block. Bits follow the capacity order of the classrooms (see
+ * {@link ScheduleInstance#getClassroomByRank(int)}), so the smallest free classroom that can hold
+ * a class is found with {@link Long#numberOfTrailingZeros(long)}.
+ *
+ * The handler attaches it to a solution on the first query and keeps it up to date in
+ * {@link ScheduleDataHandler#setCell(IntegerSolution, int, int)}. Copies of the solution share
+ * the attribute, so it only answers for the solution it was built for, and copies get their own
+ * on their first query.
+ */
+public class Occupancy {
+  private final IntegerSolution solution;
+  private final int classroomsQty;
+  private final int wordsPerBitmap;
+  // bitmap of (turn, day, cell) in words [bitmap * wordsPerBitmap, (bitmap + 1) * wordsPerBitmap)
+  private final long[] occupied;
+
+  Occupancy(IntegerSolution solution, ScheduleDataHandler handler, ScheduleInstance instance) {
+    this.solution = solution;
+    classroomsQty = instance.getClassroomsQty();
+    wordsPerBitmap = (classroomsQty + 63) / 64;
+    occupied = new long[30 * wordsPerBitmap];
+    for (int classroom = 0; classroom < classroomsQty; classroom++) {
+      int rank = instance.getClassroomRank(classroom);
+      for (int block = 0; block < 30; block++) {
+        int cellIndex = 60 * classroom + 20 * (block / 10) + block % 10;
+        if (!handler.isAvailable(cellIndex, solution)) {
+          set(block, rank);
+        }
+      }
+    }
+  }
+
+  // whether the occupancy answers for the given solution
+  boolean isTracking(IntegerSolution solution) {
+    return this.solution == solution;
+  }
+
+  // given a class cell of the matrix returns its bitmap
+  static int getBitmap(int cellIndex) {
+    return 10 * ((cellIndex / 20) % 3) + cellIndex % 10;
+  }
+
+  private static int getBitmap(int turn, int day, int cell) {
+    return 10 * turn + 2 * day + cell;
+  }
+
+  void update(int cellIndex, int rank, boolean isOccupied) {
+    if (isOccupied) {
+      set(getBitmap(cellIndex), rank);
+    } else {
+      occupied[getBitmap(cellIndex) * wordsPerBitmap + (rank >>> 6)] &= ~(1L << rank);
+    }
+  }
+
+  private void set(int bitmap, int rank) {
+    occupied[bitmap * wordsPerBitmap + (rank >>> 6)] |= 1L << rank;
+  }
+
+  // free classrooms of the bitmap in the given word, restricted to ranks from fromRank on
+  private long free(int bitmap, int word, int fromRank) {
+    return ~occupied[bitmap * wordsPerBitmap + word] & rankMask(word, fromRank);
+  }
+
+  // ranks of the word that are in [fromRank, classroomsQty)
+  private long rankMask(int word, int fromRank) {
+    int first = Math.max(fromRank - 64 * word, 0);
+    int last = Math.min(classroomsQty - 64 * word, 64);
+    if (first >= last) {
+      return 0L;
+    }
+    long upTo = (last == 64 ? -1L : (1L << last) - 1);
+    return upTo & (-1L << first);
+  }
+
+  public boolean isFree(int turn, int day, int cell, int rank) {
+    return (occupied[getBitmap(turn, day, cell) * wordsPerBitmap + (rank >>> 6)] & (1L << rank)) == 0;
+  }
+
+  // returns the first rank from fromRank on whose classroom is free in the
+  // given turn, day and cell, -1 if there is none
+  public int firstFreeRank(int turn, int day, int cell, int fromRank) {
+    int bitmap = getBitmap(turn, day, cell);
+    for (int word = Math.max(fromRank, 0) >>> 6; word < wordsPerBitmap; word++) {
+      long free = free(bitmap, word, fromRank);
+      if (free != 0) {
+        return 64 * word + Long.numberOfTrailingZeros(free);
+      }
+    }
+    return -1;
+  }
+
+  // returns the amount of free cells in classrooms from fromRank on
+  public int countFree(int fromRank) {
+    int count = 0;
+    for (int bitmap = 0; bitmap < 30; bitmap++) {
+      for (int word = 0; word < wordsPerBitmap; word++) {
+        count += Long.bitCount(free(bitmap, word, fromRank));
+      }
+    }
+    return count;
+  }
+
+  // returns the amount of pairs of free cells in the same classroom and turn and
+  // in days far enough apart, in classrooms from fromRank on
+  public int countFreePairs(int fromRank, ScheduleDataHandler handler) {
+    int count = 0;
+    for (int turn = 0; turn < 3; turn++) {
+      for (int day = 0; day < 5; day++) {
+        for (int dayPair = 0; dayPair < 5; dayPair++) {
+          if (handler.distanceBetweenDays(dayPair, day) <= 0) {
+            continue;
+          }
+          for (int cell = 0; cell < 2; cell++) {
+            for (int cellPair = 0; cellPair < 2; cellPair++) {
+              int bitmap = getBitmap(turn, day, cell);
+              int bitmapPair = getBitmap(turn, dayPair, cellPair);
+              for (int word = 0; word < wordsPerBitmap; word++) {
+                count += Long.bitCount(free(bitmap, word, fromRank) & free(bitmapPair, word, fromRank));
+              }
+            }
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  // whether there is a free cell in classrooms from fromRank on
+  public boolean hasFree(int fromRank) {
+    for (int bitmap = 0; bitmap < 30; bitmap++) {
+      for (int word = 0; word < wordsPerBitmap; word++) {
+        if (free(bitmap, word, fromRank) != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // whether there is a pair of free cells in the same classroom and turn and in
+  // days far enough apart, in classrooms from fromRank on
+  public boolean hasFreePair(int fromRank, ScheduleDataHandler handler) {
+    for (int turn = 0; turn < 3; turn++) {
+      for (int day = 0; day < 5; day++) {
+        for (int dayPair = day + 1; dayPair < 5; dayPair++) {
+          if (handler.distanceBetweenDays(dayPair, day) <= 0) {
+            continue;
+          }
+          for (int word = 0; word < wordsPerBitmap; word++) {
+            long freeDay = free(getBitmap(turn, day, 0), word, fromRank) | free(getBitmap(turn, day, 1), word, fromRank);
+            long freeDayPair = free(getBitmap(turn, dayPair, 0), word, fromRank)
+                | free(getBitmap(turn, dayPair, 1), word, fromRank);
+            if ((freeDay & freeDayPair) != 0) {
+              return true;
+            }
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  @SuppressWarnings("serial")
+  static class Attribute extends GenericSolutionAttribute<IntegerSolution, Occupancy> {
+  }
+}
@@ -1,7 +1,12 @@
 package org.uma.jmetal.util.scheduledata;
 
 import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.solution.impl.ArrayIntegerSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.solutionattribute.impl.ZobristHash;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -42,12 +47,27 @@ public class ScheduleDataHandler {
   // given a course returns the year it corresponds to.
   // please note that course 44 in default data has a special year
   private HashMap<Integer, Integer> courseMapYear;
+  // primitive view of the data above, compiled on first use
+  private volatile ScheduleInstance compiledInstance;
+  // cells written by the operators since a transaction began, with their old values
+  private final UndoLog.Attribute undoLog = new UndoLog.Attribute();
+  // occupied class cells of a solution by turn, day and cell, over the classrooms
+  private final Occupancy.Attribute occupancy = new Occupancy.Attribute();
+  // scheduled classes of a solution that can be displaced, by pair status and classroom
+  private final VictimIndex.Attribute victimIndex = new VictimIndex.Attribute();
+  // hash of the cells of a solution, kept up to date once computed
+  private final ZobristHash zobristHash = new ZobristHash();
   private static final float ATTENDANCE_FACTOR = 0.8f;
 
   public ScheduleDataHandler() {
     generateInstance();
   }
 
+  // loads the instance from the given file, see ScheduleInstanceLoader
+  public ScheduleDataHandler(Path instanceFile) {
+    ScheduleInstanceLoader.load(instanceFile, this);
+  }
+
   /*
    * GETTERS AND SETTERS OF ALL FIELDS
    */
@@ -90,6 +110,7 @@ public class ScheduleDataHandler {
 
   public void setCourseMapOrientation(HashMap<Integer, HashSet<Integer>> courseMapOrientation) {
     this.courseMapOrientation = courseMapOrientation;
+    compiledInstance = null;
   }
 
   public HashMap<Integer, ArrayList<Integer>> getCourseMapClasses() {
@@ -98,19 +119,20 @@ public class ScheduleDataHandler {
 
   public void setCourseMapClasses(HashMap<Integer, ArrayList<Integer>> courseMapClasses) {
     this.courseMapClasses = courseMapClasses;
+    compiledInstance = null;
   }
 
   public HashMap<String, Integer> getClassroomCapacity() {
     return classroomCapacity;
   }
 
-  public Integer getClassroomCapacity(int classroom) {
-    String clas = classroomNameMap.get(classroom);
-    return classroomCapacity.get(clas);
+  public int getClassroomCapacity(int classroom) {
+    return getCompiledInstance().getClassroomCapacity(classroom);
   }
 
   public void setClassroomCapacity(HashMap<String, Integer> classroomCapacity) {
     this.classroomCapacity = classroomCapacity;
+    compiledInstance = null;
   }
 
   public HashMap<Integer, String> getClassroomNameMap() {
@@ -119,6 +141,7 @@ public class ScheduleDataHandler {
 
   public void setClassroomNameMap(HashMap<Integer, String> classroomNameMap) {
     this.classroomNameMap = classroomNameMap;
+    compiledInstance = null;
   }
 
   public int getClassroomQty() {
@@ -127,6 +150,7 @@ public class ScheduleDataHandler {
 
   public void setClassroomQty(int classroomQty) {
     this.classroomsQty = classroomQty;
+    compiledInstance = null;
   }
 
   public HashMap<Integer, Integer> getClassStudents() {
@@ -143,6 +167,7 @@ public class ScheduleDataHandler {
 
   public void setOrientationStudents(HashMap<Integer, Integer> orientationStudents) {
     this.orientationStudents = orientationStudents;
+    compiledInstance = null;
   }
 
   public HashMap<Integer, Float> getRateOfYearlyDecay() {
@@ -151,6 +176,7 @@ public class ScheduleDataHandler {
 
   public void setRateOfYearlyDecay(HashMap<Integer, Float> rateOfYearlyDecay) {
     this.rateOfYearlyDecay = rateOfYearlyDecay;
+    compiledInstance = null;
   }
 
   public HashMap<Integer, Integer> getCourseMapYear() {
@@ -159,6 +185,17 @@ public class ScheduleDataHandler {
 
   public void setCourseMapYear(HashMap<Integer, Integer> courseMapYear) {
     this.courseMapYear = courseMapYear;
+    compiledInstance = null;
+  }
+
+  // returns the instance data compiled into primitive arrays
+  public ScheduleInstance getCompiledInstance() {
+    ScheduleInstance instance = compiledInstance;
+    if (instance == null) {
+      instance = ScheduleInstance.compile(this);
+      compiledInstance = instance;
+    }
+    return instance;
   }
 
   /*
@@ -188,19 +225,123 @@ public class ScheduleDataHandler {
   // given a cellIndex and a solution returns if the value in cellIndex has a pair
   public boolean hasPair(int cellIndex, IntegerSolution solution) {
     boolean thereIsAPair = !isAvailable(cellIndex + 10, solution)
-        && cellIndex != solution.getVariableValue(cellIndex + 10);
-    int locationPairIsPointing = solution.getVariableValue(solution.getVariableValue(cellIndex + 10) + 10);
+        && cellIndex != getCell(solution, cellIndex + 10);
+    int locationPairIsPointing = getCell(solution, getCell(solution, cellIndex + 10) + 10);
     boolean pairIsPointingAtMe = locationPairIsPointing == cellIndex;
     return (thereIsAPair && pairIsPointingAtMe);
   }
 
   // returns if the index has a class
   public boolean indexHasClass(int cellIndex, IntegerSolution solution) {
-    return (solution.getVariableValue(cellIndex) != AVAILABLE_INDEX);
+    return (getCell(solution, cellIndex) != AVAILABLE_INDEX);
   }
 
   public boolean isAvailable(int cellIndex, IntegerSolution solution) {
-    return solution.getVariableValue(cellIndex) == AVAILABLE_INDEX;
+    return getCell(solution, cellIndex) == AVAILABLE_INDEX;
+  }
+
+  // returns the value of a cell, without boxing it when the solution is array based
+  public int getCell(IntegerSolution solution, int cellIndex) {
+    if (solution instanceof ArrayIntegerSolution) {
+      return ((ArrayIntegerSolution) solution).getIntVariableValue(cellIndex);
+    }
+    return solution.getVariableValue(cellIndex);
+  }
+
+  // writes a value into a cell of the solution, recording it in the undo log of the
+  // solution if it is in a transaction. Operators must use this instead of
+  // setVariableValue so that the occupancy, victims and hash of the solution are
+  // kept up to date
+  public void setCell(IntegerSolution solution, int cellIndex, int value) {
+    VictimIndex victims = victimIndex.getAttribute(solution);
+    if (victims != null && victims.isTracking(solution)) {
+      victims.update(cellIndex, getCell(solution, cellIndex), value, this);
+    }
+    UndoLog log = undoLog.getAttribute(solution);
+    if (log != null && log.isLogging(solution)) {
+      int oldValue = getCell(solution, cellIndex);
+      int scheduledClassesChange = 0;
+      if (isIndexClass(cellIndex)) {
+        scheduledClassesChange = (value != AVAILABLE_INDEX ? 1 : 0) - (oldValue != AVAILABLE_INDEX ? 1 : 0);
+      }
+      log.record(cellIndex, oldValue, scheduledClassesChange);
+    }
+    zobristHash.update(solution, cellIndex, getCell(solution, cellIndex), value);
+    if (solution instanceof ArrayIntegerSolution) {
+      ((ArrayIntegerSolution) solution).setIntVariableValue(cellIndex, value);
+    } else {
+      solution.setVariableValue(cellIndex, value);
+    }
+    Occupancy cellsInUse = occupancy.getAttribute(solution);
+    if (cellsInUse != null && cellsInUse.isTracking(solution) && isIndexClass(cellIndex)) {
+      int rank = getCompiledInstance().getClassroomRank(getClassroom(cellIndex));
+      cellsInUse.update(cellIndex, rank, value != AVAILABLE_INDEX);
+    }
+  }
+
+  // returns the occupied class cells of the solution, building them on the first
+  // query. From then on the cells of the solution must be written through setCell
+  public Occupancy getOccupancy(IntegerSolution solution) {
+    Occupancy cellsInUse = occupancy.getAttribute(solution);
+    if (cellsInUse == null || !cellsInUse.isTracking(solution)) {
+      cellsInUse = new Occupancy(solution, this, getCompiledInstance());
+      occupancy.setAttribute(solution, cellsInUse);
+    }
+    return cellsInUse;
+  }
+
+  // returns the displaceable classes of the solution, building them on the first
+  // query. From then on the cells of the solution must be written through setCell
+  public VictimIndex getVictimIndex(IntegerSolution solution) {
+    VictimIndex victims = victimIndex.getAttribute(solution);
+    if (victims == null || !victims.isTracking(solution)) {
+      victims = new VictimIndex(solution, getCompiledInstance());
+      victimIndex.setAttribute(solution, victims);
+    }
+    return victims;
+  }
+
+  // returns the hash of the cells of the solution, computing it on the first
+  // query. From then on the cells of the solution must be written through setCell
+  public long getHash(IntegerSolution solution) {
+    return zobristHash.getHash(solution);
+  }
+
+  // starts logging the cells written to the solution, so that they can be
+  // reverted without keeping a copy of it
+  public void beginTransaction(IntegerSolution solution) {
+    UndoLog log = undoLog.getAttribute(solution);
+    if (log != null && log.isLogging(solution)) {
+      throw new JMetalException("The solution is already in a transaction");
+    }
+    undoLog.setAttribute(solution, new UndoLog(solution));
+  }
+
+  // keeps the cells written since the transaction began
+  public void commitTransaction(IntegerSolution solution) {
+    solution.getAttributes().remove(undoLog.getAttributeIdentifier());
+  }
+
+  // returns how many classes were added to the matrix since the transaction
+  // began, negative if classes were removed
+  public int getTransactionClassesDelta(IntegerSolution solution) {
+    UndoLog log = undoLog.getAttribute(solution);
+    if (log == null || !log.isLogging(solution)) {
+      throw new JMetalException("The solution is not in a transaction");
+    }
+    return log.getScheduledClassesDelta();
+  }
+
+  // restores the cells written since the transaction began, newest first
+  public void rollbackTransaction(IntegerSolution solution) {
+    UndoLog log = undoLog.getAttribute(solution);
+    if (log == null || !log.isLogging(solution)) {
+      throw new JMetalException("The solution is not in a transaction");
+    }
+    solution.getAttributes().remove(undoLog.getAttributeIdentifier());
+    for (int entry = log.size() - 1; entry >= 0; entry--) {
+      setCell(solution, log.getCell(entry), log.getValue(entry));
+    }
   }
 
   // given an index of the matrix returns the day
@@ -233,6 +374,11 @@ public class ScheduleDataHandler {
 
   // given a class with its type, returns the amount of students that attend it
   public int getAttendingStudents(Integer classWithType) {
+    return getCompiledInstance().getAttendingStudents(classWithType);
+  }
+
+  // computes the amount of students that attend a class from the instance data
+  int computeAttendingStudents(int classWithType) {
     int type = getClassType(classWithType);
     int course = getClassCourse(classWithType);
     int amountOfStudents = 0;
@@ -251,37 +397,16 @@ public class ScheduleDataHandler {
   // class would fit
   public HashMap<Integer, ArrayList<Integer>> getFeasibleClassroomsNoPair(int classWithType, IntegerSolution solution) {
     HashMap<Integer, ArrayList<Integer>> classroomSet = new HashMap<Integer, ArrayList<Integer>>();
-    HashSet<ArrayList<Integer>> evaluatedOptions = new HashSet<ArrayList<Integer>>();
-    // we must first get the capacity needed
-    int capacityNeeded = getAttendingStudents(classWithType);
-    // we should iterate through all classrooms and check if said classroom is empty
-    // if it is then it is a feasible class
-    for (Integer classroom : classroomNameMap.keySet()) {
-      int classroomCapacityNeeded = classroomCapacity.get(classroomNameMap.get(classroom));
-      if (capacityNeeded <= classroomCapacityNeeded) {
-        for (int turn = 0; turn < 3; turn++) {
-          for (int day = 0; day < 5; day++) {
-            int cellIndex = 60 * classroom + 20 * turn + 2 * day;
-            for (int i = 0; i < 2; i++) {
-              cellIndex += i;
-              // if the cell is un use, we must find another one
-              if (!isAvailable(cellIndex, solution)) {
-                continue;
-              }
-              ArrayList<Integer> classroomData = new ArrayList<Integer>();
-              classroomData.add(classroom);
-              classroomData.add(turn);
-              classroomData.add(day);
-              classroomData.add(i);
-              if (!evaluatedOptions.contains(classroomData)) {
-                evaluatedOptions.add(classroomData);
-                classroomSet.put(classroomSet.size(), classroomData);
-              }
-            }
-          }
-        }
-      }
-    }
+    forEachFeasibleSlot(classWithType, false, solution, slot -> {
+      int cellIndex = getSlotCell(slot);
+      ArrayList<Integer> classroomData = new ArrayList<Integer>();
+      classroomData.add(getClassroom(cellIndex));
+      classroomData.add(getTurn(cellIndex));
+      classroomData.add(getDay(cellIndex));
+      classroomData.add(cellIndex % 2);
+      classroomSet.put(classroomSet.size(), classroomData);
+      return true;
+    });
     return classroomSet;
   }
 
@@ -290,43 +415,78 @@ public class ScheduleDataHandler {
   public HashMap<Integer, ArrayList<Integer>> getFeasibleClassroomsWithPair(int classWithType,
       IntegerSolution solution) {
     HashMap<Integer, ArrayList<Integer>> classroomSet = new HashMap<Integer, ArrayList<Integer>>();
-    HashSet<ArrayList<Integer>> evaluatedOptions = new HashSet<ArrayList<Integer>>();
+    forEachFeasibleSlot(classWithType, true, solution, slot -> {
+      int cellIndex = getSlotCell(slot);
+      int cellPairIndex = getSlotPairCell(slot);
+      ArrayList<Integer> classroomData = new ArrayList<Integer>();
+      classroomData.add(getClassroom(cellIndex));
+      classroomData.add(getTurn(cellIndex));
+      classroomData.add(getDay(cellIndex));
+      classroomData.add(cellIndex % 2);
+      classroomData.add(getDay(cellPairIndex));
+      classroomData.add(cellPairIndex % 2);
+      classroomSet.put(classroomSet.size(), classroomData);
+      return true;
+    });
+    return classroomSet;
+  }
+
+  // FEASIBLE SLOT ENUMERATION
+
+  // packs the cell of a class and the cell of its pair into a slot. Classes
+  // without a pair are their own pair, as in the matrix
+  public static int packSlot(int cellIndex, int pairIndex) {
+    return pairIndex << 16 | cellIndex;
+  }
+
+  public static int getSlotCell(int slot) {
+    return slot & 0xFFFF;
+  }
+
+  public static int getSlotPairCell(int slot) {
+    return slot >>> 16;
+  }
+
+  // visits the slots of solution where the class would fit, with a pair in the
+  // same classroom and turn if withPair is set, until the visitor returns false.
+  // Slots are visited by classroom, turn, day and cell, and then by the day and
+  // cell of the pair. Returns the amount of slots visited
+  public int forEachFeasibleSlot(int classWithType, boolean withPair, IntegerSolution solution,
+      SlotVisitor visitor) {
+    int visited = 0;
     // we must first get the capacity needed
     int capacityNeeded = getAttendingStudents(classWithType);
-    // we should iterate through all classrooms and check if said classroom is empty
-    // if it is then it is a feasible class
-    for (Integer classroom : classroomNameMap.keySet()) {
-      int classroomCapacityNeeded = classroomCapacity.get(classroomNameMap.get(classroom));
-      if (capacityNeeded <= classroomCapacityNeeded) {
-        // we have a classroom, we must find a slot in solution
-        for (int turn = 0; turn < 3; turn++) {
-          for (int day = 0; day < 5; day++) {
-            int cellIndex = 60 * classroom + 20 * turn + 2 * day;
-            for (int i = 0; i < 2; i++) {
-              cellIndex += i;
-              // if the cell is un use, we must find another one
-              if (!isAvailable(cellIndex, solution)) {
+    ScheduleInstance instance = getCompiledInstance();
+    for (int classroom = 0; classroom < classroomsQty; classroom++) {
+      if (capacityNeeded > instance.getClassroomCapacity(classroom)) {
+        continue;
+      }
+      for (int turn = 0; turn < 3; turn++) {
+        for (int day = 0; day < 5; day++) {
+          for (int i = 0; i < 2; i++) {
+            int cellIndex = 60 * classroom + 20 * turn + 2 * day + i;
+            // if the cell is un use, we must find another one
+            if (!isAvailable(cellIndex, solution)) {
+              continue;
+            }
+            if (!withPair) {
+              visited++;
+              if (!visitor.visit(packSlot(cellIndex, cellIndex))) {
+                return visited;
+              }
+              continue;
+            }
+            // now we must find a different day for the pair
+            for (int dayPair = 0; dayPair < 5; dayPair++) {
+              if (distanceBetweenDays(dayPair, day) <= 0) {
                 continue;
               }
-              // now we must find a different day for the pair
-              HashSet<Integer> possibleDays = getCandidateDaysForPair(cellIndex, solution);
-              for (Integer dayPair : possibleDays) {
-                int cellPairIndex = 60 * classroom + 20 * turn + 2 * dayPair;
-                for (int j = 0; j < 2; j++) {
-                  cellPairIndex += j;
-                  if (!isAvailable(cellPairIndex, solution)) {
-                    continue;
-                  }
-                  ArrayList<Integer> classroomData = new ArrayList<Integer>();
-                  classroomData.add(classroom);
-                  classroomData.add(turn);
-                  classroomData.add(day);
-                  classroomData.add(i);
-                  classroomData.add(dayPair);
-                  classroomData.add(j);
-                  if (!evaluatedOptions.contains(classroomData)) {
-                    evaluatedOptions.add(classroomData);
-                    classroomSet.put(classroomSet.size(), classroomData);
+              for (int j = 0; j < 2; j++) {
+                int cellPairIndex = 60 * classroom + 20 * turn + 2 * dayPair + j;
+                if (isAvailable(cellPairIndex, solution)) {
+                  visited++;
+                  if (!visitor.visit(packSlot(cellIndex, cellPairIndex))) {
+                    return visited;
                   }
                 }
               }
@@ -335,156 +495,183 @@ public class ScheduleDataHandler {
         }
       }
     }
-    return classroomSet;
+    return visited;
   }
 
-  private HashSet<Integer> getVictims(boolean hasPair, int classWithType, IntegerSolution originalSolution) {
-    HashSet<Integer> vicitimSet = new HashSet<Integer>();
-    int capacityNeeded = getAttendingStudents(classWithType);
-    for (int possibleVictim = 0; possibleVictim < getCellsInMatrix(); possibleVictim++) {
-      int victimClassWithType = originalSolution.getVariableValue(possibleVictim);
-      if (!isIndexClass(possibleVictim) || isAvailable(possibleVictim, originalSolution)) {
-        continue;
+  // counts the slots of forEachFeasibleSlot from the occupancy of the solution
+  public int countFeasibleSlots(int classWithType, boolean withPair, IntegerSolution solution) {
+    int firstRank = getCompiledInstance().getFirstFeasibleRank(getAttendingStudents(classWithType));
+    Occupancy cellsInUse = getOccupancy(solution);
+    return withPair ? cellsInUse.countFreePairs(firstRank, this) : cellsInUse.countFree(firstRank);
+  }
+
+  public boolean hasFeasibleSlot(int classWithType, boolean withPair, IntegerSolution solution) {
+    int firstRank = getCompiledInstance().getFirstFeasibleRank(getAttendingStudents(classWithType));
+    Occupancy cellsInUse = getOccupancy(solution);
+    return withPair ? cellsInUse.hasFreePair(firstRank, this) : cellsInUse.hasFree(firstRank);
+  }
+
+  // returns the feasible slot in the given position of the enumeration, -1 if
+  // there are not so many slots
+  public int getFeasibleSlot(int classWithType, boolean withPair, IntegerSolution solution, int position) {
+    int[] selected = {-1, position};
+    forEachFeasibleSlot(classWithType, withPair, solution, slot -> {
+      if (selected[1]-- == 0) {
+        selected[0] = slot;
+        return false;
       }
-      int classroomCapacity = getClassroomCapacity(getClassroom(possibleVictim));
-      if (capacityNeeded <= classroomCapacity) {
-        boolean possibleVictimHasPair = hasPair(possibleVictim, originalSolution);
-        if (possibleVictimHasPair != hasPair) {
-          continue;
-        }
-        HashMap<Integer, ArrayList<Integer>> newSlotsForVictim = (hasPair
-            ? getFeasibleClassroomsWithPair(victimClassWithType, originalSolution)
-            : getFeasibleClassroomsNoPair(victimClassWithType, originalSolution));
-        if (newSlotsForVictim.isEmpty()) {
-          continue;
-        }
-        vicitimSet.add(possibleVictim);
+      return true;
+    });
+    return selected[0];
+  }
+
+  // draws a feasible slot uniformly in a single pass over the enumeration
+  // (reservoir sampling), -1 if there are none
+  public int sampleFeasibleSlot(int classWithType, boolean withPair, IntegerSolution solution,
+      PseudoRandomGenerator randomGenerator) {
+    int[] sample = {-1, 0};
+    forEachFeasibleSlot(classWithType, withPair, solution, slot -> {
+      sample[1]++;
+      if (randomGenerator.nextInt(0, sample[1] - 1) == 0) {
+        sample[0] = slot;
       }
-    }
-    if (vicitimSet.isEmpty()) {
+      return true;
+    });
+    return sample[0];
+  }
+
+  // returns the class to displace to make room for the given one: among the
+  // classes with the same pair status in a classroom that can hold it, the one
+  // with the lowest attendance, if it can be moved somewhere else. Ties go to
+  // the lowest cell. Returns -1 if there is none
+  public int findVictim(boolean hasPair, int classWithType, IntegerSolution solution) {
+    ScheduleInstance instance = getCompiledInstance();
+    int firstRank = instance.getFirstFeasibleRank(getAttendingStudents(classWithType));
+    int victim = getVictimIndex(solution).findLowestAttendance(hasPair, firstRank, this, instance);
+    // classes attended by more students have fewer places to go, so if the
+    // lowest attendance victim cannot be moved no other one can
+    if (victim == -1 || !hasFeasibleSlot(getCell(solution, victim), hasPair, solution)) {
       // were in deeper trouble
-      return null;
+      return -1;
     }
-    return vicitimSet;
+    return victim;
   }
 
+  // moves the victim in place. If it returns null the solution was not modified
   private IntegerSolution moveVictimToFeasibleClassroom(boolean hasPair, int victimIndex,
-      IntegerSolution originalSolution) {
-    IntegerSolution solution = (IntegerSolution) originalSolution.copy();
-    int victimClassWithType = originalSolution.getVariableValue(victimIndex);
+      IntegerSolution solution) {
+    int victimClassWithType = getCell(solution, victimIndex);
     if (hasPair) {
-      HashMap<Integer, ArrayList<Integer>> newSlotsForVictim = getFeasibleClassroomsWithPair(victimClassWithType,
-          originalSolution);
-      ArrayList<Integer> option = null;
       int vicitmTurn = getTurn(victimIndex);
       int victimDay = getDay(victimIndex);
-      // search for option with same turn and day
-      for (ArrayList<Integer> possibleOption : newSlotsForVictim.values()) {
-        if (possibleOption.get(1) == vicitmTurn && possibleOption.get(2) == victimDay) {
-          option = possibleOption;
-          break;
+      // search for a slot with same turn and day, or else with just the same turn
+      int[] option = {-1, -1};
+      forEachFeasibleSlot(victimClassWithType, true, solution, slot -> {
+        int cell = getSlotCell(slot);
+        if (getTurn(cell) == vicitmTurn && getDay(cell) == victimDay) {
+          option[0] = slot;
+          return false;
         }
-      }
-      // if we didnt find an option lets find one with just the same turn
-      if (option == null) {
-        for (ArrayList<Integer> possibleOption : newSlotsForVictim.values()) {
-          if (possibleOption.get(1) == vicitmTurn) {
-            option = possibleOption;
-            break;
-          }
+        if (getTurn(cell) == vicitmTurn && option[1] == -1) {
+          option[1] = slot;
         }
-      }
+        return true;
+      });
+      int slot = (option[0] != -1 ? option[0] : option[1]);
       // if nothing was found, we're done for
-      if (option == null) {
+      if (slot == -1) {
         return null;
       }
-      int newPosition = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(2) + option.get(3);
-      int newPositionPair = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(4) + option.get(5);
-      int victimValue = solution.getVariableValue(victimIndex);
-      int victimPair = solution.getVariableValue(victimIndex + 10);
-      solution.setVariableValue(newPosition, victimValue);
-      solution.setVariableValue(newPosition + 10, newPositionPair);
-      solution.setVariableValue(newPositionPair, victimValue);
-      solution.setVariableValue(newPositionPair + 10, newPosition);
-      solution.setVariableValue(victimIndex, AVAILABLE_INDEX);
-      solution.setVariableValue(victimIndex + 10, AVAILABLE_INDEX);
-      solution.setVariableValue(victimPair, AVAILABLE_INDEX);
-      solution.setVariableValue(victimPair + 10, AVAILABLE_INDEX);
+      int newPosition = getSlotCell(slot);
+      int newPositionPair = getSlotPairCell(slot);
+      int victimValue = getCell(solution, victimIndex);
+      int victimPair = getCell(solution, victimIndex + 10);
+      setCell(solution, newPosition, victimValue);
+      setCell(solution, newPosition + 10, newPositionPair);
+      setCell(solution, newPositionPair, victimValue);
+      setCell(solution, newPositionPair + 10, newPosition);
+      setCell(solution, victimIndex, AVAILABLE_INDEX);
+      setCell(solution, victimIndex + 10, AVAILABLE_INDEX);
+      setCell(solution, victimPair, AVAILABLE_INDEX);
+      setCell(solution, victimPair + 10, AVAILABLE_INDEX);
     } else {
-      HashMap<Integer, ArrayList<Integer>> newSlotsForVictim = getFeasibleClassroomsNoPair(victimClassWithType,
-          originalSolution);
-      ArrayList<Integer> option = newSlotsForVictim.get(0);
-      int newPosition = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(2) + option.get(3);
-      int victimValue = solution.getVariableValue(victimIndex);
-      solution.setVariableValue(newPosition, victimValue);
-      solution.setVariableValue(newPosition + 10, newPosition);
-      solution.setVariableValue(victimIndex, AVAILABLE_INDEX);
-      solution.setVariableValue(victimIndex + 10, AVAILABLE_INDEX);
+      int newPosition = getSlotCell(getFeasibleSlot(victimClassWithType, false, solution, 0));
+      int victimValue = getCell(solution, victimIndex);
+      setCell(solution, newPosition, victimValue);
+      setCell(solution, newPosition + 10, newPosition);
+      setCell(solution, victimIndex, AVAILABLE_INDEX);
+      setCell(solution, victimIndex + 10, AVAILABLE_INDEX);
     }
     return solution;
   }
 
   // CONFLICT RESOLUTION FUNCTIONS
 
-  // inserts a pair into the solution. Only chooses victims that are pairs
-  // themselves
-  public IntegerSolution insertPairIntoSolution(int classWithType, IntegerSolution originalSolution) {
-    IntegerSolution solution = (IntegerSolution) originalSolution.copy();
-    HashSet<Integer> victimSet = getVictims(true, classWithType, originalSolution);
-    if (victimSet == null) {
+  // inserts a pair into the solution, in place. Only chooses victims that are
+  // pairs themselves. If it returns null the solution was not modified
+  public IntegerSolution insertPairIntoSolution(int classWithType, IntegerSolution solution) {
+    int victim = findVictim(true, classWithType, solution);
+    if (victim == -1) {
       // gg wp
       return null;
     }
-    int victim = chooseVictim(victimSet, originalSolution);
-    int victimPair = originalSolution.getVariableValue(victim + 10);
-    solution = moveVictimToFeasibleClassroom(true, victim, originalSolution);
-    if (solution == null) {
-      return solution;
+    int victimPair = getCell(solution, victim + 10);
+    if (moveVictimToFeasibleClassroom(true, victim, solution) == null) {
+      return null;
     }
-    solution.setVariableValue(victim, classWithType);
-    solution.setVariableValue(victimPair, classWithType);
-    solution.setVariableValue(victim + 10, victimPair);
-    solution.setVariableValue(victimPair + 10, victim);
+    setCell(solution, victim, classWithType);
+    setCell(solution, victimPair, classWithType);
+    setCell(solution, victim + 10, victimPair);
+    setCell(solution, victimPair + 10, victim);
     return solution;
   }
 
-  // inserts a class into the solution. Only chooses victims that dont have a pair
-  public IntegerSolution insertClassIntoSolution(int classWithType, IntegerSolution originalSolution) {
-    IntegerSolution solution = (IntegerSolution) originalSolution.copy();
-    HashSet<Integer> victimSet = getVictims(false, classWithType, originalSolution);
-    if (victimSet == null) {
+  // inserts a class into the solution, in place. Only chooses victims that dont
+  // have a pair. If it returns null the solution was not modified
+  public IntegerSolution insertClassIntoSolution(int classWithType, IntegerSolution solution) {
+    int victim = findVictim(false, classWithType, solution);
+    if (victim == -1) {
       // gg wp
       return null;
     }
-    int victim = chooseVictim(victimSet, solution);
-    solution = moveVictimToFeasibleClassroom(false, victim, originalSolution);
-    solution.setVariableValue(victim, classWithType);
-    solution.setVariableValue(victim + 10, victim);
+    moveVictimToFeasibleClassroom(false, victim, solution);
+    setCell(solution, victim, classWithType);
+    setCell(solution, victim + 10, victim);
     return solution;
   }
 
   public int findFeasibleClassroom(int cellIndex, IntegerSolution solution, boolean canStay) {
-    int attendingStudents = getAttendingStudents(solution.getVariableValue(cellIndex));
+    int attendingStudents = getAttendingStudents(getCell(solution, cellIndex));
     return findFeasibleClassroom(attendingStudents, cellIndex, solution, canStay);
   }
 
   public int findFeasibleClassroom(int cellIndex, IntegerSolution solution) {
-    int attendingStudents = getAttendingStudents(solution.getVariableValue(cellIndex));
+    int attendingStudents = getAttendingStudents(getCell(solution, cellIndex));
     return findFeasibleClassroom(attendingStudents, cellIndex, solution, true);
   }
 
   public int findFeasibleClassroom(int attendingStudents, int cellIndex, IntegerSolution solution, boolean canStay) {
-    int res;
-    int firstClassroomIndex = firstFeasibleClassroom(attendingStudents, 0, classroomsQty - 1);
-    for (int classroomIndex = firstClassroomIndex; classroomIndex < classroomsQty; classroomIndex++) {
+    ScheduleInstance instance = getCompiledInstance();
+    Occupancy cellsInUse = getOccupancy(solution);
+    int turn = getTurn(cellIndex);
+    int day = getDay(cellIndex);
+    // the first free cell by classroom capacity, and then by cell
+    int rank = firstFeasibleClassroom(attendingStudents, 0, classroomsQty - 1);
+    while (true) {
+      int rankCell0 = cellsInUse.firstFreeRank(turn, day, 0, rank);
+      int rankCell1 = cellsInUse.firstFreeRank(turn, day, 1, rank);
+      if (rankCell0 == -1 && rankCell1 == -1) {
+        return -1;
+      }
+      rank = (rankCell0 == -1 ? rankCell1 : (rankCell1 == -1 ? rankCell0 : Math.min(rankCell0, rankCell1)));
       for (int cell = 0; cell < 2; cell++) {
-        res = 60 * sortedClassrooms.get(classroomIndex)[0] + 20 * getTurn(cellIndex) + 2 * getDay(cellIndex) + cell;
-        if (isAvailable(res, solution) && (canStay || cellIndex != res)) {
+        int res = 60 * instance.getClassroomByRank(rank) + 20 * turn + 2 * day + cell;
+        if (cellsInUse.isFree(turn, day, cell, rank) && (canStay || cellIndex != res)) {
           return res;
         }
       }
+      rank++;
     }
-    return -1;
   }
 
   public int findFeasibleDay(int cellIndex, IntegerSolution solution) {
@@ -506,26 +693,37 @@ public class ScheduleDataHandler {
   }
 
   public int findFeasibleClassroomAndDay(int cellIndex, IntegerSolution solution, boolean canStay) {
-    int attendingStudents = getAttendingStudents(solution.getVariableValue(cellIndex));
+    int attendingStudents = getAttendingStudents(getCell(solution, cellIndex));
     return findFeasibleClassroomAndDay(attendingStudents, cellIndex, solution, canStay);
   }
 
   public int findFeasibleClassroomAndDay(int cellIndex, IntegerSolution solution) {
-    int attendingStudents = getAttendingStudents(solution.getVariableValue(cellIndex));
+    int attendingStudents = getAttendingStudents(getCell(solution, cellIndex));
     return findFeasibleClassroomAndDay(attendingStudents, cellIndex, solution, true);
   }
 
   public int findFeasibleClassroomAndDay(int attendingStudents, int cellIndex, IntegerSolution solution,
       boolean canStay) {
-    int res;
-    int firstClassroomIndex = firstFeasibleClassroom(attendingStudents, 0, classroomsQty - 1);
-    for (int classroomIndex = firstClassroomIndex; classroomIndex < classroomsQty; classroomIndex++) {
-      for (int day = 0; day < 5; day++) {
-        for (int cell = 0; cell < 2; cell++) {
-          res = 60 * sortedClassrooms.get(classroomIndex)[0] + 20 * getTurn(cellIndex) + 2 * day + cell;
-          if (isAvailable(res, solution)) {
-            return res;
-          }
+    Occupancy cellsInUse = getOccupancy(solution);
+    int turn = getTurn(cellIndex);
+    // the first free cell by classroom capacity, and then by day and cell
+    int firstRank = firstFeasibleClassroom(attendingStudents, 0, classroomsQty - 1);
+    int rank = -1;
+    for (int day = 0; day < 5; day++) {
+      for (int cell = 0; cell < 2; cell++) {
+        int freeRank = cellsInUse.firstFreeRank(turn, day, cell, firstRank);
+        if (freeRank != -1 && (rank == -1 || freeRank < rank)) {
+          rank = freeRank;
+        }
+      }
+    }
+    if (rank == -1) {
+      return -1;
+    }
+    for (int day = 0; day < 5; day++) {
+      for (int cell = 0; cell < 2; cell++) {
+        if (cellsInUse.isFree(turn, day, cell, rank)) {
+          return 60 * getCompiledInstance().getClassroomByRank(rank) + 20 * turn + 2 * day + cell;
         }
       }
     }
@@ -533,8 +731,7 @@ public class ScheduleDataHandler {
   }
 
   // AUXILIARY FUNCTIONS FOR FINDING A FEASIBLE CLASSROOM
-  public HashSet<Integer> getVictimSetTurnDay(int cellIndex, int attendingStudents, IntegerSolution originalSolution) {
-    IntegerSolution solution = (IntegerSolution) originalSolution.copy();
+  public HashSet<Integer> getVictimSetTurnDay(int cellIndex, int attendingStudents, IntegerSolution solution) {
     int turn = getTurn(cellIndex);
     int day = getDay(cellIndex);
     int classroom = getClassroom(cellIndex);
@@ -545,7 +742,7 @@ public class ScheduleDataHandler {
       // check if its not the same cell or if its empty
       // note that all empty indexes were discarded in parent function
       if (getClassroom(cellCandidate) == classroom || isAvailable(cellCandidate, solution)
-          || cellCandidate == solution.getVariableValue(cellIndex + 10)) {
+          || cellCandidate == getCell(solution, cellIndex + 10)) {
         // we should continue
         skipDay = !skipDay;
         continue;
@@ -568,7 +765,7 @@ public class ScheduleDataHandler {
     int victim = AVAILABLE_INDEX;
     int victimAttendance = Integer.MAX_VALUE;
     for (Integer possibleVictim : victimSet) {
-      int victimClassWithType = solution.getVariableValue(possibleVictim);
+      int victimClassWithType = getCell(solution, possibleVictim);
       int attendance = getAttendingStudents(victimClassWithType);
       if (attendance < victimAttendance) {
         victim = possibleVictim;
@@ -578,38 +775,16 @@ public class ScheduleDataHandler {
     return victim;
   }
 
-  // function that swaps two classes if said swap is feasible
-  // assumes victim is good to go
-  public IntegerSolution swapFeasibleClassroom(int victim, int cellIndex, IntegerSolution originalSolution) {
-    IntegerSolution solution = (IntegerSolution) originalSolution.copy();
-    int victimClassWithType = solution.getVariableValue(victim);
+  // function that swaps two classes in place if said swap is feasible
+  // assumes victim is good to go. If it returns null the solution was not modified
+  public IntegerSolution swapFeasibleClassroom(int victim, int cellIndex, IntegerSolution solution) {
+    int victimClassWithType = getCell(solution, victim);
     int victimAttendance = getAttendingStudents(victimClassWithType);
     // we now have a victim, we can swap the victim with the origin
     // first we check if the swap is possible
     int originCapacity = getClassroomCapacity(getClassroom(cellIndex));
     if (victimAttendance <= originCapacity) {
-      // initialize variables
-      int victimCopy = solution.getVariableValue(victim);
-      int vicitmPairCopy = solution.getVariableValue(victim + 10);
-      int originalValue = solution.getVariableValue(cellIndex);
-      int originalPairValue = solution.getVariableValue(cellIndex + 10);
-      // perform the swap
-      solution.setVariableValue(victim, originalValue);
-      solution.setVariableValue(cellIndex, victimCopy);
-      if (hasPair(cellIndex, originalSolution)) {
-        solution.setVariableValue(victim + 10, originalPairValue);
-        // pair now should reference new value
-        solution.setVariableValue(originalPairValue + 10, victim);
-      } else {
-        solution.setVariableValue(victim + 10, victim);
-      }
-      if (hasPair(victim, originalSolution)) {
-        solution.setVariableValue(cellIndex + 10, vicitmPairCopy);
-        // pair now should reference new value
-        solution.setVariableValue(vicitmPairCopy + 10, cellIndex);
-      } else {
-        solution.setVariableValue(cellIndex + 10, cellIndex);
-      }
+      unsafeSwap(cellIndex, victim, solution);
       return solution;
     } else {
       // no eligible victims were found
@@ -620,26 +795,26 @@ public class ScheduleDataHandler {
   public void unsafeSwap(int cellIndex, int victim, IntegerSolution solution) {
     boolean cellHadPair = hasPair(cellIndex, solution);
     boolean victimHadPair = hasPair(victim, solution);
-    int victimCopy = solution.getVariableValue(victim);
-    int vicitmPairCopy = solution.getVariableValue(victim + 10);
-    int originalValue = solution.getVariableValue(cellIndex);
-    int originalPairValue = solution.getVariableValue(cellIndex + 10);
+    int victimCopy = getCell(solution, victim);
+    int vicitmPairCopy = getCell(solution, victim + 10);
+    int originalValue = getCell(solution, cellIndex);
+    int originalPairValue = getCell(solution, cellIndex + 10);
     // perform the swap
-    solution.setVariableValue(victim, originalValue);
-    solution.setVariableValue(cellIndex, victimCopy);
+    setCell(solution, victim, originalValue);
+    setCell(solution, cellIndex, victimCopy);
     if (cellHadPair) {
-      solution.setVariableValue(victim + 10, originalPairValue);
+      setCell(solution, victim + 10, originalPairValue);
       // pair now should reference new value
-      solution.setVariableValue(originalPairValue + 10, victim);
+      setCell(solution, originalPairValue + 10, victim);
     } else {
-      solution.setVariableValue(victim + 10, victim);
+      setCell(solution, victim + 10, victim);
     }
     if (victimHadPair) {
-      solution.setVariableValue(cellIndex + 10, vicitmPairCopy);
+      setCell(solution, cellIndex + 10, vicitmPairCopy);
       // pair now should reference new value
-      solution.setVariableValue(vicitmPairCopy + 10, cellIndex);
+      setCell(solution, vicitmPairCopy + 10, cellIndex);
     } else {
-      solution.setVariableValue(cellIndex + 10, cellIndex);
+      setCell(solution, cellIndex + 10, cellIndex);
     }
   }
 
@@ -716,114 +891,14 @@ public class ScheduleDataHandler {
     }
   }
 
-  // default instance
-  // creates an instance problem
+  // loads the default instance
   public void generateInstance() {
-    disparityFactor = 80;
-    consecutivePenaltyFactor = 500;
-
-    amountCourses = 63;
-    classroomCapacity = new HashMap<String, Integer>();
-    classroomCapacity.put("31", 50);
-    classroomCapacity.put("101", 55);
-    classroomCapacity.put("102", 55);
-    classroomCapacity.put("115", 42);
-    classroomCapacity.put("116", 25);
-    classroomCapacity.put("301", 130);
-    classroomCapacity.put("303", 110);
-    classroomCapacity.put("305", 60);
-    classroomCapacity.put("307", 350);
-    classroomCapacity.put("309", 32);
-    classroomCapacity.put("310", 32);
-    classroomCapacity.put("311", 60);
-    classroomCapacity.put("501", 130);
-    classroomCapacity.put("601", 110);
-    classroomCapacity.put("ACTOS", 300);
-    classroomCapacity.put("502", 50);
-    classroomCapacity.put("703", 45);
-    classroomCapacity.put("705", 40);
-    classroomCapacity.put("720", 40);
-    classroomCapacity.put("722", 50);
-    classroomCapacity.put("725", 40);
-    classroomCapacity.put("727", 50);
-    classroomCapacity.put("A01", 300);
-    classroomCapacity.put("A11", 100);
-    classroomCapacity.put("A12", 220);
-    classroomCapacity.put("A21", 140);
-    classroomCapacity.put("A22", 220);
-    classroomCapacity.put("B01", 380);
-    classroomCapacity.put("B11", 90);
-    classroomCapacity.put("B12", 250);
-    classroomCapacity.put("B21", 70);
-    classroomCapacity.put("B22", 70);
-    classroomCapacity.put("C01", 200);
-    classroomCapacity.put("C11", 100);
-    classroomCapacity.put("C12", 220);
-    classroomCapacity.put("C21", 100);
-    classroomCapacity.put("C22", 220);
-    classroomCapacity.put("UDELAR A", 21);
-    classroomCapacity.put("UDELAR B", 21);
-    classroomCapacity.put("UDELAR C", 21);
-    classroomCapacity.put("UDELAR D", 21);
-    classroomCapacity.put("BIBLIOTECA", 10);
-    classroomCapacity.put("312", 42);
-    classroomCapacity.put("314", 44);
-    classroomCapacity.put("315", 30);
-    classroomCapacity.put("401", 45);
-    classroomCapacity.put("402", 36);
-    classroomCapacity.put("SW", 16);
-
-    classroomNameMap = new HashMap<Integer, String>();
-    classroomNameMap = new HashMap<Integer, String>();
-    classroomNameMap.put(0, "31");
-    classroomNameMap.put(1, "101");
-    classroomNameMap.put(2, "102");
-    classroomNameMap.put(3, "115");
-    classroomNameMap.put(4, "116");
-    classroomNameMap.put(5, "301");
-    classroomNameMap.put(6, "303");
-    classroomNameMap.put(7, "305");
-    classroomNameMap.put(8, "307");
-    classroomNameMap.put(9, "309");
-    classroomNameMap.put(10, "310");
-    classroomNameMap.put(11, "311");
-    classroomNameMap.put(12, "501");
-    classroomNameMap.put(13, "601");
-    classroomNameMap.put(14, "ACTOS");
-    classroomNameMap.put(15, "502");
-    classroomNameMap.put(16, "703");
-    classroomNameMap.put(17, "705");
-    classroomNameMap.put(18, "720");
-    classroomNameMap.put(19, "722");
-    classroomNameMap.put(20, "725");
-    classroomNameMap.put(21, "727");
-    classroomNameMap.put(22, "A01");
-    classroomNameMap.put(23, "A11");
-    classroomNameMap.put(24, "A12");
-    classroomNameMap.put(25, "A21");
-    classroomNameMap.put(26, "A22");
-    classroomNameMap.put(27, "B01");
-    classroomNameMap.put(28, "B11");
-    classroomNameMap.put(29, "B12");
-    classroomNameMap.put(30, "B21");
-    classroomNameMap.put(31, "B22");
-    classroomNameMap.put(32, "C01");
-    classroomNameMap.put(33, "C11");
-    classroomNameMap.put(34, "C12");
-    classroomNameMap.put(35, "C21");
-    classroomNameMap.put(36, "C22");
-    classroomNameMap.put(37, "UDELAR A");
-    classroomNameMap.put(38, "UDELAR B");
-    classroomNameMap.put(39, "UDELAR C");
-    classroomNameMap.put(40, "UDELAR D");
-    classroomNameMap.put(41, "BIBLIOTECA");
-    classroomNameMap.put(42, "312");
-    classroomNameMap.put(43, "314");
-    classroomNameMap.put(44, "315");
-    classroomNameMap.put(45, "401");
-    classroomNameMap.put(46, "402");
-    classroomNameMap.put(47, "SW");
+    ScheduleInstanceLoader.loadDefault(this);
+  }
 
+  // computes the data derived from the instance once it has been loaded
+  void indexInstance() {
+    compiledInstance = null;
     classroomsQty = classroomNameMap.size();
 
     sortedClassrooms = new ArrayList<int[]>();
@@ -834,555 +909,8 @@ public class ScheduleDataHandler {
 
     bubbleSortClassrooms(sortedClassrooms);
 
-    courseMapOrientation = new HashMap<Integer, HashSet<Integer>>();
-    HashSet<Integer> orientationSet = new HashSet<>();
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(4);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    orientationSet.add(11);
-    courseMapOrientation.put(0, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(4);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    orientationSet.add(11);
-    courseMapOrientation.put(1, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(4);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    orientationSet.add(11);
-    orientationSet.add(12);
-    courseMapOrientation.put(2, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(10);
-    courseMapOrientation.put(3, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    orientationSet.add(9);
-    courseMapOrientation.put(4, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(3);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    orientationSet.add(11);
-    courseMapOrientation.put(5, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(4);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    courseMapOrientation.put(6, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(3);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(9);
-    orientationSet.add(10);
-    orientationSet.add(11);
-    courseMapOrientation.put(7, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    courseMapOrientation.put(8, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(4);
-    courseMapOrientation.put(9, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(10);
-    courseMapOrientation.put(10, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(3);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(11);
-    courseMapOrientation.put(11, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(11);
-    courseMapOrientation.put(12, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    courseMapOrientation.put(13, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    courseMapOrientation.put(14, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    orientationSet.add(9);
-    courseMapOrientation.put(15, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(2);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(12);
-    courseMapOrientation.put(16, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    courseMapOrientation.put(17, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    courseMapOrientation.put(18, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    courseMapOrientation.put(19, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    courseMapOrientation.put(20, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    courseMapOrientation.put(21, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    courseMapOrientation.put(22, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    courseMapOrientation.put(23, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(1);
-    orientationSet.add(2);
-    orientationSet.add(4);
-    courseMapOrientation.put(24, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(2);
-    courseMapOrientation.put(25, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(2);
-    orientationSet.add(4);
-    courseMapOrientation.put(26, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(2);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(12);
-    courseMapOrientation.put(27, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    orientationSet.add(9);
-    courseMapOrientation.put(28, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    orientationSet.add(9);
-    courseMapOrientation.put(29, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    courseMapOrientation.put(30, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    courseMapOrientation.put(31, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(3);
-    orientationSet.add(9);
-    courseMapOrientation.put(32, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    courseMapOrientation.put(33, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    courseMapOrientation.put(34, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(4);
-    courseMapOrientation.put(35, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(5);
-    orientationSet.add(6);
-    courseMapOrientation.put(36, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(6);
-    courseMapOrientation.put(37, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(6);
-    courseMapOrientation.put(38, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(7);
-    orientationSet.add(8);
-    orientationSet.add(11);
-    courseMapOrientation.put(39, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(7);
-    orientationSet.add(8);
-    orientationSet.add(11);
-    courseMapOrientation.put(40, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(9);
-    courseMapOrientation.put(41, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(9);
-    courseMapOrientation.put(42, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(10);
-    courseMapOrientation.put(43, orientationSet);
-
-    orientationSet = new HashSet<>();
-    orientationSet.add(0);
-    orientationSet.add(1);
-    orientationSet.add(3);
-    orientationSet.add(5);
-    orientationSet.add(6);
-    orientationSet.add(10);
-    orientationSet.add(12);
-    courseMapOrientation.put(44, orientationSet);
-
-    courseMapClasses = new HashMap<Integer, ArrayList<Integer>>();
-    for (int i = 0; i < 45; i++) {
-      courseMapClasses.put(i, new ArrayList<Integer>());
-    }
-
-    courseMapClasses.get(0).add(0, 5);
-    courseMapClasses.get(0).add(1, 12);
-    courseMapClasses.get(0).add(2, 0);
-    courseMapClasses.get(0).add(3, 0);
-
-    courseMapClasses.get(1).add(0, 5);
-    courseMapClasses.get(1).add(1, 15);
-    courseMapClasses.get(1).add(2, 0);
-    courseMapClasses.get(1).add(3, 0);
-
-    courseMapClasses.get(2).add(0, 5);
-    courseMapClasses.get(2).add(1, 15);
-    courseMapClasses.get(2).add(2, 5);
-    courseMapClasses.get(2).add(3, 0);
-
-    courseMapClasses.get(3).add(0, 0);
-    courseMapClasses.get(3).add(1, 0);
-    courseMapClasses.get(3).add(2, 7);
-    courseMapClasses.get(3).add(3, 2);
-
-    courseMapClasses.get(4).add(0, 0);
-    courseMapClasses.get(4).add(1, 0);
-    courseMapClasses.get(4).add(2, 5);
-    courseMapClasses.get(4).add(3, 0);
-
-    courseMapClasses.get(5).add(0, 3);
-    courseMapClasses.get(5).add(1, 6);
-    courseMapClasses.get(5).add(2, 0);
-    courseMapClasses.get(5).add(3, 0);
-
-    courseMapClasses.get(6).add(0, 4);
-    courseMapClasses.get(6).add(1, 10);
-    courseMapClasses.get(6).add(2, 0);
-    courseMapClasses.get(6).add(3, 0);
-
-    courseMapClasses.get(7).add(0, 1);
-    courseMapClasses.get(7).add(1, 12);
-    courseMapClasses.get(7).add(2, 0);
-    courseMapClasses.get(7).add(3, 0);
-
-    courseMapClasses.get(8).add(0, 1);
-    courseMapClasses.get(8).add(1, 0);
-    courseMapClasses.get(8).add(2, 0);
-    courseMapClasses.get(8).add(3, 0);
-
-    courseMapClasses.get(9).add(0, 0);
-    courseMapClasses.get(9).add(1, 0);
-    courseMapClasses.get(9).add(2, 0);
-    courseMapClasses.get(9).add(3, 1);
-
-    courseMapClasses.get(10).add(0, 2);
-    courseMapClasses.get(10).add(1, 0);
-    courseMapClasses.get(10).add(2, 12);
-    courseMapClasses.get(10).add(3, 0);
-
-    courseMapClasses.get(11).add(0, 0);
-    courseMapClasses.get(11).add(1, 0);
-    courseMapClasses.get(11).add(2, 12);
-    courseMapClasses.get(11).add(3, 0);
-
-    courseMapClasses.get(12).add(0, 0);
-    courseMapClasses.get(12).add(1, 0);
-    courseMapClasses.get(12).add(2, 1);
-    courseMapClasses.get(12).add(3, 1);
-
-    courseMapClasses.get(13).add(0, 2);
-    courseMapClasses.get(13).add(1, 7);
-    courseMapClasses.get(13).add(2, 0);
-    courseMapClasses.get(13).add(3, 0);
-
-    courseMapClasses.get(14).add(0, 1);
-    courseMapClasses.get(14).add(1, 0);
-    courseMapClasses.get(14).add(2, 2);
-    courseMapClasses.get(14).add(3, 0);
-
-    courseMapClasses.get(15).add(0, 1);
-    courseMapClasses.get(15).add(1, 2);
-    courseMapClasses.get(15).add(2, 0);
-    courseMapClasses.get(15).add(3, 0);
-
-    courseMapClasses.get(16).add(0, 1);
-    courseMapClasses.get(16).add(1, 0);
-    courseMapClasses.get(16).add(2, 0);
-    courseMapClasses.get(16).add(3, 0);
-
-    courseMapClasses.get(17).add(0, 0);
-    courseMapClasses.get(17).add(1, 0);
-    courseMapClasses.get(17).add(2, 1);
-    courseMapClasses.get(17).add(3, 1);
-
-    courseMapClasses.get(18).add(0, 1);
-    courseMapClasses.get(18).add(1, 0);
-    courseMapClasses.get(18).add(2, 1);
-    courseMapClasses.get(18).add(3, 0);
-
-    courseMapClasses.get(19).add(0, 0);
-    courseMapClasses.get(19).add(1, 0);
-    courseMapClasses.get(19).add(2, 0);
-    courseMapClasses.get(19).add(3, 0);
-
-    courseMapClasses.get(20).add(0, 0);
-    courseMapClasses.get(20).add(1, 0);
-    courseMapClasses.get(20).add(2, 0);
-    courseMapClasses.get(20).add(3, 1);
-
-    courseMapClasses.get(21).add(0, 1);
-    courseMapClasses.get(21).add(1, 0);
-    courseMapClasses.get(21).add(2, 0);
-    courseMapClasses.get(21).add(3, 0);
-
-    courseMapClasses.get(22).add(0, 1);
-    courseMapClasses.get(22).add(1, 0);
-    courseMapClasses.get(22).add(2, 2);
-    courseMapClasses.get(22).add(3, 0);
-
-    courseMapClasses.get(23).add(0, 1);
-    courseMapClasses.get(23).add(1, 1);
-    courseMapClasses.get(23).add(2, 5);
-    courseMapClasses.get(23).add(3, 0);
-
-    courseMapClasses.get(24).add(0, 1);
-    courseMapClasses.get(24).add(1, 0);
-    courseMapClasses.get(24).add(2, 6);
-    courseMapClasses.get(24).add(3, 0);
-
-    courseMapClasses.get(25).add(0, 1);
-    courseMapClasses.get(25).add(1, 0);
-    courseMapClasses.get(25).add(2, 0);
-    courseMapClasses.get(25).add(3, 0);
-
-    courseMapClasses.get(26).add(0, 1);
-    courseMapClasses.get(26).add(1, 0);
-    courseMapClasses.get(26).add(2, 0);
-    courseMapClasses.get(26).add(3, 0);
-
-    courseMapClasses.get(27).add(0, 0);
-    courseMapClasses.get(27).add(1, 0);
-    courseMapClasses.get(27).add(2, 1);
-    courseMapClasses.get(27).add(3, 1);
-
-    courseMapClasses.get(28).add(0, 1);
-    courseMapClasses.get(28).add(1, 0);
-    courseMapClasses.get(28).add(2, 2);
-    courseMapClasses.get(28).add(3, 0);
-
-    courseMapClasses.get(29).add(0, 1);
-    courseMapClasses.get(29).add(1, 0);
-    courseMapClasses.get(29).add(2, 2);
-    courseMapClasses.get(29).add(3, 0);
-
-    courseMapClasses.get(30).add(0, 1);
-    courseMapClasses.get(30).add(1, 0);
-    courseMapClasses.get(30).add(2, 2);
-    courseMapClasses.get(30).add(3, 0);
-
-    courseMapClasses.get(31).add(0, 1);
-    courseMapClasses.get(31).add(1, 0);
-    courseMapClasses.get(31).add(2, 0);
-    courseMapClasses.get(31).add(3, 0);
-
-    courseMapClasses.get(32).add(0, 1);
-    courseMapClasses.get(32).add(1, 0);
-    courseMapClasses.get(32).add(2, 2);
-    courseMapClasses.get(32).add(3, 0);
-
-    courseMapClasses.get(33).add(0, 1);
-    courseMapClasses.get(33).add(1, 0);
-    courseMapClasses.get(33).add(2, 3);
-    courseMapClasses.get(33).add(3, 0);
-
-    courseMapClasses.get(34).add(0, 1);
-    courseMapClasses.get(34).add(1, 1);
-    courseMapClasses.get(34).add(2, 0);
-    courseMapClasses.get(34).add(3, 0);
-
-    courseMapClasses.get(35).add(0, 1);
-    courseMapClasses.get(35).add(1, 0);
-    courseMapClasses.get(35).add(2, 2);
-    courseMapClasses.get(35).add(3, 0);
-
-    courseMapClasses.get(36).add(0, 1);
-    courseMapClasses.get(36).add(1, 0);
-    courseMapClasses.get(36).add(2, 3);
-    courseMapClasses.get(36).add(3, 0);
-
-    courseMapClasses.get(37).add(0, 0);
-    courseMapClasses.get(37).add(1, 0);
-    courseMapClasses.get(37).add(2, 3);
-    courseMapClasses.get(37).add(3, 1);
-
-    courseMapClasses.get(38).add(0, 1);
-    courseMapClasses.get(38).add(1, 0);
-    courseMapClasses.get(38).add(2, 0);
-    courseMapClasses.get(38).add(3, 0);
-
-    courseMapClasses.get(39).add(0, 1);
-    courseMapClasses.get(39).add(1, 0);
-    courseMapClasses.get(39).add(2, 0);
-    courseMapClasses.get(39).add(3, 0);
-
-    courseMapClasses.get(40).add(0, 1);
-    courseMapClasses.get(40).add(1, 0);
-    courseMapClasses.get(40).add(2, 1);
-    courseMapClasses.get(40).add(3, 0);
-
-    courseMapClasses.get(41).add(0, 1);
-    courseMapClasses.get(41).add(1, 3);
-    courseMapClasses.get(41).add(2, 0);
-    courseMapClasses.get(41).add(3, 0);
-
-    courseMapClasses.get(42).add(0, 1);
-    courseMapClasses.get(42).add(1, 0);
-    courseMapClasses.get(42).add(2, 1);
-    courseMapClasses.get(42).add(3, 0);
-
-    courseMapClasses.get(43).add(0, 1);
-    courseMapClasses.get(43).add(1, 0);
-    courseMapClasses.get(43).add(2, 0);
-    courseMapClasses.get(43).add(3, 0);
-
-    courseMapClasses.get(44).add(0, 2);
-    courseMapClasses.get(44).add(1, 7);
-    courseMapClasses.get(44).add(2, 0);
-    courseMapClasses.get(44).add(3, 0);
-
-    orientationStudents = new HashMap<Integer, Integer>();
-    orientationStudents.put(0, 39);
-    orientationStudents.put(1, 259);
-    orientationStudents.put(2, 96);
-    orientationStudents.put(3, 218);
-    orientationStudents.put(4, 728);
-    orientationStudents.put(5, 242);
-    orientationStudents.put(6, 21);
-    orientationStudents.put(7, 28);
-    orientationStudents.put(8, 102);
-    orientationStudents.put(9, 50);
-    orientationStudents.put(10, 41);
-    orientationStudents.put(11, 206);
-    orientationStudents.put(12, 91);
-
-    // factor of total students that take courses of the "key" year
-    rateOfYearlyDecay = new HashMap<Integer, Float>();
-    rateOfYearlyDecay.put(1, 0.882f);
-    rateOfYearlyDecay.put(2, 0.475f);
-    rateOfYearlyDecay.put(3, 0.307f);
-    // special case for course 44, it can be coursed either in
-    // the second year and in the third. Attendance factors are averaged
-    rateOfYearlyDecay.put(0, (rateOfYearlyDecay.get(2) + rateOfYearlyDecay.get(3)) / 2);
-
-    // maps a course to the year its dictated
-    courseMapYear = new HashMap<Integer, Integer>();
-    for (int courseId = 0; courseId < 45; courseId++) {
-      if (courseId < 5) {
-        courseMapYear.put(courseId, 1);
-      } else if (courseId < 17) {
-        courseMapYear.put(courseId, 2);
-      } else if (courseId < 44) {
-        courseMapYear.put(courseId, 3);
-      } else {
-        // special case for course 44
-        courseMapYear.put(courseId, 0);
-      }
-    }
-
     classStudents = new HashMap<Integer, Integer>();
-    for (int course = 0; course < 45; course++) {
+    for (Integer course : courseMapOrientation.keySet()) {
       int students = 0;
       for (Integer orientation : orientationStudents.keySet()) {
         if (courseMapOrientation.get(course).contains(orientation)) {
@@ -0,0 +1,149 @@
+package org.uma.jmetal.util.scheduledata;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable view of the instance data of a {@link ScheduleDataHandler} compiled into primitive
+ * arrays, so that the evaluation and the operators can query it without boxing, hashing or
+ * string lookups.
+ *
+ * Classes are identified by their class with type (10 * course + type), classrooms by their
+ * number id and orientations by their id, which must be lower than 64.
+ */
+public final class ScheduleInstance {
+  private final int amountCourses;
+  private final int classroomsQty;
+  // given the number id of a classroom returns its capacity
+  private final int[] classroomCapacity;
+  // classrooms sorted by increasing capacity, and the position of each classroom in that order
+  private final int[] classroomByRank;
+  private final int[] classroomRank;
+  // given a class with type returns the number of students that attend it
+  private final int[] attendingStudents;
+  // given a course returns a mask with a bit set for each of its orientations
+  private final long[] orientationMask;
+  // given two courses returns the students affected when their classes collide
+  private final int[][] affectedStudents;
+
+  private ScheduleInstance(ScheduleDataHandler handler) {
+    amountCourses = handler.getCourseMapOrientation().size();
+    classroomsQty = handler.getClassroomQty();
+
+    classroomCapacity = new int[classroomsQty];
+    for (int classroom = 0; classroom < classroomsQty; classroom++) {
+      classroomCapacity[classroom] = handler.getClassroomCapacity().get(handler.getClassroomNameMap().get(classroom));
+    }
+
+    // a stable sort, so classrooms of equal capacity keep the order of their ids
+    classroomByRank = IntStream.range(0, classroomsQty).boxed()
+        .sorted(Comparator.comparingInt(classroom -> classroomCapacity[classroom]))
+        .mapToInt(Integer::intValue).toArray();
+    classroomRank = new int[classroomsQty];
+    for (int rank = 0; rank < classroomsQty; rank++) {
+      classroomRank[classroomByRank[rank]] = rank;
+    }
+
+    attendingStudents = new int[10 * amountCourses];
+    for (int course = 0; course < amountCourses; course++) {
+      ArrayList<Integer> classTypes = handler.getCourseMapClasses().get(course);
+      for (int type = 0; type < classTypes.size(); type++) {
+        attendingStudents[10 * course + type] = handler.computeAttendingStudents(10 * course + type);
+      }
+    }
+
+    orientationMask = new long[amountCourses];
+    for (int course = 0; course < amountCourses; course++) {
+      for (Integer orientation : handler.getCourseMapOrientation().get(course)) {
+        orientationMask[course] |= 1L << orientation;
+      }
+    }
+
+    affectedStudents = new int[amountCourses][amountCourses];
+    for (int course1 = 0; course1 < amountCourses; course1++) {
+      for (int course2 = 0; course2 < amountCourses; course2++) {
+        affectedStudents[course1][course2] = computeAffectedStudents(handler, course1, course2);
+      }
+    }
+  }
+
+  /** Compiles the instance data currently held by the handler */
+  public static ScheduleInstance compile(ScheduleDataHandler handler) {
+    return new ScheduleInstance(handler);
+  }
+
+  // students of the shared orientations of both courses, only if they belong to
+  // the same year. Orientations are added in increasing order, as the hash set
+  // of orientations used to iterate them
+  private int computeAffectedStudents(ScheduleDataHandler handler, int course1, int course2) {
+    int year = handler.getCourseMapYear().get(course1);
+    if (year != handler.getCourseMapYear().get(course2)) {
+      return 0;
+    }
+    float rateOfYearlyDecay = handler.getRateOfYearlyDecay().get(year);
+    long sharedOrientations = orientationMask[course1] & orientationMask[course2];
+    int students = 0;
+    for (int orientation = 0; orientation < 64; orientation++) {
+      if ((sharedOrientations & (1L << orientation)) != 0) {
+        students += handler.getOrientationStudents().get(orientation) * rateOfYearlyDecay;
+      }
+    }
+    return students;
+  }
+
+  public int getAmountCourses() {
+    return amountCourses;
+  }
+
+  public int getClassroomsQty() {
+    return classroomsQty;
+  }
+
+  public int getClassroomCapacity(int classroom) {
+    return classroomCapacity[classroom];
+  }
+
+  // returns the classroom in the given position of the capacity order
+  public int getClassroomByRank(int rank) {
+    return classroomByRank[rank];
+  }
+
+  // returns the position of the classroom in the capacity order
+  public int getClassroomRank(int classroom) {
+    return classroomRank[classroom];
+  }
+
+  // returns the first position of the capacity order whose classroom can hold
+  // the given amount of students, classroomsQty if there is none
+  public int getFirstFeasibleRank(int attendingStudents) {
+    int first = 0;
+    int last = classroomsQty;
+    while (first < last) {
+      int middle = (first + last) >>> 1;
+      if (classroomCapacity[classroomByRank[middle]] < attendingStudents) {
+        first = middle + 1;
+      } else {
+        last = middle;
+      }
+    }
+    return first;
+  }
+
+  public int getAttendingStudents(int classWithType) {
+    return attendingStudents[classWithType];
+  }
+
+  public long getOrientationMask(int course) {
+    return orientationMask[course];
+  }
+
+  // whether the classes of both courses have students in common
+  public boolean shareOrientation(int course1, int course2) {
+    return (orientationMask[course1] & orientationMask[course2]) != 0;
+  }
+
+  public int getAffectedStudents(int course1, int course2) {
+    return affectedStudents[course1][course2];
+  }
+}
@@ -0,0 +1,284 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.uma.jmetal.util.JMetalException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.TreeMap;
+
+/**
+ * Loads the instance data of a {@link ScheduleDataHandler} from a file, so that other faculties
+ * or semesters can be scheduled without recompiling.
+ *
+ * Instances are written as CSV, one record per line whose first field is its kind (see
+ * scheduleInstances/fing.csv for the default instance and a description of the records). An
+ * instance can also be saved in a binary form with {@link #writeBinary(ScheduleDataHandler, Path)},
+ * which is read whole and needs no text parsing. Either way the records are copied into the maps
+ * of the handler, so loading takes time and memory proportional to the size of the instance.
+ */
+public final class ScheduleInstanceLoader {
+  // resource with the instance loaded by default
+  public static final String DEFAULT_INSTANCE = "/scheduleInstances/fing.csv";
+  // first bytes of a binary instance, "SCHD", followed by the version of the format
+  private static final int BINARY_MAGIC = 0x53434844;
+  private static final int BINARY_VERSION = 1;
+
+  private ScheduleInstanceLoader() {
+  }
+
+  /** Loads the default instance from the classpath */
+  public static void loadDefault(ScheduleDataHandler handler) {
+    InputStream stream = ScheduleInstanceLoader.class.getResourceAsStream(DEFAULT_INSTANCE);
+    if (stream == null) {
+      throw new JMetalException("Resource not found: " + DEFAULT_INSTANCE);
+    }
+    try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+      readCsv(reader, handler);
+    } catch (IOException e) {
+      throw new JMetalException("Error reading " + DEFAULT_INSTANCE, e);
+    }
+  }
+
+  /** Loads an instance file, binary if it starts as one and CSV otherwise */
+  public static void load(Path file, ScheduleDataHandler handler) {
+    if (isBinary(file)) {
+      readBinary(file, handler);
+    } else {
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        readCsv(reader, handler);
+      } catch (IOException e) {
+        throw new JMetalException("Error reading " + file, e);
+      }
+    }
+  }
+
+  private static boolean isBinary(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(4);
+      return channel.read(magic, 0) == 4 && magic.getInt(0) == BINARY_MAGIC;
+    } catch (IOException e) {
+      throw new JMetalException("Error reading " + file, e);
+    }
+  }
+
+  /** Loads an instance written as CSV */
+  public static void readCsv(Reader reader, ScheduleDataHandler handler) throws IOException {
+    InstanceData data = new InstanceData();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] fields = line.split(",", -1);
+      try {
+        data.addRecord(fields);
+      } catch (RuntimeException e) {
+        throw new JMetalException("Wrong record in line " + lineNumber + ": " + line, e);
+      }
+    }
+    data.applyTo(handler);
+  }
+
+  /** Loads an instance saved with {@link #writeBinary(ScheduleDataHandler, Path)} */
+  public static void readBinary(Path file, ScheduleDataHandler handler) {
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+      if (buffer.getInt() != BINARY_MAGIC || buffer.getInt() != BINARY_VERSION) {
+        throw new JMetalException("Not a binary schedule instance: " + file);
+      }
+      InstanceData data = new InstanceData();
+      data.amountCourses = buffer.getInt();
+      data.disparityFactor = buffer.getInt();
+      data.consecutivePenaltyFactor = buffer.getInt();
+      int classroomsQty = buffer.getInt();
+      for (int i = 0; i < classroomsQty; i++) {
+        byte[] name = new byte[buffer.getShort()];
+        buffer.get(name);
+        data.addClassroom(i, new String(name, StandardCharsets.UTF_8), buffer.getInt());
+      }
+      int orientationsQty = buffer.getInt();
+      for (int i = 0; i < orientationsQty; i++) {
+        data.orientationStudents.put(buffer.getInt(), buffer.getInt());
+      }
+      int yearsQty = buffer.getInt();
+      for (int i = 0; i < yearsQty; i++) {
+        data.rateOfYearlyDecay.put(buffer.getInt(), buffer.getFloat());
+      }
+      int coursesQty = buffer.getInt();
+      for (int i = 0; i < coursesQty; i++) {
+        int course = buffer.getInt();
+        data.courseMapYear.put(course, buffer.getInt());
+        ArrayList<Integer> classes = new ArrayList<Integer>();
+        for (int type = 0; type < 4; type++) {
+          classes.add(buffer.getInt());
+        }
+        data.courseMapClasses.put(course, classes);
+        HashSet<Integer> orientations = new HashSet<Integer>();
+        for (int orientation = buffer.getInt(); orientation > 0; orientation--) {
+          orientations.add(buffer.getInt());
+        }
+        data.courseMapOrientation.put(course, orientations);
+      }
+      data.applyTo(handler);
+    } catch (IOException e) {
+      throw new JMetalException("Error reading " + file, e);
+    }
+  }
+
+  /** Saves the instance data of the handler in binary form */
+  public static void writeBinary(ScheduleDataHandler handler, Path file) {
+    int size = 4 * 9;
+    for (String name : handler.getClassroomNameMap().values()) {
+      size += 2 + name.getBytes(StandardCharsets.UTF_8).length + 4;
+    }
+    size += 8 * handler.getOrientationStudents().size() + 8 * handler.getRateOfYearlyDecay().size();
+    for (HashSet<Integer> orientations : handler.getCourseMapOrientation().values()) {
+      size += 4 * (7 + orientations.size());
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(BINARY_MAGIC).putInt(BINARY_VERSION);
+    buffer.putInt(handler.getAmountCourses());
+    buffer.putInt(handler.getDisparityFactor());
+    buffer.putInt(handler.getConsecutivePenaltyFactor());
+    buffer.putInt(handler.getClassroomNameMap().size());
+    for (int classroom = 0; classroom < handler.getClassroomNameMap().size(); classroom++) {
+      String name = handler.getClassroomNameMap().get(classroom);
+      byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      buffer.putShort((short) bytes.length).put(bytes);
+      buffer.putInt(handler.getClassroomCapacity().get(name));
+    }
+    buffer.putInt(handler.getOrientationStudents().size());
+    for (Integer orientation : new TreeMap<Integer, Integer>(handler.getOrientationStudents()).keySet()) {
+      buffer.putInt(orientation).putInt(handler.getOrientationStudents().get(orientation));
+    }
+    buffer.putInt(handler.getRateOfYearlyDecay().size());
+    for (Integer year : new TreeMap<Integer, Float>(handler.getRateOfYearlyDecay()).keySet()) {
+      buffer.putInt(year).putFloat(handler.getRateOfYearlyDecay().get(year));
+    }
+    buffer.putInt(handler.getCourseMapOrientation().size());
+    for (Integer course : new TreeMap<Integer, HashSet<Integer>>(handler.getCourseMapOrientation()).keySet()) {
+      buffer.putInt(course).putInt(handler.getCourseMapYear().get(course));
+      for (int type = 0; type < 4; type++) {
+        buffer.putInt(handler.getCourseMapClasses().get(course).get(type));
+      }
+      HashSet<Integer> orientations = handler.getCourseMapOrientation().get(course);
+      buffer.putInt(orientations.size());
+      for (Integer orientation : orientations) {
+        buffer.putInt(orientation);
+      }
+    }
+    // called on Buffer, as the ByteBuffer override returning ByteBuffer is missing before Java 9
+    ((Buffer) buffer).flip();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new JMetalException("Error writing " + file, e);
+    }
+  }
+
+  // instance data as read, before handing it to the handler
+  private static class InstanceData {
+    int amountCourses;
+    int disparityFactor;
+    int consecutivePenaltyFactor;
+    HashMap<String, Integer> classroomCapacity = new HashMap<String, Integer>();
+    HashMap<Integer, String> classroomNameMap = new HashMap<Integer, String>();
+    HashMap<Integer, Integer> orientationStudents = new HashMap<Integer, Integer>();
+    HashMap<Integer, Float> rateOfYearlyDecay = new HashMap<Integer, Float>();
+    HashMap<Integer, Integer> courseMapYear = new HashMap<Integer, Integer>();
+    HashMap<Integer, ArrayList<Integer>> courseMapClasses = new HashMap<Integer, ArrayList<Integer>>();
+    HashMap<Integer, HashSet<Integer>> courseMapOrientation = new HashMap<Integer, HashSet<Integer>>();
+
+    void addRecord(String[] fields) {
+      switch (fields[0]) {
+        case "parameter":
+          setParameter(fields[1], Integer.parseInt(fields[2]));
+          break;
+        case "classroom":
+          addClassroom(Integer.parseInt(fields[1]), fields[2], Integer.parseInt(fields[3]));
+          break;
+        case "orientation":
+          orientationStudents.put(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+          break;
+        case "year":
+          rateOfYearlyDecay.put(Integer.parseInt(fields[1]), Float.parseFloat(fields[2]));
+          break;
+        case "course":
+          int course = Integer.parseInt(fields[1]);
+          courseMapYear.put(course, Integer.parseInt(fields[2]));
+          ArrayList<Integer> classes = new ArrayList<Integer>();
+          for (int type = 0; type < 4; type++) {
+            classes.add(Integer.parseInt(fields[3 + type]));
+          }
+          courseMapClasses.put(course, classes);
+          HashSet<Integer> orientations = new HashSet<Integer>();
+          for (String orientation : fields[7].trim().split(" +")) {
+            if (!orientation.isEmpty()) {
+              orientations.add(Integer.parseInt(orientation));
+            }
+          }
+          courseMapOrientation.put(course, orientations);
+          break;
+        default:
+          throw new JMetalException("Unknown kind of record: " + fields[0]);
+      }
+    }
+
+    void setParameter(String name, int value) {
+      switch (name) {
+        case "amountCourses":
+          amountCourses = value;
+          break;
+        case "disparityFactor":
+          disparityFactor = value;
+          break;
+        case "consecutivePenaltyFactor":
+          consecutivePenaltyFactor = value;
+          break;
+        default:
+          throw new JMetalException("Unknown parameter: " + name);
+      }
+    }
+
+    void addClassroom(int classroom, String name, int capacity) {
+      classroomNameMap.put(classroom, name);
+      classroomCapacity.put(name, capacity);
+    }
+
+    void applyTo(ScheduleDataHandler handler) {
+      handler.setAmountCourses(amountCourses);
+      handler.setDisparityFactor(disparityFactor);
+      handler.setConsecutivePenaltyFactor(consecutivePenaltyFactor);
+      handler.setClassroomCapacity(classroomCapacity);
+      handler.setClassroomNameMap(classroomNameMap);
+      handler.setOrientationStudents(orientationStudents);
+      handler.setRateOfYearlyDecay(rateOfYearlyDecay);
+      handler.setCourseMapYear(courseMapYear);
+      handler.setCourseMapClasses(courseMapClasses);
+      handler.setCourseMapOrientation(courseMapOrientation);
+      handler.indexInstance();
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package org.uma.jmetal.util.scheduledata;
+
+/**
+ * Receives the feasible slots of a class enumerated by
+ * {@link ScheduleDataHandler#forEachFeasibleSlot(int, boolean, org.uma.jmetal.solution.IntegerSolution, SlotVisitor)}.
+ * Slots are packed ints, see {@link ScheduleDataHandler#packSlot(int, int)}.
+ */
+@FunctionalInterface
+public interface SlotVisitor {
+  /**
+   * @param slot the packed slot
+   * @return false to stop the enumeration
+   */
+  boolean visit(int slot);
+}
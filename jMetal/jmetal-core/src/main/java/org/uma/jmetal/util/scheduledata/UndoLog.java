@@ -0,0 +1,65 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.solutionattribute.impl.GenericSolutionAttribute;
+
+import java.util.Arrays;
+
+/**
+ * Cells written to a schedule solution since a transaction began, together with the values they
+ * held before. The log is attached to the solution by
+ * {@link ScheduleDataHandler#beginTransaction(IntegerSolution)} and filled by
+ * {@link ScheduleDataHandler#setCell(IntegerSolution, int, int)}, so that a rollback only
+ * restores the cells that were touched.
+ *
+ * Copies of the solution share the attribute, so the log only records the writes made to the
+ * solution it was created for.
+ */
+public class UndoLog {
+  private final IntegerSolution solution;
+  private int[] cells = new int[32];
+  private int[] values = new int[32];
+  private int size = 0;
+  // change in the number of scheduled classes caused by the logged writes
+  private int scheduledClassesDelta = 0;
+
+  UndoLog(IntegerSolution solution) {
+    this.solution = solution;
+  }
+
+  // whether the writes to the given solution belong to this log
+  boolean isLogging(IntegerSolution solution) {
+    return this.solution == solution;
+  }
+
+  void record(int cellIndex, int oldValue, int scheduledClassesChange) {
+    if (size == cells.length) {
+      cells = Arrays.copyOf(cells, 2 * size);
+      values = Arrays.copyOf(values, 2 * size);
+    }
+    cells[size] = cellIndex;
+    values[size] = oldValue;
+    size++;
+    scheduledClassesDelta += scheduledClassesChange;
+  }
+
+  int getScheduledClassesDelta() {
+    return scheduledClassesDelta;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int getCell(int entry) {
+    return cells[entry];
+  }
+
+  int getValue(int entry) {
+    return values[entry];
+  }
+
+  @SuppressWarnings("serial")
+  static class Attribute extends GenericSolutionAttribute<IntegerSolution, UndoLog> {
+  }
+}
@@ -0,0 +1,118 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.solutionattribute.impl.GenericSolutionAttribute;
+
+import java.util.Arrays;
+
+/**
+ * Scheduled classes of a schedule solution that can be displaced to make room for another one,
+ * split by whether they have a pair. For each of both groups a segment tree over the classrooms
+ * in capacity order (see {@link ScheduleInstance#getClassroomByRank(int)}) keeps the class with
+ * the lowest attendance of every range, so the victim for a class is found in logarithmic time.
+ *
+ * {@link ScheduleDataHandler#setCell(IntegerSolution, int, int)} marks the classrooms whose
+ * classes may have changed, and they are recomputed on the next query. Like the other helpers of
+ * the handler, the index only answers for the solution it was built for.
+ */
+public class VictimIndex {
+  // key of a range without classes
+  private static final long NONE = Long.MAX_VALUE;
+
+  private final IntegerSolution solution;
+  private final int classroomsQty;
+  // trees of classes without and with pair, the leaf of a rank is at classroomsQty + rank.
+  // Keys are attendance << 32 | cellIndex, so ties go to the lowest cell
+  private final long[][] lowestKey;
+  private final boolean[] modified;
+  private final int[] modifiedClassrooms;
+  private int modifiedQty = 0;
+
+  VictimIndex(IntegerSolution solution, ScheduleInstance instance) {
+    this.solution = solution;
+    classroomsQty = instance.getClassroomsQty();
+    lowestKey = new long[2][2 * classroomsQty];
+    Arrays.fill(lowestKey[0], NONE);
+    Arrays.fill(lowestKey[1], NONE);
+    modified = new boolean[classroomsQty];
+    modifiedClassrooms = new int[classroomsQty];
+    for (int classroom = 0; classroom < classroomsQty; classroom++) {
+      markModified(classroom);
+    }
+  }
+
+  // whether the index answers for the given solution
+  boolean isTracking(IntegerSolution solution) {
+    return this.solution == solution;
+  }
+
+  // registers a write to a cell. Whether a class has a pair depends on the pair
+  // cell of its pair, so a write to a pair cell also marks the classrooms of the
+  // cells it pointed to and points to
+  void update(int cellIndex, int oldValue, int newValue, ScheduleDataHandler handler) {
+    markModified(handler.getClassroom(cellIndex));
+    if (!handler.isIndexClass(cellIndex)) {
+      if (oldValue != ScheduleDataHandler.AVAILABLE_INDEX) {
+        markModified(handler.getClassroom(oldValue));
+      }
+      if (newValue != ScheduleDataHandler.AVAILABLE_INDEX) {
+        markModified(handler.getClassroom(newValue));
+      }
+    }
+  }
+
+  private void markModified(int classroom) {
+    if (classroom >= 0 && classroom < classroomsQty && !modified[classroom]) {
+      modified[classroom] = true;
+      modifiedClassrooms[modifiedQty++] = classroom;
+    }
+  }
+
+  // returns the scheduled class with the lowest attendance in a classroom of
+  // rank firstRank or above and with the given pair status, -1 if there is none
+  int findLowestAttendance(boolean withPair, int firstRank, ScheduleDataHandler handler, ScheduleInstance instance) {
+    refresh(handler, instance);
+    long[] tree = lowestKey[withPair ? 1 : 0];
+    long lowest = NONE;
+    for (int from = firstRank + classroomsQty, to = 2 * classroomsQty; from < to; from >>= 1, to >>= 1) {
+      if ((from & 1) == 1) {
+        lowest = Math.min(lowest, tree[from++]);
+      }
+      if ((to & 1) == 1) {
+        lowest = Math.min(lowest, tree[--to]);
+      }
+    }
+    return (lowest == NONE ? -1 : (int) lowest);
+  }
+
+  // recomputes the leaves of the modified classrooms and their ancestors
+  private void refresh(ScheduleDataHandler handler, ScheduleInstance instance) {
+    for (int i = 0; i < modifiedQty; i++) {
+      int classroom = modifiedClassrooms[i];
+      modified[classroom] = false;
+      long[] lowest = {NONE, NONE};
+      for (int block = 0; block < 30; block++) {
+        int cellIndex = 60 * classroom + 20 * (block / 10) + block % 10;
+        int classWithType = handler.getCell(solution, cellIndex);
+        if (classWithType != ScheduleDataHandler.AVAILABLE_INDEX) {
+          int withPair = handler.hasPair(cellIndex, solution) ? 1 : 0;
+          long key = (long) instance.getAttendingStudents(classWithType) << 32 | cellIndex;
+          lowest[withPair] = Math.min(lowest[withPair], key);
+        }
+      }
+      for (int withPair = 0; withPair < 2; withPair++) {
+        long[] tree = lowestKey[withPair];
+        int node = classroomsQty + instance.getClassroomRank(classroom);
+        tree[node] = lowest[withPair];
+        for (node >>= 1; node >= 1; node >>= 1) {
+          tree[node] = Math.min(tree[2 * node], tree[2 * node + 1]);
+        }
+      }
+    }
+    modifiedQty = 0;
+  }
+
+  @SuppressWarnings("serial")
+  static class Attribute extends GenericSolutionAttribute<IntegerSolution, VictimIndex> {
+  }
+}
@@ -22,11 +22,13 @@ import java.util.*;
  */
 @SuppressWarnings("serial")
 public class DominanceRanking <S extends Solution<?>>
-    extends GenericSolutionAttribute<S, Integer> implements Ranking<S> {
+    extends GenericIntegerAttribute<S> implements Ranking<S> {
 
   private Comparator<S> dominanceComparator ;
   private static final Comparator<Solution<?>> CONSTRAINT_VIOLATION_COMPARATOR =
       new OverallConstraintViolationComparator<Solution<?>>();
+  // smallest populations ranked by EfficientNonDominatedSortRanking
+  private static final int MINIMUM_SIZE_TO_SORT = 64;
 
   private List<ArrayList<S>> rankedSubPopulations;
 
@@ -52,6 +54,15 @@ public class DominanceRanking <S extends Solution<?>>
 
   @Override
   public Ranking<S> computeRanking(List<S> solutionSet) {
+    // large populations compared by Pareto dominance are ranked by sorting them,
+    // in O(N log N) time with two objectives, which gives the same fronts
+    if (solutionSet.size() >= MINIMUM_SIZE_TO_SORT && isParetoDominance()
+        && EfficientNonDominatedSortRanking.canRank(solutionSet)) {
+      rankedSubPopulations = EfficientNonDominatedSortRanking.buildSubfronts(solutionSet,
+          EfficientNonDominatedSortRanking.computeRanks(solutionSet), getSlot());
+      return this;
+    }
+
     List<S> population = solutionSet;
 
     // dominateMe[i] contains the number of solutions dominating i
@@ -99,7 +110,7 @@ public class DominanceRanking <S extends Solution<?>>
     for (int i = 0; i < population.size(); i++) {
       if (dominateMe[i] == 0) {
         front.get(0).add(i);
-        solutionSet.get(i).setAttribute(getAttributeIdentifier(), 0);
+        setInt(solutionSet.get(i), 0);
       }
     }
 
@@ -117,7 +128,7 @@ public class DominanceRanking <S extends Solution<?>>
           if (dominateMe[index] == 0) {
             front.get(i).add(index);
             //RankingAndCrowdingAttr.getAttributes(solutionSet.get(index)).setRank(i);
-            solutionSet.get(index).setAttribute(getAttributeIdentifier(), i);
+            setInt(solutionSet.get(index), i);
           }
         }
       }
@@ -136,6 +147,13 @@ public class DominanceRanking <S extends Solution<?>>
     return this;
   }
 
+  // whether the comparator is the default DominanceComparator, whose fronts can be found by sorting
+  private boolean isParetoDominance() {
+    return dominanceComparator != null && dominanceComparator.getClass() == DominanceComparator.class
+        && ((DominanceComparator<S>) dominanceComparator).getConstraintViolationComparator().getClass()
+        == OverallConstraintViolationComparator.class;
+  }
+
   @Override
   public List<S> getSubfront(int rank) {
     if (rank >= rankedSubPopulations.size()) {
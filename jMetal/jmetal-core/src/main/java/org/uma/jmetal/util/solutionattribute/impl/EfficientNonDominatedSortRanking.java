@@ -0,0 +1,229 @@
+package org.uma.jmetal.util.solutionattribute.impl;
+
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ranking of a list of solutions by Pareto dominance computed with the efficient non-dominated
+ * sort with binary search (ENS-BS) of Zhang et al. The solutions are sorted lexicographically by
+ * their objectives, so a solution can only be dominated by the ones before it, and each one is
+ * placed in the first front none of whose solutions dominates it, found by binary search over
+ * the fronts. With two objectives only the last solution of a front needs to be checked, so the
+ * ranking takes O(N log N) time; otherwise it takes O(M N^2) in the worst case but far fewer
+ * comparisons than the fast non-dominated sort of {@link DominanceRanking} in practice.
+ *
+ * The ranks are the same as those of {@link DominanceRanking} with the default
+ * {@link org.uma.jmetal.util.comparator.DominanceComparator}: solutions with a better
+ * {@link OverallConstraintViolation} dominate the ones with a worse one, and solutions with the
+ * same violation are compared by their objectives. The solutions of every subfront are in the
+ * order of the list.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class EfficientNonDominatedSortRanking<S extends Solution<?>>
+    extends GenericIntegerAttribute<S> implements Ranking<S> {
+  private static final OverallConstraintViolation<Solution<?>> OVERALL_CONSTRAINT_VIOLATION =
+      new OverallConstraintViolation<Solution<?>>();
+
+  private List<ArrayList<S>> rankedSubPopulations;
+
+  /**
+   * Constructor
+   */
+  public EfficientNonDominatedSortRanking() {
+    rankedSubPopulations = new ArrayList<>();
+  }
+
+  /**
+   * Constructor
+   */
+  public EfficientNonDominatedSortRanking(Object id) {
+    super(id);
+    rankedSubPopulations = new ArrayList<>();
+  }
+
+  @Override
+  public Ranking<S> computeRanking(List<S> solutionList) {
+    if (!canRank(solutionList)) {
+      throw new JMetalException("The solutions can not be sorted: an objective is NaN, or a constraint violation "
+          + "is positive or missing in only some of them");
+    }
+    rankedSubPopulations = buildSubfronts(solutionList, computeRanks(solutionList), getSlot());
+    return this;
+  }
+
+  @Override
+  public List<S> getSubfront(int rank) {
+    if (rank >= rankedSubPopulations.size()) {
+      throw new JMetalException("Invalid rank: " + rank + ". Max rank = " + (rankedSubPopulations.size() - 1));
+    }
+    return rankedSubPopulations.get(rank);
+  }
+
+  @Override
+  public int getNumberOfSubfronts() {
+    return rankedSubPopulations.size();
+  }
+
+  /**
+   * Returns whether the ranks of the solutions can be computed by sorting them: no objective is
+   * NaN, and either none of them or all of them have a constraint violation, which is not
+   * positive. Otherwise the dominance comparator is not a partial order compatible with the
+   * lexicographic order of the objectives.
+   */
+  static boolean canRank(List<? extends Solution<?>> solutionList) {
+    if (solutionList.isEmpty()) {
+      return true;
+    }
+    boolean constrained = OVERALL_CONSTRAINT_VIOLATION.getAttribute(solutionList.get(0)) != null;
+    for (Solution<?> solution : solutionList) {
+      Double violation = OVERALL_CONSTRAINT_VIOLATION.getAttribute(solution);
+      if ((violation != null) != constrained || (violation != null && !(violation <= 0))) {
+        return false;
+      }
+      for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+        if (Double.isNaN(solution.getObjective(i))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the rank of every solution of the list, which must be accepted by
+   * {@link #canRank(List)}
+   */
+  static int[] computeRanks(List<? extends Solution<?>> solutionList) {
+    int size = solutionList.size();
+    int[] ranks = new int[size];
+    if (size == 0) {
+      return ranks;
+    }
+    int numberOfObjectives = solutionList.get(0).getNumberOfObjectives();
+    // the violation is the first key, the best one first
+    double[][] keys = new double[size][];
+    for (int i = 0; i < size; i++) {
+      Solution<?> solution = solutionList.get(i);
+      Double violation = OVERALL_CONSTRAINT_VIOLATION.getAttribute(solution);
+      keys[i] = new double[numberOfObjectives + 1];
+      keys[i][0] = (violation == null ? 0 : -violation);
+      for (int objective = 0; objective < numberOfObjectives; objective++) {
+        keys[i][objective + 1] = solution.getObjective(objective);
+      }
+    }
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (i, j) -> {
+      // not Double.compare, which tells 0.0 from -0.0 unlike the dominance comparator
+      for (int key = 0; key < keys[i].length; key++) {
+        if (keys[i][key] < keys[j][key]) {
+          return -1;
+        } else if (keys[i][key] > keys[j][key]) {
+          return 1;
+        }
+      }
+      return Integer.compare(i, j);
+    });
+
+    // solutions with the same violation are ranked apart, after the fronts of the better ones
+    int offset = 0;
+    for (int first = 0; first < size; ) {
+      int last = first;
+      while (last < size && keys[order[last]][0] == keys[order[first]][0]) {
+        last++;
+      }
+      offset += rankGroup(order, first, last, keys, ranks, offset);
+      first = last;
+    }
+    return ranks;
+  }
+
+  // ranks the solutions order[first..last), all of them with the same violation
+  // and in lexicographic order. Returns the number of fronts
+  private static int rankGroup(Integer[] order, int first, int last, double[][] keys, int[] ranks, int offset) {
+    int[][] fronts = new int[last - first][];
+    int[] frontSizes = new int[last - first];
+    int numberOfFronts = 0;
+    boolean biobjective = keys[order[first]].length == 3;
+    for (int position = first; position < last; position++) {
+      int solution = order[position];
+      // the fronts dominating the solution are the first ones
+      int low = 0;
+      int high = numberOfFronts;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        boolean dominated = biobjective
+            ? isDominatedByLast(fronts[middle], frontSizes[middle], solution, keys)
+            : isDominatedByFront(fronts[middle], frontSizes[middle], solution, keys);
+        if (dominated) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      if (low == numberOfFronts) {
+        fronts[numberOfFronts++] = new int[4];
+      } else if (frontSizes[low] == fronts[low].length) {
+        fronts[low] = Arrays.copyOf(fronts[low], 2 * frontSizes[low]);
+      }
+      fronts[low][frontSizes[low]++] = solution;
+      ranks[solution] = offset + low;
+    }
+    return numberOfFronts;
+  }
+
+  // whether a solution of the front dominates the given one, checking the last
+  // ones first as they are the most similar to it
+  private static boolean isDominatedByFront(int[] front, int frontSize, int solution, double[][] keys) {
+    for (int member = frontSize - 1; member >= 0; member--) {
+      if (dominates(keys[front[member]], keys[solution])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // with two objectives the last solution of a front has the lowest second
+  // objective, so it dominates the solution if any other of the front does
+  private static boolean isDominatedByLast(int[] front, int frontSize, int solution, double[][] keys) {
+    return dominates(keys[front[frontSize - 1]], keys[solution]);
+  }
+
+  // whether the first solution dominates the second one, which comes after it in
+  // lexicographic order
+  private static boolean dominates(double[] first, double[] second) {
+    boolean better = false;
+    for (int key = 1; key < first.length; key++) {
+      if (first[key] > second[key]) {
+        return false;
+      } else if (first[key] < second[key]) {
+        better = true;
+      }
+    }
+    return better;
+  }
+
+  // groups the solutions by rank, in the order of the list, setting their ranks
+  static <S extends Solution<?>> List<ArrayList<S>> buildSubfronts(List<S> solutionList, int[] ranks,
+      AttributeSlot slot) {
+    List<ArrayList<S>> subfronts = new ArrayList<>();
+    for (int i = 0; i < solutionList.size(); i++) {
+      while (subfronts.size() <= ranks[i]) {
+        subfronts.add(new ArrayList<S>());
+      }
+      subfronts.get(ranks[i]).add(solutionList.get(i));
+      solutionList.get(i).setIntegerAttribute(slot, ranks[i]);
+    }
+    return subfronts;
+  }
+}
@@ -0,0 +1,66 @@
+package org.uma.jmetal.util.solutionattribute.impl;
+
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.solution.Solution;
+
+/**
+ * Generic class for attributes whose values are real numbers, which are stored in an
+ * {@link AttributeSlot} of the solutions and can be accessed with {@link #getDouble(Solution)}
+ * and {@link #setDouble(Solution, double)} without boxing them.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class GenericDoubleAttribute<S extends Solution<?>> extends GenericSolutionAttribute<S, Double> {
+  private transient AttributeSlot slot;
+
+  /**
+   * Constructor
+   */
+  public GenericDoubleAttribute() {
+    getSlot();
+  }
+
+  /**
+   * Constructor
+   * @param id Attribute identifier
+   */
+  public GenericDoubleAttribute(Object id) {
+    super(id);
+    getSlot();
+  }
+
+  public AttributeSlot getSlot() {
+    if (slot == null) {
+      slot = AttributeSlot.register(getAttributeIdentifier(), AttributeSlot.Type.DOUBLE);
+    }
+    return slot;
+  }
+
+  @Override
+  public Double getAttribute(S solution) {
+    return (solution.hasAttribute(getSlot()) ? solution.getDoubleAttribute(slot) : null);
+  }
+
+  @Override
+  public void setAttribute(S solution, Double value) {
+    if (value == null) {
+      solution.setAttribute(getAttributeIdentifier(), null);
+    } else {
+      solution.setDoubleAttribute(getSlot(), value);
+    }
+  }
+
+  public boolean hasAttribute(S solution) {
+    return solution.hasAttribute(getSlot());
+  }
+
+  /** Returns the value of the attribute, which must be set */
+  public double getDouble(S solution) {
+    return solution.getDoubleAttribute(getSlot());
+  }
+
+  public void setDouble(S solution, double value) {
+    solution.setDoubleAttribute(getSlot(), value);
+  }
+}
@@ -0,0 +1,66 @@
+package org.uma.jmetal.util.solutionattribute.impl;
+
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.solution.Solution;
+
+/**
+ * Generic class for attributes whose values are integers, which are stored in an
+ * {@link AttributeSlot} of the solutions and can be accessed with {@link #getInt(Solution)}
+ * and {@link #setInt(Solution, int)} without boxing them.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class GenericIntegerAttribute<S extends Solution<?>> extends GenericSolutionAttribute<S, Integer> {
+  private transient AttributeSlot slot;
+
+  /**
+   * Constructor
+   */
+  public GenericIntegerAttribute() {
+    getSlot();
+  }
+
+  /**
+   * Constructor
+   * @param id Attribute identifier
+   */
+  public GenericIntegerAttribute(Object id) {
+    super(id);
+    getSlot();
+  }
+
+  public AttributeSlot getSlot() {
+    if (slot == null) {
+      slot = AttributeSlot.register(getAttributeIdentifier(), AttributeSlot.Type.INTEGER);
+    }
+    return slot;
+  }
+
+  @Override
+  public Integer getAttribute(S solution) {
+    return (solution.hasAttribute(getSlot()) ? solution.getIntegerAttribute(slot) : null);
+  }
+
+  @Override
+  public void setAttribute(S solution, Integer value) {
+    if (value == null) {
+      solution.setAttribute(getAttributeIdentifier(), null);
+    } else {
+      solution.setIntegerAttribute(getSlot(), value);
+    }
+  }
+
+  public boolean hasAttribute(S solution) {
+    return solution.hasAttribute(getSlot());
+  }
+
+  /** Returns the value of the attribute, which must be set */
+  public int getInt(S solution) {
+    return solution.getIntegerAttribute(getSlot());
+  }
+
+  public void setInt(S solution, int value) {
+    solution.setIntegerAttribute(getSlot(), value);
+  }
+}
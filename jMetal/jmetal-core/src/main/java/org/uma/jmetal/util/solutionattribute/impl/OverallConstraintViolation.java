@@ -6,5 +6,5 @@ import org.uma.jmetal.solution.Solution;
  * @author Antonio J. Nebro <antonio@lcc.uma.es>
  */
 @SuppressWarnings("serial")
-public class OverallConstraintViolation<S extends Solution<?>> extends GenericSolutionAttribute<S, Double> {
+public class OverallConstraintViolation<S extends Solution<?>> extends GenericDoubleAttribute<S> {
 }
@@ -11,7 +11,7 @@ import java.util.List;
 
 @SuppressWarnings("serial")
 public class StrengthRawFitness <S extends Solution<?>>
-    extends GenericSolutionAttribute<S, Double> implements DensityEstimator<S>{
+    extends GenericDoubleAttribute<S> implements DensityEstimator<S>{
   private static final Comparator<Solution<?>> DOMINANCE_COMPARATOR = new DominanceComparator<Solution<?>>();
 
   private int k ; // k-th individual
@@ -56,7 +56,7 @@ public class StrengthRawFitness <S extends Solution<?>>
     for (int i = 0; i < distance.length; i++) {
       Arrays.sort(distance[i]);
       kDistance = 1.0 / (distance[i][k] + 2.0);
-      solutionSet.get(i).setAttribute(getAttributeIdentifier(), rawFitness[i] + kDistance);
+      setDouble(solutionSet.get(i), rawFitness[i] + kDistance);
     }
   }
 
@@ -0,0 +1,71 @@
+package org.uma.jmetal.util.solutionattribute.impl;
+
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.solution.impl.ArrayIntegerSolution;
+
+/**
+ * Zobrist hash of the variables of an {@link IntegerSolution}: the exclusive or of a random key
+ * for the value of every variable. Changing a variable only needs the key of its old and its new
+ * value, so a solution whose writes are reported to {@link #update(IntegerSolution, int, int, int)}
+ * keeps its hash up to date without visiting the other variables.
+ *
+ * Keys are derived from the position and the value with a mixing function instead of being
+ * drawn from a table, so the hash of a solution is the same in every run. Copies of a solution
+ * keep its hash, as they keep the same variables, so a copy written through setVariableValue or
+ * any other path not reporting to {@link #update(IntegerSolution, int, int, int)} is left with a
+ * stale hash. Users of the hash must not take two solutions with the same hash as equal without
+ * comparing their variables, as {@link
+ * org.uma.jmetal.util.evaluator.impl.CachingSolutionListEvaluator} does.
+ */
+@SuppressWarnings("serial")
+public class ZobristHash extends GenericSolutionAttribute<IntegerSolution, Long> {
+
+  /**
+   * Returns the hash of the solution, computing and attaching it if the solution had none
+   */
+  public long getHash(IntegerSolution solution) {
+    Long hash = getAttribute(solution);
+    if (hash == null) {
+      hash = computeHash(solution);
+      setAttribute(solution, hash);
+    }
+    return hash;
+  }
+
+  /**
+   * Registers that a variable of the solution changed from oldValue to newValue. It must be
+   * called for every write to a solution with an attached hash, or the hash becomes stale
+   */
+  public void update(IntegerSolution solution, int index, int oldValue, int newValue) {
+    Long hash = getAttribute(solution);
+    if (hash != null && oldValue != newValue) {
+      setAttribute(solution, hash ^ getKey(index, oldValue) ^ getKey(index, newValue));
+    }
+  }
+
+  /**
+   * Returns the hash of the solution visiting all its variables
+   */
+  public static long computeHash(IntegerSolution solution) {
+    long hash = 0;
+    if (solution instanceof ArrayIntegerSolution) {
+      ArrayIntegerSolution arraySolution = (ArrayIntegerSolution) solution;
+      for (int index = 0; index < solution.getNumberOfVariables(); index++) {
+        hash ^= getKey(index, arraySolution.getIntVariableValue(index));
+      }
+    } else {
+      for (int index = 0; index < solution.getNumberOfVariables(); index++) {
+        hash ^= getKey(index, solution.getVariableValue(index));
+      }
+    }
+    return hash;
+  }
+
+  // returns the key of a value in a position, mixed as in the SplitMix64 generator
+  private static long getKey(int index, int value) {
+    long key = ((long) index << 32 | (value & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return key ^ (key >>> 31);
+  }
+}
@@ -0,0 +1,14 @@
+package org.uma.jmetal.util.solutionscreation;
+
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
+import java.io.Serializable;
+
+/**
+ * Problems whose random solutions can be drawn from a given generator instead of the shared
+ * {@link org.uma.jmetal.util.pseudorandom.JMetalRandom}, so that several of them can be created
+ * at the same time and the result only depends on the generator.
+ */
+public interface RandomSolutionFactory<S> extends Serializable {
+  S createSolution(PseudoRandomGenerator randomGenerator) ;
+}
@@ -0,0 +1,12 @@
+package org.uma.jmetal.util.solutionscreation;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Creates the solutions of an initial population
+ */
+public interface SolutionListCreator<S> extends Serializable {
+  List<S> create(int numberOfSolutions) ;
+  void shutdown() ;
+}
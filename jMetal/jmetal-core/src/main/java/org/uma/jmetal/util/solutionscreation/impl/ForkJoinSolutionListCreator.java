@@ -0,0 +1,115 @@
+package org.uma.jmetal.util.solutionscreation.impl;
+
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.pseudorandom.RandomStreams;
+import org.uma.jmetal.util.solutionscreation.RandomSolutionFactory;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Creates the solutions in parallel on a fork/join pool. Every solution draws its random numbers
+ * from its own {@link RandomStreams} stream, numbered in order of creation, so the list created
+ * for a seed does not depend on the number of threads nor on the order in which they run.
+ */
+@SuppressWarnings("serial")
+public class ForkJoinSolutionListCreator<S> implements SolutionListCreator<S> {
+  // below this amount of solutions a task creates them instead of splitting
+  private static final int SEQUENTIAL_THRESHOLD = 4 ;
+
+  private RandomSolutionFactory<S> factory ;
+  private RandomStreams streams ;
+  // stream of the first solution of the next list
+  private long nextStreamId ;
+  private transient ForkJoinPool pool ;
+  private int numberOfThreads ;
+
+  /**
+   * Constructor
+   * @param factory
+   * @param seed
+   * @param numberOfThreads 0 to use as many threads as available processors
+   */
+  public ForkJoinSolutionListCreator(RandomSolutionFactory<S> factory, long seed, int numberOfThreads) {
+    this(factory, seed, 0, numberOfThreads) ;
+  }
+
+  /**
+   * Constructor
+   * @param factory
+   * @param seed
+   * @param firstStreamId stream of the first solution created, so that the streams of the solutions
+   *                      do not overlap with others taken from the same seed, e.g. by the operators
+   * @param numberOfThreads 0 to use as many threads as available processors
+   */
+  public ForkJoinSolutionListCreator(RandomSolutionFactory<S> factory, long seed, long firstStreamId,
+      int numberOfThreads) {
+    if (numberOfThreads < 0) {
+      throw new JMetalException("The number of threads is negative: " + numberOfThreads) ;
+    }
+    this.factory = factory ;
+    this.numberOfThreads = (numberOfThreads == 0 ? Runtime.getRuntime().availableProcessors() : numberOfThreads) ;
+    streams = new RandomStreams(seed) ;
+    nextStreamId = firstStreamId ;
+  }
+
+  @Override
+  public List<S> create(int numberOfSolutions) {
+    @SuppressWarnings("unchecked")
+    S[] solutions = (S[]) new Object[numberOfSolutions] ;
+    getPool().invoke(new CreationTask(nextStreamId, solutions, 0, numberOfSolutions)) ;
+    nextStreamId += numberOfSolutions ;
+    return new ArrayList<>(Arrays.asList(solutions)) ;
+  }
+
+  private synchronized ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(numberOfThreads) ;
+    }
+    return pool ;
+  }
+
+  public int getNumberOfThreads() {
+    return numberOfThreads ;
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    if (pool != null) {
+      pool.shutdown() ;
+      pool = null ;
+    }
+  }
+
+  // creates the solutions in [from, to)
+  private class CreationTask extends RecursiveAction {
+    private final long firstStreamId ;
+    private final S[] solutions ;
+    private final int from ;
+    private final int to ;
+
+    CreationTask(long firstStreamId, S[] solutions, int from, int to) {
+      this.firstStreamId = firstStreamId ;
+      this.solutions = solutions ;
+      this.from = from ;
+      this.to = to ;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SEQUENTIAL_THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          solutions[i] = factory.createSolution(streams.getStream(firstStreamId + i)) ;
+        }
+      } else {
+        int middle = (from + to) >>> 1 ;
+        invokeAll(new CreationTask(firstStreamId, solutions, from, middle),
+            new CreationTask(firstStreamId, solutions, middle, to)) ;
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.uma.jmetal.util.solutionscreation.impl;
+
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the solutions one at a time with {@link Problem#createSolution()}
+ */
+@SuppressWarnings("serial")
+public class SequentialSolutionListCreator<S> implements SolutionListCreator<S> {
+  private Problem<S> problem ;
+
+  public SequentialSolutionListCreator(Problem<S> problem) {
+    this.problem = problem ;
+  }
+
+  @Override
+  public List<S> create(int numberOfSolutions) {
+    List<S> solutionList = new ArrayList<>(numberOfSolutions) ;
+    for (int i = 0; i < numberOfSolutions; i++) {
+      solutionList.add(problem.createSolution()) ;
+    }
+    return solutionList ;
+  }
+
+  @Override
+  public void shutdown() {
+    // This method is an intentionally-blank override.
+  }
+}
@@ -83,4 +83,19 @@ public class TournamentSelectionTest {
     assertSame(solution, selection.execute(population)) ;
   }
 
+  @Test
+  public void shouldExecuteTakeItsRandomNumbersFromTheGivenGenerators() {
+    List<Solution<?>> population = new ArrayList<>(3);
+    for (int i = 0; i < 3; i++) {
+      population.add(mock(BinarySolution.class)) ;
+    }
+
+    // every solution is as good as the others, so the equality generator decides
+    @SuppressWarnings("unchecked")
+    Comparator<Solution<?>> comparator = mock(Comparator.class) ;
+    TournamentSelection<Solution<?>> selection = new TournamentSelection<Solution<?>>(comparator, 2,
+        (a, b) -> b, () -> 0.0) ;
+
+    assertSame(population.get(2), selection.execute(population)) ;
+  }
 }
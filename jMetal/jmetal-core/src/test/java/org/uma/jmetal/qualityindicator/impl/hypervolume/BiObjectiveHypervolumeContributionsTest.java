@@ -0,0 +1,205 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractDoubleProblem;
+import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.archive.impl.HypervolumeArchive;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BiObjectiveHypervolumeContributionsTest {
+  private MockDoubleProblem problem = new MockDoubleProblem() ;
+
+  @Test
+  public void shouldTheContributionsBeProportionalToThoseOfThePISAHypervolume() {
+    Random random = new Random(1) ;
+    List<DoubleSolution> front = new ArrayList<>() ;
+    for (int i = 0; i < 30; i++) {
+      double x = random.nextDouble() ;
+      front.add(createSolution(x, 1 - Math.sqrt(x)));
+    }
+    BiObjectiveHypervolumeContributions<DoubleSolution> contributions =
+        new BiObjectiveHypervolumeContributions<>(0.5) ;
+    for (DoubleSolution solution : front) {
+      assertTrue(contributions.add(solution));
+    }
+
+    PISAHypervolume<DoubleSolution> hypervolume = new PISAHypervolume<>() ;
+    hypervolume.setOffset(0.5);
+    hypervolume.computeHypervolumeContribution(front, front) ;
+    double[] maximum = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY} ;
+    double[] minimum = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY} ;
+    for (DoubleSolution solution : front) {
+      for (int i = 0; i < 2; i++) {
+        maximum[i] = Math.max(maximum[i], solution.getObjective(i)) ;
+        minimum[i] = Math.min(minimum[i], solution.getObjective(i)) ;
+      }
+    }
+    double scale = (maximum[0] - minimum[0]) * (maximum[1] - minimum[1]) ;
+
+    HypervolumeContributionAttribute<DoubleSolution> attribute = new HypervolumeContributionAttribute<>() ;
+    for (DoubleSolution solution : front) {
+      assertEquals(attribute.getDouble(solution), contributions.getContribution(solution) / scale, 1e-9);
+    }
+    assertSame(front.get(front.size() - 1), contributions.getLeastContributor());
+  }
+
+  @Test
+  public void shouldTheContributionsBeUpdatedWhenSolutionsAreAddedAndRemoved() {
+    Random random = new Random(2) ;
+    BiObjectiveHypervolumeContributions<DoubleSolution> contributions =
+        new BiObjectiveHypervolumeContributions<>(1.0) ;
+    List<DoubleSolution> front = new ArrayList<>() ;
+    for (int step = 0; step < 200; step++) {
+      if (front.isEmpty() || random.nextInt(3) > 0) {
+        double x = random.nextInt(50) / 50.0 ;
+        DoubleSolution solution = createSolution(x, 1 - x * x) ;
+        front.add(solution) ;
+        assertTrue(contributions.add(solution));
+      } else {
+        contributions.remove(front.remove(random.nextInt(front.size())));
+      }
+
+      // duplicates contribute nothing, as in the hypervolume implementations
+      List<DoubleSolution> copies = new ArrayList<>(front) ;
+      double[] referencePoint = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY} ;
+      for (DoubleSolution solution : front) {
+        referencePoint[0] = Math.max(referencePoint[0], solution.getObjective(0) + 1.0) ;
+        referencePoint[1] = Math.max(referencePoint[1], solution.getObjective(1) + 1.0) ;
+      }
+      assertTrue(BiObjectiveHypervolumeContributions.computeContributions(copies, referencePoint));
+      HypervolumeContributionAttribute<DoubleSolution> attribute = new HypervolumeContributionAttribute<>() ;
+      for (DoubleSolution solution : front) {
+        assertEquals(attribute.getDouble(solution), contributions.getContribution(solution), 1e-12);
+      }
+      assertEquals(front.size(), contributions.size());
+    }
+  }
+
+  @Test
+  public void shouldAddingADominatedOrDominatingSolutionFail() {
+    BiObjectiveHypervolumeContributions<DoubleSolution> contributions =
+        new BiObjectiveHypervolumeContributions<>(1.0) ;
+    assertTrue(contributions.add(createSolution(1.0, 1.0)));
+
+    assertFalse(contributions.add(createSolution(2.0, 1.0)));
+    assertFalse(contributions.add(createSolution(1.0, 0.5)));
+    assertEquals(1, contributions.size());
+    assertFalse(BiObjectiveHypervolumeContributions.computeContributions(
+        new ArrayList<>(Arrays.asList(createSolution(0.0, 1.0), createSolution(0.0, 2.0))),
+        new double[]{1.0, 3.0}));
+  }
+
+  @Test
+  public void shouldRemoveDominatedByRemoveOnlyTheDominatedSolutions() {
+    BiObjectiveHypervolumeContributions<DoubleSolution> contributions =
+        new BiObjectiveHypervolumeContributions<>(1.0) ;
+    List<DoubleSolution> front = Arrays.asList(createSolution(0.0, 4.0), createSolution(1.0, 3.0),
+        createSolution(2.0, 2.0), createSolution(3.0, 1.0), createSolution(4.0, 0.0)) ;
+    for (DoubleSolution solution : front) {
+      contributions.add(solution) ;
+    }
+
+    DoubleSolution solution = createSolution(1.0, 1.5) ;
+    contributions.removeDominatedBy(solution);
+
+    assertEquals(3, contributions.size());
+    assertFalse(contributions.contains(front.get(1)));
+    assertFalse(contributions.contains(front.get(2)));
+    assertTrue(contributions.add(solution));
+    assertEquals(2.0 * 2.5, contributions.getContribution(solution), 1e-12);
+  }
+
+  @Test
+  public void shouldTheHypervolumeArchiveKeepTheSameSolutionsAsWhenComputingAllTheContributions() {
+    Random random = new Random(3) ;
+    Hypervolume<DoubleSolution> hypervolume = new PISAHypervolume<>() ;
+    HypervolumeArchive<DoubleSolution> archive = new HypervolumeArchive<>(20, hypervolume) ;
+    NonDominatedSolutionListArchive<DoubleSolution> expected = new NonDominatedSolutionListArchive<>() ;
+    for (int i = 0; i < 300; i++) {
+      double x = random.nextDouble() ;
+      DoubleSolution solution = createSolution(x, 1 - Math.sqrt(x) + random.nextDouble() * 0.2) ;
+      archive.add(solution) ;
+      if (expected.add(solution) && expected.size() > 20) {
+        hypervolume.computeHypervolumeContribution(expected.getSolutionList(), expected.getSolutionList()) ;
+        expected.getSolutionList().remove(new SolutionListUtils().findWorstSolution(expected.getSolutionList(),
+            new HypervolumeContributionComparator<DoubleSolution>())) ;
+      }
+    }
+
+    assertEquals(expected.size(), archive.size());
+    for (DoubleSolution solution : expected.getSolutionList()) {
+      assertTrue(archive.getSolutionList().contains(solution));
+    }
+  }
+
+  @Test
+  public void shouldTheHypervolumeArchiveFollowASolutionListModifiedFromOutside() {
+    Random random = new Random(4) ;
+    PISAHypervolume<DoubleSolution> hypervolume = new PISAHypervolume<>() ;
+    hypervolume.setOffset(1.0);
+    HypervolumeArchive<DoubleSolution> archive = new HypervolumeArchive<>(10, hypervolume) ;
+    for (int i = 0; i < 100; i++) {
+      double x = random.nextDouble() ;
+      archive.add(createSolution(x, 1 - Math.sqrt(x))) ;
+      if (i % 10 == 9) {
+        archive.getSolutionList().remove(0) ;
+      }
+    }
+
+    List<DoubleSolution> copies = new ArrayList<>(archive.getSolutionList()) ;
+    double[] referencePoint = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY} ;
+    for (DoubleSolution solution : copies) {
+      referencePoint[0] = Math.max(referencePoint[0], solution.getObjective(0) + 1.0) ;
+      referencePoint[1] = Math.max(referencePoint[1], solution.getObjective(1) + 1.0) ;
+    }
+    assertTrue(BiObjectiveHypervolumeContributions.computeContributions(copies, referencePoint));
+    double[] expected = new double[copies.size()] ;
+    HypervolumeContributionAttribute<DoubleSolution> attribute = new HypervolumeContributionAttribute<>() ;
+    for (int i = 0; i < copies.size(); i++) {
+      expected[i] = attribute.getDouble(copies.get(i)) ;
+    }
+    archive.computeDensityEstimator();
+
+    for (int i = 0; i < copies.size(); i++) {
+      assertEquals(expected[i], attribute.getDouble(copies.get(i)), 1e-12);
+    }
+  }
+
+  private DoubleSolution createSolution(double first, double second) {
+    DoubleSolution solution = problem.createSolution() ;
+    solution.setObjective(0, first);
+    solution.setObjective(1, second);
+    return solution ;
+  }
+
+  @SuppressWarnings("serial")
+  private class MockDoubleProblem extends AbstractDoubleProblem {
+    public MockDoubleProblem() {
+      setNumberOfVariables(1);
+      setNumberOfObjectives(2);
+
+      List<Double> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Double> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+      lowerLimit.add(0.0);
+      upperLimit.add(1.0);
+
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(DoubleSolution solution) {
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.junit.Test;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.front.imp.ArrayFront;
+import org.uma.jmetal.util.point.PointSolution;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MonteCarloHypervolumeTest {
+
+  @Test
+  public void shouldEvaluateBeWithinTheConfidenceIntervalOfThePISAHypervolume() {
+    Random random = new Random(1) ;
+    for (int numberOfObjectives = 2; numberOfObjectives <= 5; numberOfObjectives++) {
+      List<PointSolution> front = createFront(40, numberOfObjectives, random) ;
+      MonteCarloHypervolume<PointSolution> hypervolume = createHypervolume(random) ;
+      hypervolume.setTargetHalfWidth(0.005);
+
+      double expected = new PISAHypervolume<PointSolution>(new ArrayFront(front)).evaluate(front) ;
+      double estimate = hypervolume.evaluate(front) ;
+
+      assertTrue(hypervolume.getHalfWidth() <= 0.005);
+      assertEquals(expected, estimate, 2 * hypervolume.getHalfWidth());
+    }
+  }
+
+  @Test
+  public void shouldEvaluateDrawTheMaximumNumberOfSamplesWhenTheTargetCanNotBeReached() {
+    Random random = new Random(2) ;
+    List<PointSolution> front = createFront(40, 8, random) ;
+    MonteCarloHypervolume<PointSolution> hypervolume = createHypervolume(random) ;
+    hypervolume.setMaximumNumberOfSamples(2000);
+    hypervolume.setTargetHalfWidth(0.0);
+
+    hypervolume.evaluate(front) ;
+
+    assertTrue(hypervolume.getHalfWidth() > 0.0);
+    assertTrue(hypervolume.getHalfWidth() < 0.05);
+  }
+
+  @Test
+  public void shouldTheContributionsBeCloseToThoseOfThePISAHypervolume() {
+    Random random = new Random(3) ;
+    HypervolumeContributionAttribute<PointSolution> attribute = new HypervolumeContributionAttribute<>() ;
+    for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+      List<PointSolution> front = createFront(20, numberOfObjectives, random) ;
+      List<PointSolution> copies = new ArrayList<>() ;
+      for (PointSolution solution : front) {
+        copies.add(solution.copy()) ;
+      }
+
+      PISAHypervolume<PointSolution> exactHypervolume = new PISAHypervolume<>() ;
+      exactHypervolume.setOffset(0.1);
+      exactHypervolume.computeHypervolumeContribution(new ArrayList<>(front), front) ;
+      MonteCarloHypervolume<PointSolution> hypervolume = createHypervolume(random) ;
+      hypervolume.setOffset(0.1);
+      hypervolume.setMaximumNumberOfSamples(2000000);
+      hypervolume.computeHypervolumeContribution(new ArrayList<>(copies), copies) ;
+
+      for (int i = 0; i < front.size(); i++) {
+        double expected = attribute.getDouble(front.get(i)) ;
+        assertEquals(expected, attribute.getDouble(copies.get(i)), 0.05 * expected + 1e-4);
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheContributionOfADominatedSolutionBeZero() {
+    List<PointSolution> front = new ArrayList<>() ;
+    front.add(createSolution(0.0, 1.0, 0.5)) ;
+    front.add(createSolution(1.0, 0.0, 0.5)) ;
+    front.add(createSolution(1.0, 1.0, 0.5)) ;
+    front.add(createSolution(0.5, 0.5, 0.0)) ;
+
+    new MonteCarloHypervolume<PointSolution>().computeHypervolumeContribution(new ArrayList<>(front), front) ;
+
+    HypervolumeContributionAttribute<PointSolution> attribute = new HypervolumeContributionAttribute<>() ;
+    assertEquals(0.0, attribute.getDouble(front.get(2)), 0.0);
+    assertTrue(attribute.getDouble(front.get(0)) > 0.0);
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldSetConfidenceLevelRaiseAnExceptionIfTheLevelIsNotAProbability() {
+    new MonteCarloHypervolume<PointSolution>().setConfidenceLevel(1.0);
+  }
+
+  private MonteCarloHypervolume<PointSolution> createHypervolume(final Random random) {
+    MonteCarloHypervolume<PointSolution> hypervolume = new MonteCarloHypervolume<>() ;
+    hypervolume.setRandomGenerator(() -> random.nextDouble());
+    return hypervolume ;
+  }
+
+  private PointSolution createSolution(double... objectives) {
+    PointSolution solution = new PointSolution(objectives.length) ;
+    for (int i = 0; i < objectives.length; i++) {
+      solution.setObjective(i, objectives[i]);
+    }
+    return solution ;
+  }
+
+  // points near the unit simplex, so most of them are non-dominated
+  private List<PointSolution> createFront(int size, int numberOfObjectives, Random random) {
+    List<PointSolution> front = new ArrayList<>() ;
+    for (int i = 0; i < size; i++) {
+      double[] objectives = new double[numberOfObjectives] ;
+      double sum = 0.0 ;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        objectives[j] = random.nextDouble() ;
+        sum += objectives[j] ;
+      }
+      for (int j = 0; j < numberOfObjectives; j++) {
+        objectives[j] /= sum ;
+      }
+      front.add(createSolution(objectives)) ;
+    }
+    return front ;
+  }
+}
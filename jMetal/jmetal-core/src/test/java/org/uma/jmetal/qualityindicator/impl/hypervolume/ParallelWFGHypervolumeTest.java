@@ -0,0 +1,87 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume;
+
+import org.junit.Test;
+import org.uma.jmetal.util.front.imp.ArrayFront;
+import org.uma.jmetal.util.point.PointSolution;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelWFGHypervolumeTest {
+
+  @Test
+  public void shouldEvaluateReturnTheSameValueAsThePISAHypervolume() {
+    Random random = new Random(1) ;
+    for (int numberOfObjectives = 2; numberOfObjectives <= 6; numberOfObjectives++) {
+      List<PointSolution> front = createFront(60, numberOfObjectives, random) ;
+      ArrayFront referenceFront = new ArrayFront(front) ;
+
+      assertEquals(new PISAHypervolume<PointSolution>(referenceFront).evaluate(front),
+          new ParallelWFGHypervolume<PointSolution>(referenceFront).evaluate(front), 1e-12);
+    }
+  }
+
+  @Test
+  public void shouldEvaluateReturnTheSameValueWhateverThePool() {
+    Random random = new Random(2) ;
+    List<PointSolution> front = createFront(100, 6, random) ;
+    ParallelWFGHypervolume<PointSolution> hypervolume = new ParallelWFGHypervolume<>() ;
+    double expected = new PISAHypervolume<PointSolution>(new ArrayFront(front)).evaluate(front) ;
+
+    ForkJoinPool pool = new ForkJoinPool(4) ;
+    try {
+      hypervolume.setPool(pool);
+      assertEquals(expected, hypervolume.evaluate(front), 1e-12);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldTheContributionsBeTheSameAsThoseOfThePISAHypervolume() {
+    Random random = new Random(3) ;
+    HypervolumeContributionAttribute<PointSolution> attribute = new HypervolumeContributionAttribute<>() ;
+    for (int numberOfObjectives = 2; numberOfObjectives <= 5; numberOfObjectives++) {
+      List<PointSolution> front = createFront(30, numberOfObjectives, random) ;
+      List<PointSolution> copies = new ArrayList<>() ;
+      for (PointSolution solution : front) {
+        copies.add(solution.copy()) ;
+      }
+
+      PISAHypervolume<PointSolution> hypervolume = new PISAHypervolume<>() ;
+      hypervolume.setOffset(1.0);
+      hypervolume.computeHypervolumeContribution(new ArrayList<>(front), front) ;
+      ParallelWFGHypervolume<PointSolution> parallelHypervolume = new ParallelWFGHypervolume<>() ;
+      parallelHypervolume.setOffset(1.0);
+      parallelHypervolume.computeHypervolumeContribution(new ArrayList<>(copies), copies) ;
+
+      for (int i = 0; i < front.size(); i++) {
+        assertEquals(attribute.getDouble(front.get(i)), attribute.getDouble(copies.get(i)), 1e-9);
+      }
+    }
+  }
+
+  // points near the unit simplex, so most of them are non-dominated, plus a few dominated ones
+  private List<PointSolution> createFront(int size, int numberOfObjectives, Random random) {
+    List<PointSolution> front = new ArrayList<>() ;
+    for (int i = 0; i < size; i++) {
+      PointSolution solution = new PointSolution(numberOfObjectives) ;
+      double sum = 0.0 ;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        solution.setObjective(j, random.nextDouble());
+        sum += solution.getObjective(j) ;
+      }
+      double scale = (i % 10 == 0 ? 1.2 : 1.0) / sum ;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        solution.setObjective(j, Math.min(1.0, solution.getObjective(j) * scale));
+      }
+      front.add(solution) ;
+    }
+    return front ;
+  }
+}
@@ -0,0 +1,176 @@
+package org.uma.jmetal.solution.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ArrayIntegerSolutionTest {
+  private MockedIntegerProblem problem ;
+
+  @Before
+  public void setup() {
+    problem = new MockedIntegerProblem() ;
+    problem.setArrayBasedSolutions(true);
+  }
+
+  @Test
+  public void shouldConstructorCreateAnObject() {
+    IntegerSolution solution = problem.createSolution() ;
+
+    assertNotNull(solution);
+    assertTrue(solution instanceof ArrayIntegerSolution);
+  }
+
+  @Test
+  public void shouldProblemCreateDefaultSolutionsUnlessArrayBasedSolutionsAreSelected() {
+    problem.setArrayBasedSolutions(false);
+
+    assertTrue(problem.createSolution() instanceof DefaultIntegerSolution);
+  }
+
+  @Test
+  public void shouldConstructorInitializeTheVariablesWithinTheBounds() {
+    IntegerSolution solution = problem.createSolution() ;
+
+    for (int i = 0; i < problem.getNumberOfVariables(); i++) {
+      assertTrue(solution.getVariableValue(i) >= problem.getLowerBound(i));
+      assertTrue(solution.getVariableValue(i) <= problem.getUpperBound(i));
+    }
+  }
+
+  @Test
+  public void shouldCopyConstructorCreateAnIdenticalSolution() {
+    IntegerSolution solution = problem.createSolution() ;
+
+    assertEquals(solution, solution.copy());
+  }
+
+  @Test
+  public void shouldModifyingACopyNotModifyTheOriginalSolution() {
+    ArrayIntegerSolution solution = (ArrayIntegerSolution) problem.createSolution() ;
+    ArrayIntegerSolution copy = solution.copy() ;
+
+    copy.setIntVariableValue(0, solution.getIntVariableValue(0) + 1);
+    copy.setObjective(0, solution.getObjective(0) + 1);
+
+    assertNotEquals(solution.getIntVariableValue(0), copy.getIntVariableValue(0));
+    assertNotEquals(solution.getObjective(0), copy.getObjective(0), 0.0);
+  }
+
+  @Test
+  public void shouldBulkAccessorsCopyAllTheVariables() {
+    ArrayIntegerSolution solution = (ArrayIntegerSolution) problem.createSolution() ;
+    int[] values = {-1, 0, 1} ;
+
+    solution.setVariableValues(values);
+    int[] copiedValues = new int[solution.getNumberOfVariables()] ;
+    solution.copyVariableValues(copiedValues);
+
+    assertArrayEquals(values, copiedValues);
+    assertEquals(Integer.valueOf(-1), solution.getVariableValue(0));
+    assertEquals("1", solution.getVariableValueString(2));
+  }
+
+  @Test
+  public void shouldFillVariableValuesSetAllTheVariables() {
+    ArrayIntegerSolution solution = (ArrayIntegerSolution) problem.createSolution() ;
+
+    solution.fillVariableValues(2);
+
+    for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+      assertEquals(2, solution.getIntVariableValue(i));
+    }
+  }
+
+  @Test
+  public void shouldTheAttributesOfASlotBeSharedWithTheGenericAccessors() {
+    IntegerSolution solution = problem.createSolution() ;
+    CrowdingDistance<IntegerSolution> crowdingDistance = new CrowdingDistance<>() ;
+
+    assertNull(solution.getAttribute(crowdingDistance.getAttributeIdentifier()));
+    crowdingDistance.setDouble(solution, 1.5);
+    assertEquals(1.5, (double) solution.getAttribute(crowdingDistance.getAttributeIdentifier()), 0.0);
+    assertFalse(solution.getAttributes().containsKey(crowdingDistance.getAttributeIdentifier()));
+
+    solution.setAttribute(crowdingDistance.getAttributeIdentifier(), 2.5);
+    assertEquals(2.5, crowdingDistance.getDouble(solution), 0.0);
+    solution.setAttribute(crowdingDistance.getAttributeIdentifier(), null);
+    assertFalse(crowdingDistance.hasAttribute(solution));
+  }
+
+  @Test
+  public void shouldTheAttributesOfASlotBeCopiedAndSerialized() throws Exception {
+    ArrayIntegerSolution solution = (ArrayIntegerSolution) problem.createSolution() ;
+    DominanceRanking<IntegerSolution> ranking = new DominanceRanking<>() ;
+    ranking.setInt(solution, 3);
+    ArrayIntegerSolution copy = solution.copy() ;
+    ranking.setInt(copy, 4);
+
+    assertEquals(3, ranking.getInt(solution));
+    assertEquals(4, ranking.getInt(copy));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream() ;
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(solution.slotValues);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals(solution.slotValues, in.readObject());
+    }
+  }
+
+  @Test
+  public void shouldGetLowerBoundReturnTheRightValue() {
+    IntegerSolution solution = problem.createSolution() ;
+
+    assertEquals(problem.getLowerBound(0), solution.getLowerBound(0));
+    assertEquals(problem.getLowerBound(1), solution.getLowerBound(1));
+    assertEquals(problem.getLowerBound(2), solution.getLowerBound(2));
+  }
+
+  @Test
+  public void shouldGetUpperBoundReturnTheRightValue() {
+    IntegerSolution solution = problem.createSolution() ;
+
+    assertEquals(problem.getUpperBound(0), solution.getUpperBound(0));
+    assertEquals(problem.getUpperBound(1), solution.getUpperBound(1));
+    assertEquals(problem.getUpperBound(2), solution.getUpperBound(2));
+  }
+
+  @SuppressWarnings("serial")
+  private class MockedIntegerProblem extends AbstractIntegerProblem {
+    public MockedIntegerProblem() {
+      setNumberOfVariables(3);
+      setNumberOfObjectives(2);
+      setNumberOfConstraints(0);
+
+      List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+
+      lowerLimit.add(-4);
+      lowerLimit.add(-3);
+      lowerLimit.add(-2);
+      upperLimit.add(4);
+      upperLimit.add(5);
+      upperLimit.add(6);
+
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(IntegerSolution solution) {
+    }
+  }
+}
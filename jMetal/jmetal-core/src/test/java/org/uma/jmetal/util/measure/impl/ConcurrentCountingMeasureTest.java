@@ -0,0 +1,43 @@
+package org.uma.jmetal.util.measure.impl;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentCountingMeasureTest {
+
+	@Test
+	public void testIncrementAddsTheAmount() {
+		ConcurrentCountingMeasure measure = new ConcurrentCountingMeasure("count", "");
+
+		measure.increment();
+		assertEquals(1, (long) measure.get());
+
+		measure.increment(5);
+		assertEquals(6, (long) measure.get());
+
+		measure.reset();
+		assertEquals(0, (long) measure.get());
+	}
+
+	@Test
+	public void testNoIncrementIsLostBetweenThreads() throws InterruptedException {
+		final ConcurrentCountingMeasure measure = new ConcurrentCountingMeasure("count", "");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int task = 0; task < 4; task++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 10000; i++) {
+					measure.increment();
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(40000, (long) measure.get());
+	}
+}
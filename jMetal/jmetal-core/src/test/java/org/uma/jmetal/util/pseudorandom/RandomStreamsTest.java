@@ -0,0 +1,59 @@
+package org.uma.jmetal.util.pseudorandom;
+
+import org.junit.Test;
+import org.uma.jmetal.util.pseudorandom.impl.SplittableRandomGenerator;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class RandomStreamsTest {
+  @Test
+  public void shouldAStreamOnlyDependOnTheSeedAndItsId() {
+    RandomStreams streams = new RandomStreams(1);
+    RandomStreams sameSeedStreams = new RandomStreams(1);
+    // request the streams in another order
+    sameSeedStreams.getStream(3);
+    sameSeedStreams.getStream(0);
+
+    assertArrayEquals(draw(streams.getStream(2)), draw(sameSeedStreams.getStream(2)));
+    assertFalse(Arrays.equals(draw(streams.getStream(2)), draw(streams.getStream(1))));
+    assertFalse(Arrays.equals(draw(streams.getStream(2)), draw(new RandomStreams(2).getStream(2))));
+  }
+
+  @Test
+  public void shouldNextStreamReturnTheStreamsInOrder() {
+    RandomStreams streams = new RandomStreams(7);
+
+    assertArrayEquals(draw(streams.getStream(0)), draw(streams.nextStream()));
+    assertArrayEquals(draw(streams.getStream(1)), draw(streams.nextStream()));
+  }
+
+  @Test
+  public void shouldTheGeneratorKeepItsValuesWithinTheBounds() {
+    SplittableRandomGenerator randomGenerator = new RandomStreams(3).getStream(0);
+    for (int i = 0; i < 1000; i++) {
+      int value = randomGenerator.nextInt(-2, 2);
+      assertTrue(-2 <= value && value <= 2);
+      double doubleValue = randomGenerator.nextDouble(1.0, 1.5);
+      assertTrue(1.0 <= doubleValue && doubleValue < 1.5);
+    }
+  }
+
+  @Test
+  public void shouldASplitGeneratorBeReproducible() {
+    SplittableRandomGenerator randomGenerator = new SplittableRandomGenerator(11);
+    SplittableRandomGenerator sameSeedGenerator = new SplittableRandomGenerator(11);
+
+    assertArrayEquals(draw(randomGenerator.split()), draw(sameSeedGenerator.split()));
+    assertArrayEquals(draw(randomGenerator), draw(sameSeedGenerator));
+  }
+
+  private int[] draw(PseudoRandomGenerator randomGenerator) {
+    int[] values = new int[20];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = randomGenerator.nextInt(0, 1000000);
+    }
+    return values;
+  }
+}
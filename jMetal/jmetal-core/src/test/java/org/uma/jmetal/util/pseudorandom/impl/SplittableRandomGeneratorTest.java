@@ -0,0 +1,45 @@
+package org.uma.jmetal.util.pseudorandom.impl;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+
+public class SplittableRandomGeneratorTest {
+
+  @Test
+  public void shouldSplitGeneratorsKeepTheirOwnSequenceWhenDeserialized() throws Exception {
+    SplittableRandomGenerator parent = new SplittableRandomGenerator(1) ;
+    SplittableRandomGenerator child = parent.split() ;
+    SplittableRandomGenerator otherChild = parent.split() ;
+
+    SplittableRandomGenerator parentCopy = deserialize(serialize(parent)) ;
+    SplittableRandomGenerator childCopy = deserialize(serialize(child)) ;
+    SplittableRandomGenerator otherChildCopy = deserialize(serialize(otherChild)) ;
+
+    double parentValue = parentCopy.nextDouble() ;
+    double childValue = childCopy.nextDouble() ;
+    assertNotEquals(parentValue, childValue, 0.0);
+    assertNotEquals(childValue, otherChildCopy.nextDouble(), 0.0);
+    assertEquals(child.nextDouble(), childValue, 0.0);
+  }
+
+  private byte[] serialize(SplittableRandomGenerator generator) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream() ;
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(generator);
+    }
+    return bytes.toByteArray() ;
+  }
+
+  private SplittableRandomGenerator deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (SplittableRandomGenerator) in.readObject() ;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.pseudorandom.impl.JavaRandomGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FeasibleSlotEnumerationTest {
+  private ScheduleDataHandler handler;
+  private IntegerSolution solution;
+
+  @Before
+  public void setup() {
+    handler = new ScheduleDataHandler();
+    handler.setCellsInMatrix(handler.getClassroomQty() * 60);
+    solution = new MockedScheduleProblem(handler.getCellsInMatrix()).createSolution();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      // leave some cells of every classroom in use
+      boolean inUse = handler.isIndexClass(cellIndex) && cellIndex % 7 == 0;
+      solution.setVariableValue(cellIndex, inUse ? 11 : ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+  }
+
+  @Test
+  public void shouldPackedSlotsKeepBothCells() {
+    int slot = ScheduleDataHandler.packSlot(2869, 2861);
+
+    assertEquals(2869, ScheduleDataHandler.getSlotCell(slot));
+    assertEquals(2861, ScheduleDataHandler.getSlotPairCell(slot));
+  }
+
+  @Test
+  public void shouldEnumerateTheFeasibleSlotsOfAClassWithoutPair() {
+    List<Integer> slots = enumerate(20, false);
+
+    assertFalse(slots.isEmpty());
+    for (int slot : slots) {
+      int cellIndex = ScheduleDataHandler.getSlotCell(slot);
+      assertEquals(cellIndex, ScheduleDataHandler.getSlotPairCell(slot));
+      assertTrue(handler.isAvailable(cellIndex, solution));
+      assertTrue(handler.getAttendingStudents(20) <= handler.getClassroomCapacity(handler.getClassroom(cellIndex)));
+    }
+    assertEquals(slots.size(), new HashSet<>(slots).size());
+  }
+
+  @Test
+  public void shouldEnumerateTheFeasibleSlotsOfAClassWithPair() {
+    List<Integer> slots = enumerate(10, true);
+
+    assertFalse(slots.isEmpty());
+    for (int slot : slots) {
+      int cellIndex = ScheduleDataHandler.getSlotCell(slot);
+      int pairIndex = ScheduleDataHandler.getSlotPairCell(slot);
+      assertTrue(handler.isAvailable(cellIndex, solution));
+      assertTrue(handler.isAvailable(pairIndex, solution));
+      assertEquals(handler.getClassroom(cellIndex), handler.getClassroom(pairIndex));
+      assertEquals(handler.getTurn(cellIndex), handler.getTurn(pairIndex));
+      assertTrue(0 < handler.distanceBetweenDays(handler.getDay(cellIndex), handler.getDay(pairIndex)));
+    }
+  }
+
+  @Test
+  public void shouldTheFeasibleClassroomMapsFollowTheEnumeration() {
+    List<Integer> slots = enumerate(10, true);
+    HashMap<Integer, ArrayList<Integer>> options = handler.getFeasibleClassroomsWithPair(10, solution);
+
+    assertEquals(slots.size(), options.size());
+    for (int position = 0; position < slots.size(); position++) {
+      ArrayList<Integer> option = options.get(position);
+      int cellIndex = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(2) + option.get(3);
+      int pairIndex = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(4) + option.get(5);
+      assertEquals(ScheduleDataHandler.packSlot(cellIndex, pairIndex), (int) slots.get(position));
+    }
+  }
+
+  @Test
+  public void shouldCountAndSelectTheSlotsInEnumerationOrder() {
+    List<Integer> slots = enumerate(10, true);
+
+    assertEquals(slots.size(), handler.countFeasibleSlots(10, true, solution));
+    assertTrue(handler.hasFeasibleSlot(10, true, solution));
+    assertEquals((int) slots.get(0), handler.getFeasibleSlot(10, true, solution, 0));
+    assertEquals((int) slots.get(slots.size() - 1), handler.getFeasibleSlot(10, true, solution, slots.size() - 1));
+    assertEquals(-1, handler.getFeasibleSlot(10, true, solution, slots.size()));
+  }
+
+  @Test
+  public void shouldSampleOnlyFeasibleSlots() {
+    Set<Integer> slots = new HashSet<>(enumerate(20, false));
+    JavaRandomGenerator randomGenerator = new JavaRandomGenerator(1);
+
+    Set<Integer> sampled = new HashSet<>();
+    for (int i = 0; i < 200; i++) {
+      int slot = handler.sampleFeasibleSlot(20, false, solution, randomGenerator);
+      assertTrue(slots.contains(slot));
+      sampled.add(slot);
+    }
+    assertTrue(sampled.size() > 1);
+  }
+
+  @Test
+  public void shouldThereBeNoSlotsInAFullMatrix() {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      solution.setVariableValue(cellIndex, 11);
+    }
+
+    assertFalse(handler.hasFeasibleSlot(20, false, solution));
+    assertEquals(-1, handler.sampleFeasibleSlot(20, false, solution, new JavaRandomGenerator(1)));
+  }
+
+  private List<Integer> enumerate(int classWithType, boolean withPair) {
+    List<Integer> slots = new ArrayList<>();
+    handler.forEachFeasibleSlot(classWithType, withPair, solution, slot -> slots.add(slot));
+    return slots;
+  }
+
+  @SuppressWarnings("serial")
+  private class MockedScheduleProblem extends AbstractIntegerProblem {
+    public MockedScheduleProblem(int cellsInMatrix) {
+      setNumberOfVariables(cellsInMatrix);
+      setNumberOfObjectives(1);
+      setArrayBasedSolutions(true);
+
+      List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+      for (int i = 0; i < getNumberOfVariables(); i++) {
+        lowerLimit.add(-1);
+        upperLimit.add(cellsInMatrix);
+      }
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(IntegerSolution solution) {
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
+import org.uma.jmetal.solution.IntegerSolution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OccupancyTest {
+  private ScheduleDataHandler handler;
+  private ScheduleInstance instance;
+  private IntegerSolution solution;
+
+  @Before
+  public void setup() {
+    handler = new ScheduleDataHandler();
+    handler.setCellsInMatrix(handler.getClassroomQty() * 60);
+    instance = handler.getCompiledInstance();
+    solution = new MockedScheduleProblem(handler.getCellsInMatrix()).createSolution();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      // leave some cells of every classroom in use
+      boolean inUse = handler.isIndexClass(cellIndex) && cellIndex % 7 == 0;
+      solution.setVariableValue(cellIndex, inUse ? 11 : ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+  }
+
+  @Test
+  public void shouldTheRanksFollowTheClassroomCapacities() {
+    for (int rank = 0; rank < instance.getClassroomsQty(); rank++) {
+      assertEquals(rank, instance.getClassroomRank(instance.getClassroomByRank(rank)));
+      if (rank > 0) {
+        assertTrue(instance.getClassroomCapacity(instance.getClassroomByRank(rank - 1))
+            <= instance.getClassroomCapacity(instance.getClassroomByRank(rank)));
+      }
+    }
+    int firstRank = instance.getFirstFeasibleRank(handler.getAttendingStudents(20));
+    assertTrue(instance.getClassroomCapacity(instance.getClassroomByRank(firstRank)) >= handler.getAttendingStudents(20));
+    assertEquals(instance.getClassroomsQty(), instance.getFirstFeasibleRank(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void shouldTheOccupancyMatchTheCellsOfTheSolution() {
+    Occupancy occupancy = handler.getOccupancy(solution);
+
+    assertOccupancyMatchesTheSolution(occupancy);
+  }
+
+  @Test
+  public void shouldTheOccupancyFollowTheWritesOfTheHandler() {
+    Occupancy occupancy = handler.getOccupancy(solution);
+    handler.setCell(solution, 0, ScheduleDataHandler.AVAILABLE_INDEX);
+    handler.setCell(solution, 1, 21);
+    handler.setCell(solution, 60 * 3 + 20 * 2 + 9, 31);
+
+    assertSame(occupancy, handler.getOccupancy(solution));
+    assertOccupancyMatchesTheSolution(occupancy);
+  }
+
+  @Test
+  public void shouldACopyGetItsOwnOccupancy() {
+    Occupancy occupancy = handler.getOccupancy(solution);
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    handler.setCell(copy, 1, 21);
+
+    assertNotSame(occupancy, handler.getOccupancy(copy));
+    assertTrue(handler.getOccupancy(solution).isFree(0, 0, 1, instance.getClassroomRank(0)));
+    assertFalse(handler.getOccupancy(copy).isFree(0, 0, 1, instance.getClassroomRank(0)));
+  }
+
+  @Test
+  public void shouldTheFirstFreeRankBeTheSmallestFreeClassroom() {
+    Occupancy occupancy = handler.getOccupancy(solution);
+    for (int turn = 0; turn < 3; turn++) {
+      for (int day = 0; day < 5; day++) {
+        for (int cell = 0; cell < 2; cell++) {
+          int expected = -1;
+          for (int rank = 1; rank < instance.getClassroomsQty() && expected == -1; rank++) {
+            int cellIndex = 60 * instance.getClassroomByRank(rank) + 20 * turn + 2 * day + cell;
+            expected = (handler.isAvailable(cellIndex, solution) ? rank : -1);
+          }
+          assertEquals(expected, occupancy.firstFreeRank(turn, day, cell, 1));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheCountsMatchTheEnumeration() {
+    for (int classWithType : new int[]{10, 20, 11}) {
+      for (boolean withPair : new boolean[]{false, true}) {
+        int[] enumerated = {0};
+        handler.forEachFeasibleSlot(classWithType, withPair, solution, slot -> ++enumerated[0] > 0);
+
+        assertEquals(enumerated[0], handler.countFeasibleSlots(classWithType, withPair, solution));
+        assertEquals(enumerated[0] > 0, handler.hasFeasibleSlot(classWithType, withPair, solution));
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheFeasibleClassroomBeTheSmallestFreeOneThatFits() {
+    int attendingStudents = handler.getAttendingStudents(20);
+    int cellIndex = 60 * instance.getClassroomByRank(0) + 20 + 2;
+    int expected = -1;
+    for (int rank = instance.getFirstFeasibleRank(attendingStudents); rank < instance.getClassroomsQty() && expected == -1; rank++) {
+      for (int cell = 0; cell < 2 && expected == -1; cell++) {
+        int candidate = 60 * instance.getClassroomByRank(rank) + 20 + 2 + cell;
+        expected = (handler.isAvailable(candidate, solution) && candidate != cellIndex ? candidate : -1);
+      }
+    }
+
+    assertEquals(expected, handler.findFeasibleClassroom(attendingStudents - 1, cellIndex, solution, false));
+  }
+
+  @Test
+  public void shouldThereBeNoFeasibleClassroomInAFullMatrix() {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      handler.setCell(solution, cellIndex, 11);
+    }
+
+    assertFalse(handler.hasFeasibleSlot(10, false, solution));
+    assertEquals(-1, handler.findFeasibleClassroom(0, 0, solution, true));
+    assertEquals(-1, handler.findFeasibleClassroomAndDay(0, 0, solution, true));
+  }
+
+  private void assertOccupancyMatchesTheSolution(Occupancy occupancy) {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (handler.isIndexClass(cellIndex)) {
+        int rank = instance.getClassroomRank(handler.getClassroom(cellIndex));
+        assertEquals(handler.isAvailable(cellIndex, solution),
+            occupancy.isFree(handler.getTurn(cellIndex), handler.getDay(cellIndex), cellIndex % 2, rank));
+      }
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private class MockedScheduleProblem extends AbstractIntegerProblem {
+    public MockedScheduleProblem(int cellsInMatrix) {
+      setNumberOfVariables(cellsInMatrix);
+      setNumberOfObjectives(1);
+      setArrayBasedSolutions(true);
+
+      List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+      for (int i = 0; i < getNumberOfVariables(); i++) {
+        lowerLimit.add(-1);
+        upperLimit.add(cellsInMatrix);
+      }
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(IntegerSolution solution) {
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.uma.jmetal.util.JMetalException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ScheduleInstanceLoaderTest {
+  private static final String SMALL_INSTANCE = "# two courses in two classrooms\n"
+      + "parameter,amountCourses,2\n"
+      + "parameter,disparityFactor,10\n"
+      + "parameter,consecutivePenaltyFactor,20\n"
+      + "classroom,0,A,30\n"
+      + "classroom,1,B,20\n"
+      + "orientation,0,100\n"
+      + "orientation,1,50\n"
+      + "year,1,0.5\n"
+      + "\n"
+      + "course,0,1,1,2,0,0,0 1\n"
+      + "course,1,1,0,0,3,0,1\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldTheDefaultInstanceBeLoaded() {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+
+    assertEquals(48, handler.getClassroomQty());
+    assertEquals(45, handler.getCourseMapOrientation().size());
+    assertEquals(350, (int) handler.getClassroomCapacity().get(handler.getClassroomNameMap().get(8)));
+    assertEquals((0.475f + 0.307f) / 2, handler.getRateOfYearlyDecay().get(0), 0.0f);
+    assertEquals(Arrays.asList(5, 12, 0, 0), handler.getCourseMapClasses().get(0));
+    assertEquals(80, handler.getDisparityFactor());
+  }
+
+  @Test
+  public void shouldAnInstanceBeReadFromCsv() throws IOException {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    ScheduleInstanceLoader.readCsv(new StringReader(SMALL_INSTANCE), handler);
+
+    assertEquals(2, handler.getClassroomQty());
+    assertEquals(20, handler.getConsecutivePenaltyFactor());
+    assertEquals(20, handler.getClassroomCapacity(1));
+    assertEquals(Arrays.asList(0, 0, 3, 0), handler.getCourseMapClasses().get(1));
+    assertTrue(handler.getCourseMapOrientation().get(0).containsAll(Arrays.asList(0, 1)));
+    assertEquals(75, (int) handler.getClassStudents().get(0));
+    assertEquals(2, handler.getCompiledInstance().getAmountCourses());
+  }
+
+  @Test
+  public void shouldTheBinaryFormKeepTheInstance() throws IOException {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    Path file = folder.newFile("fing.bin").toPath();
+    ScheduleInstanceLoader.writeBinary(handler, file);
+
+    ScheduleDataHandler loaded = new ScheduleDataHandler(file);
+
+    assertEquals(handler.getAmountCourses(), loaded.getAmountCourses());
+    assertEquals(handler.getDisparityFactor(), loaded.getDisparityFactor());
+    assertEquals(handler.getConsecutivePenaltyFactor(), loaded.getConsecutivePenaltyFactor());
+    assertEquals(handler.getClassroomCapacity(), loaded.getClassroomCapacity());
+    assertEquals(handler.getClassroomNameMap(), loaded.getClassroomNameMap());
+    assertEquals(handler.getOrientationStudents(), loaded.getOrientationStudents());
+    assertEquals(handler.getRateOfYearlyDecay(), loaded.getRateOfYearlyDecay());
+    assertEquals(handler.getCourseMapYear(), loaded.getCourseMapYear());
+    assertEquals(handler.getCourseMapClasses(), loaded.getCourseMapClasses());
+    assertEquals(handler.getCourseMapOrientation(), loaded.getCourseMapOrientation());
+    assertEquals(handler.getClassStudents(), loaded.getClassStudents());
+  }
+
+  @Test
+  public void shouldACsvFileBeLoadedByPath() throws IOException {
+    Path file = folder.newFile("small.csv").toPath();
+    Files.write(file, SMALL_INSTANCE.getBytes("UTF-8"));
+
+    ScheduleDataHandler handler = new ScheduleDataHandler(file);
+
+    assertEquals(2, handler.getClassroomQty());
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldAnUnknownRecordBeRejected() throws IOException {
+    ScheduleInstanceLoader.readCsv(new StringReader("teacher,0,Ana\n"), new ScheduleDataHandler());
+  }
+}
@@ -0,0 +1,75 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ScheduleInstanceTest {
+  private ScheduleDataHandler handler;
+  private ScheduleInstance instance;
+
+  @Before
+  public void setup() {
+    handler = new ScheduleDataHandler();
+    instance = handler.getCompiledInstance();
+  }
+
+  @Test
+  public void shouldCompileTheClassroomCapacities() {
+    assertEquals(handler.getClassroomQty(), instance.getClassroomsQty());
+    for (int classroom = 0; classroom < instance.getClassroomsQty(); classroom++) {
+      int capacity = handler.getClassroomCapacity().get(handler.getClassroomNameMap().get(classroom));
+      assertEquals(capacity, instance.getClassroomCapacity(classroom));
+    }
+  }
+
+  @Test
+  public void shouldCompileTheAttendingStudents() {
+    for (int course = 0; course < instance.getAmountCourses(); course++) {
+      for (int type = 0; type < handler.getCourseMapClasses().get(course).size(); type++) {
+        int classWithType = 10 * course + type;
+        assertEquals(handler.computeAttendingStudents(classWithType), instance.getAttendingStudents(classWithType));
+      }
+    }
+  }
+
+  @Test
+  public void shouldCompileTheAffectedStudents() {
+    for (int course1 = 0; course1 < instance.getAmountCourses(); course1++) {
+      for (int course2 = 0; course2 < instance.getAmountCourses(); course2++) {
+        assertEquals(affectedStudents(course1, course2), instance.getAffectedStudents(course1, course2));
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheCompiledInstanceBeReusedUntilTheDataChanges() {
+    assertSame(instance, handler.getCompiledInstance());
+
+    handler.setRateOfYearlyDecay(handler.getRateOfYearlyDecay());
+
+    assertNotSame(instance, handler.getCompiledInstance());
+  }
+
+  // affected students computed from the maps of the handler
+  private int affectedStudents(int course1, int course2) {
+    HashSet<Integer> collidingOrientations = new HashSet<Integer>();
+    for (Integer orientation : handler.getCourseMapOrientation().get(course1)) {
+      if (handler.getCourseMapOrientation().get(course2).contains(orientation)
+          && handler.getCourseMapYear().get(course1).equals(handler.getCourseMapYear().get(course2))) {
+        collidingOrientations.add(orientation);
+      }
+    }
+    int affectedStudents = 0;
+    for (Integer orientation : collidingOrientations) {
+      affectedStudents += handler.getOrientationStudents().get(orientation)
+          * handler.getRateOfYearlyDecay().get(handler.getCourseMapYear().get(course1));
+    }
+    return affectedStudents;
+  }
+}
@@ -0,0 +1,114 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.JMetalException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class UndoLogTest {
+  private ScheduleDataHandler handler;
+  private IntegerSolution solution;
+
+  @Before
+  public void setup() {
+    handler = new ScheduleDataHandler();
+    handler.setCellsInMatrix(handler.getClassroomQty() * 60);
+    MockedScheduleProblem problem = new MockedScheduleProblem(handler.getCellsInMatrix());
+    solution = problem.createSolution();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      solution.setVariableValue(cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+    solution.setVariableValue(0, 11);
+    solution.setVariableValue(10, 0);
+  }
+
+  @Test
+  public void shouldRollbackRestoreTheWrittenCells() {
+    handler.beginTransaction(solution);
+    handler.setCell(solution, 0, 21);
+    handler.setCell(solution, 0, 31);
+    handler.setCell(solution, 1, 41);
+    handler.setCell(solution, 11, 1);
+    handler.rollbackTransaction(solution);
+
+    assertEquals(11, handler.getCell(solution, 0));
+    assertEquals(0, handler.getCell(solution, 10));
+    assertEquals(ScheduleDataHandler.AVAILABLE_INDEX, handler.getCell(solution, 1));
+    assertEquals(ScheduleDataHandler.AVAILABLE_INDEX, handler.getCell(solution, 11));
+  }
+
+  @Test
+  public void shouldCommitKeepTheWrittenCells() {
+    handler.beginTransaction(solution);
+    handler.setCell(solution, 1, 41);
+    handler.commitTransaction(solution);
+
+    assertEquals(41, handler.getCell(solution, 1));
+  }
+
+  @Test
+  public void shouldWritesToACopyNotBeRolledBack() {
+    handler.beginTransaction(solution);
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    handler.setCell(copy, 1, 41);
+    handler.setCell(solution, 2, 51);
+    handler.rollbackTransaction(solution);
+
+    assertEquals(41, handler.getCell(copy, 1));
+    assertEquals(ScheduleDataHandler.AVAILABLE_INDEX, handler.getCell(solution, 2));
+  }
+
+  @Test
+  public void shouldTheClassesDeltaCountTheClassesAddedAndRemoved() {
+    handler.beginTransaction(solution);
+    handler.setCell(solution, 1, 41);
+    handler.setCell(solution, 11, 1);
+    handler.setCell(solution, 2, 51);
+
+    assertEquals(2, handler.getTransactionClassesDelta(solution));
+
+    handler.setCell(solution, 0, ScheduleDataHandler.AVAILABLE_INDEX);
+    handler.setCell(solution, 1, 61);
+
+    assertEquals(1, handler.getTransactionClassesDelta(solution));
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldBeginTransactionFailIfTheSolutionIsAlreadyInATransaction() {
+    handler.beginTransaction(solution);
+    handler.beginTransaction(solution);
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldRollbackTransactionFailIfTheSolutionIsNotInATransaction() {
+    handler.rollbackTransaction(solution);
+  }
+
+  @SuppressWarnings("serial")
+  private class MockedScheduleProblem extends AbstractIntegerProblem {
+    public MockedScheduleProblem(int cellsInMatrix) {
+      setNumberOfVariables(cellsInMatrix);
+      setNumberOfObjectives(1);
+      setArrayBasedSolutions(true);
+
+      List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+      for (int i = 0; i < getNumberOfVariables(); i++) {
+        lowerLimit.add(-1);
+        upperLimit.add(cellsInMatrix);
+      }
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(IntegerSolution solution) {
+    }
+  }
+}
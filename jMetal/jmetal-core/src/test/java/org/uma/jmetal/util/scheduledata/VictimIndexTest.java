@@ -0,0 +1,146 @@
+package org.uma.jmetal.util.scheduledata;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
+import org.uma.jmetal.solution.IntegerSolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VictimIndexTest {
+  private ScheduleDataHandler handler;
+  private IntegerSolution solution;
+  private Random random;
+
+  @Before
+  public void setup() {
+    handler = new ScheduleDataHandler();
+    handler.setCellsInMatrix(handler.getClassroomQty() * 60);
+    solution = new MockedScheduleProblem(handler.getCellsInMatrix()).createSolution();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      solution.setVariableValue(cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+    random = new Random(1);
+    // classes with and without pair in some cells of every classroom
+    for (int classroom = 0; classroom < handler.getClassroomQty(); classroom++) {
+      for (int turn = 0; turn < 3; turn++) {
+        int cellIndex = 60 * classroom + 20 * turn;
+        if (random.nextBoolean()) {
+          placePair(randomClass(), cellIndex, cellIndex + 4);
+        } else {
+          placeClass(randomClass(), cellIndex + 1);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheVictimBeTheLowestAttendanceDisplaceableClass() {
+    for (int classWithType = 10; classWithType < 60; classWithType += 10) {
+      assertEquals(bruteForceVictim(true, classWithType), handler.findVictim(true, classWithType, solution));
+      assertEquals(bruteForceVictim(false, classWithType), handler.findVictim(false, classWithType, solution));
+    }
+  }
+
+  @Test
+  public void shouldTheIndexFollowTheWritesOfTheHandler() {
+    handler.getVictimIndex(solution);
+    for (int i = 0; i < 200; i++) {
+      int classroom = random.nextInt(handler.getClassroomQty());
+      int cellIndex = 60 * classroom + 20 * random.nextInt(3) + 2 * random.nextInt(2);
+      if (!handler.isAvailable(cellIndex, solution) || !handler.isAvailable(cellIndex + 6, solution)) {
+        // remove a class together with its pair, or break the pair
+        handler.setCell(solution, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+        handler.setCell(solution, cellIndex + 10, ScheduleDataHandler.AVAILABLE_INDEX);
+      } else if (random.nextBoolean()) {
+        placePair(randomClass(), cellIndex, cellIndex + 6);
+      } else {
+        placeClass(randomClass(), cellIndex);
+      }
+      int classWithType = 10 * (1 + random.nextInt(5));
+      boolean withPair = random.nextBoolean();
+      assertEquals(bruteForceVictim(withPair, classWithType), handler.findVictim(withPair, classWithType, solution));
+    }
+  }
+
+  @Test
+  public void shouldACopyGetItsOwnIndex() {
+    VictimIndex victims = handler.getVictimIndex(solution);
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+
+    assertNotSame(victims, handler.getVictimIndex(copy));
+    assertSame(victims, handler.getVictimIndex(solution));
+  }
+
+  @Test
+  public void shouldThereBeNoVictimInAnEmptyMatrix() {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      handler.setCell(solution, cellIndex, ScheduleDataHandler.AVAILABLE_INDEX);
+    }
+
+    assertEquals(-1, handler.findVictim(true, 10, solution));
+    assertEquals(-1, handler.findVictim(false, 10, solution));
+  }
+
+  private int randomClass() {
+    return 10 * random.nextInt(handler.getCompiledInstance().getAmountCourses()) + random.nextInt(2);
+  }
+
+  private void placeClass(int classWithType, int cellIndex) {
+    handler.setCell(solution, cellIndex, classWithType);
+    handler.setCell(solution, cellIndex + 10, cellIndex);
+  }
+
+  private void placePair(int classWithType, int cellIndex, int pairIndex) {
+    handler.setCell(solution, cellIndex, classWithType);
+    handler.setCell(solution, cellIndex + 10, pairIndex);
+    handler.setCell(solution, pairIndex, classWithType);
+    handler.setCell(solution, pairIndex + 10, cellIndex);
+  }
+
+  // the victim as chosen by scanning every cell of the matrix
+  private int bruteForceVictim(boolean hasPair, int classWithType) {
+    int victim = -1;
+    int victimAttendance = Integer.MAX_VALUE;
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (!handler.isIndexClass(cellIndex) || handler.isAvailable(cellIndex, solution)
+          || handler.getAttendingStudents(classWithType) > handler.getClassroomCapacity(handler.getClassroom(cellIndex))
+          || handler.hasPair(cellIndex, solution) != hasPair
+          || !handler.hasFeasibleSlot(handler.getCell(solution, cellIndex), hasPair, solution)) {
+        continue;
+      }
+      int attendance = handler.getAttendingStudents(handler.getCell(solution, cellIndex));
+      if (attendance < victimAttendance) {
+        victim = cellIndex;
+        victimAttendance = attendance;
+      }
+    }
+    return victim;
+  }
+
+  @SuppressWarnings("serial")
+  private class MockedScheduleProblem extends AbstractIntegerProblem {
+    public MockedScheduleProblem(int cellsInMatrix) {
+      setNumberOfVariables(cellsInMatrix);
+      setNumberOfObjectives(1);
+      setArrayBasedSolutions(true);
+
+      List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables()) ;
+      List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables()) ;
+      for (int i = 0; i < getNumberOfVariables(); i++) {
+        lowerLimit.add(-1);
+        upperLimit.add(cellsInMatrix);
+      }
+      setLowerLimit(lowerLimit);
+      setUpperLimit(upperLimit);
+    }
+
+    @Override
+    public void evaluate(IntegerSolution solution) {
+    }
+  }
+}
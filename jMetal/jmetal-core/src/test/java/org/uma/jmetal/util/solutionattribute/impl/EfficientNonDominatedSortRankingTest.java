@@ -0,0 +1,115 @@
+package org.uma.jmetal.util.solutionattribute.impl;
+
+import org.junit.Test;
+import org.uma.jmetal.problem.impl.AbstractDoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class EfficientNonDominatedSortRankingTest {
+
+  @Test
+  public void shouldTheRankingOfAnEmptyPopulationReturnZeroSubfronts() {
+    Ranking<DoubleSolution> ranking = new EfficientNonDominatedSortRanking<>();
+    ranking.computeRanking(new ArrayList<DoubleSolution>());
+
+    assertEquals(0, ranking.getNumberOfSubfronts());
+  }
+
+  @Test
+  public void shouldTheRanksBeTheSameAsTheFastNonDominatedSortWithTwoObjectives() {
+    shouldTheRanksBeTheSameAsTheFastNonDominatedSort(2, false);
+  }
+
+  @Test
+  public void shouldTheRanksBeTheSameAsTheFastNonDominatedSortWithManyObjectives() {
+    shouldTheRanksBeTheSameAsTheFastNonDominatedSort(3, false);
+    shouldTheRanksBeTheSameAsTheFastNonDominatedSort(5, false);
+  }
+
+  @Test
+  public void shouldTheRanksBeTheSameAsTheFastNonDominatedSortWithConstraints() {
+    shouldTheRanksBeTheSameAsTheFastNonDominatedSort(2, true);
+    shouldTheRanksBeTheSameAsTheFastNonDominatedSort(4, true);
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldRankingAPopulationWithANaNObjectiveRaiseAnException() {
+    DummyProblem problem = new DummyProblem(2);
+    List<DoubleSolution> population = new ArrayList<>();
+    population.add(problem.createSolution());
+    population.get(0).setObjective(1, Double.NaN);
+
+    new EfficientNonDominatedSortRanking<DoubleSolution>().computeRanking(population);
+  }
+
+  // random populations with few distinct values, so there are ties and copies, and
+  // both zeros, which are equal for the dominance comparator
+  private void shouldTheRanksBeTheSameAsTheFastNonDominatedSort(int numberOfObjectives, boolean constrained) {
+    DummyProblem problem = new DummyProblem(numberOfObjectives);
+    OverallConstraintViolation<DoubleSolution> violation = new OverallConstraintViolation<>();
+    Random random = new Random(numberOfObjectives);
+    for (int run = 0; run < 20; run++) {
+      List<DoubleSolution> population = new ArrayList<>();
+      for (int i = 0; i < 10 + random.nextInt(200); i++) {
+        DoubleSolution solution = problem.createSolution();
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+          int value = random.nextInt(10);
+          solution.setObjective(objective, value == 0 && random.nextBoolean() ? -0.0 : value);
+        }
+        if (constrained) {
+          violation.setAttribute(solution, random.nextBoolean() ? 0.0 : -random.nextInt(3));
+        }
+        population.add(solution);
+      }
+
+      // a subclass of the comparator is not known to be Pareto dominance, so it is not sorted
+      Ranking<DoubleSolution> expected = new DominanceRanking<DoubleSolution>(
+          new DominanceComparator<DoubleSolution>() {});
+      expected.computeRanking(population);
+      List<Integer> expectedRanks = new ArrayList<>();
+      for (DoubleSolution solution : population) {
+        expectedRanks.add(expected.getAttribute(solution));
+      }
+
+      Ranking<DoubleSolution> ranking = new EfficientNonDominatedSortRanking<>();
+      ranking.computeRanking(population);
+      List<Integer> ranks = new ArrayList<>();
+      for (DoubleSolution solution : population) {
+        ranks.add(ranking.getAttribute(solution));
+      }
+      assertEquals(expectedRanks, ranks);
+      assertEquals(expected.getNumberOfSubfronts(), ranking.getNumberOfSubfronts());
+      for (int rank = 0; rank < ranking.getNumberOfSubfronts(); rank++) {
+        assertEquals(new HashSet<>(expected.getSubfront(rank)), new HashSet<>(ranking.getSubfront(rank)));
+      }
+
+      // the default dominance ranking sorts large populations
+      Ranking<DoubleSolution> dominanceRanking = new DominanceRanking<>();
+      dominanceRanking.computeRanking(population);
+      for (int i = 0; i < population.size(); i++) {
+        assertEquals(expectedRanks.get(i), dominanceRanking.getAttribute(population.get(i)));
+      }
+    }
+  }
+
+  @SuppressWarnings("serial")
+  private class DummyProblem extends AbstractDoubleProblem {
+
+    public DummyProblem(int numberOfObjectives) {
+      setNumberOfObjectives(numberOfObjectives);
+    }
+
+    @Override
+    public void evaluate(DoubleSolution solution) {
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package org.uma.jmetal.util.solutionscreation.impl;
+
+import org.junit.Test;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.solutionscreation.RandomSolutionFactory;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ForkJoinSolutionListCreatorTest {
+  // draws a few numbers so that the solutions depend on their generator
+  private final RandomSolutionFactory<Integer> factory = randomGenerator -> {
+    int value = 0;
+    for (int i = 0; i < 10; i++) {
+      value = 31 * value + randomGenerator.nextInt(0, 1000);
+    }
+    return value;
+  };
+
+  @Test
+  public void shouldCreateTheRequestedNumberOfSolutions() {
+    ForkJoinSolutionListCreator<Integer> creator = new ForkJoinSolutionListCreator<>(factory, 1, 2);
+
+    assertEquals(37, creator.create(37).size());
+    creator.shutdown();
+  }
+
+  @Test
+  public void shouldTheSolutionsOnlyDependOnTheSeed() {
+    ForkJoinSolutionListCreator<Integer> oneThread = new ForkJoinSolutionListCreator<>(factory, 5, 1);
+    ForkJoinSolutionListCreator<Integer> fourThreads = new ForkJoinSolutionListCreator<>(factory, 5, 4);
+    ForkJoinSolutionListCreator<Integer> otherSeed = new ForkJoinSolutionListCreator<>(factory, 6, 4);
+
+    List<Integer> solutions = oneThread.create(50);
+    assertEquals(solutions, fourThreads.create(50));
+    assertNotEquals(solutions, otherSeed.create(50));
+    // the stream of seeds goes on
+    assertNotEquals(solutions, oneThread.create(50));
+
+    oneThread.shutdown();
+    fourThreads.shutdown();
+    otherSeed.shutdown();
+  }
+
+  @Test
+  public void shouldTheFirstStreamIdSkipTheStreamsBeforeIt() {
+    ForkJoinSolutionListCreator<Integer> fromZero = new ForkJoinSolutionListCreator<>(factory, 5, 2);
+    ForkJoinSolutionListCreator<Integer> fromTen = new ForkJoinSolutionListCreator<>(factory, 5, 10, 2);
+
+    List<Integer> solutions = fromZero.create(30);
+    assertEquals(solutions.subList(10, 30), fromTen.create(20));
+
+    fromZero.shutdown();
+    fromTen.shutdown();
+  }
+
+  @Test(expected = JMetalException.class)
+  public void shouldFailWithANegativeNumberOfThreads() {
+    new ForkJoinSolutionListCreator<>(factory, 1, -1);
+  }
+}
@@ -0,0 +1,51 @@
+package org.uma.jmetal.runner.multiobjective;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
+import org.uma.jmetal.problem.multiobjective.MultiObjectiveSchedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.AbstractAlgorithmRunner;
+import org.uma.jmetal.util.AlgorithmRunner;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.MultithreadedSolutionListEvaluator;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.List;
+
+/**
+ * Class for configuring and running the NSGA-II algorithm on the schedule problem, with the
+ * terms of its fitness as objectives. The offspring are evaluated in parallel.
+ */
+public class NSGAIIScheduleRunner extends AbstractAlgorithmRunner {
+  public static void main(String[] args) {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    MultiObjectiveSchedule problem = new MultiObjectiveSchedule(handler);
+
+    ScheduleCrossover crossover = new ScheduleCrossover(handler, 0.25);
+    ScheduleMutation mutation = new ScheduleMutation(handler);
+    SolutionListEvaluator<IntegerSolution> evaluator = new MultithreadedSolutionListEvaluator<IntegerSolution>(0,
+        problem);
+
+    int populationSize = 100;
+    Algorithm<List<IntegerSolution>> algorithm = new NSGAIIBuilder<IntegerSolution>(problem, crossover, mutation,
+        populationSize)
+        .setSelectionOperator(new BinaryTournamentSelection<IntegerSolution>())
+        .setSolutionListEvaluator(evaluator)
+        .setMaxEvaluations(10000)
+        .build();
+
+    AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
+    evaluator.shutdown();
+
+    List<IntegerSolution> population = algorithm.getResult();
+    long computingTime = algorithmRunner.getComputingTime();
+
+    JMetalLogger.logger.info("Total execution time: " + computingTime + "ms");
+
+    printFinalSolutionSet(population);
+  }
+}
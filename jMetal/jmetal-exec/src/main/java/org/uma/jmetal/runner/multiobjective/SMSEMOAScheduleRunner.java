@@ -0,0 +1,50 @@
+package org.uma.jmetal.runner.multiobjective;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.multiobjective.smsemoa.SMSEMOABuilder;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.operator.impl.selection.RandomSelection;
+import org.uma.jmetal.problem.multiobjective.MultiObjectiveSchedule;
+import org.uma.jmetal.qualityindicator.impl.Hypervolume;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.PISAHypervolume;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.AbstractAlgorithmRunner;
+import org.uma.jmetal.util.AlgorithmRunner;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.List;
+
+/**
+ * Class for configuring and running the SMS-EMOA algorithm on the schedule problem, with the
+ * terms of its fitness as objectives
+ */
+public class SMSEMOAScheduleRunner extends AbstractAlgorithmRunner {
+  public static void main(String[] args) {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    MultiObjectiveSchedule problem = new MultiObjectiveSchedule(handler);
+
+    ScheduleCrossover crossover = new ScheduleCrossover(handler, 0.25);
+    ScheduleMutation mutation = new ScheduleMutation(handler);
+
+    Hypervolume<IntegerSolution> hypervolume = new PISAHypervolume<>();
+    hypervolume.setOffset(100.0);
+
+    Algorithm<List<IntegerSolution>> algorithm = new SMSEMOABuilder<IntegerSolution>(problem, crossover, mutation)
+        .setSelectionOperator(new RandomSelection<IntegerSolution>())
+        .setMaxEvaluations(5000)
+        .setPopulationSize(100)
+        .setHypervolumeImplementation(hypervolume)
+        .build();
+
+    AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
+
+    List<IntegerSolution> population = algorithm.getResult();
+    long computingTime = algorithmRunner.getComputingTime();
+
+    JMetalLogger.logger.info("Total execution time: " + computingTime + "ms");
+
+    printFinalSolutionSet(population);
+  }
+}
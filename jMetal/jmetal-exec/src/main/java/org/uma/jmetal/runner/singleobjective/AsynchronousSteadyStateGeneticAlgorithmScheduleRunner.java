@@ -0,0 +1,65 @@
+package org.uma.jmetal.runner.singleobjective;
+
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.AsynchronousSteadyStateGeneticAlgorithm;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.AsynchronousSteadyStateGeneticAlgorithm.ReplacementPolicy;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.AlgorithmRunner;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.fileoutput.SolutionListOutput;
+import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
+import org.uma.jmetal.util.pseudorandom.RandomStreams;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+import org.uma.jmetal.util.solutionscreation.impl.ForkJoinSolutionListCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class to configure and run an asynchronous steady state genetic algorithm on the schedule
+ * problem, with as many workers as processors
+ */
+public class AsynchronousSteadyStateGeneticAlgorithmScheduleRunner {
+  // stream of the first solution created, past the streams of the operators of any number of workers
+  private static final long CREATION_STREAMS = 1L << 32;
+
+  public static void main(String[] args) throws Exception {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    Schedule scheduleProblem = new Schedule(handler);
+    double crossoverProbability = 0.25;
+    // every worker draws its random numbers from its own streams, 2 * worker and 2 * worker + 1,
+    // and every solution of the initial population from one of the streams after CREATION_STREAMS
+    RandomStreams streams = RandomStreams.fromJMetalRandom();
+
+    SolutionListCreator<IntegerSolution> creator = new ForkJoinSolutionListCreator<>(scheduleProblem,
+        streams.getSeed(), CREATION_STREAMS, 0);
+    AsynchronousSteadyStateGeneticAlgorithm<IntegerSolution> algorithm = new AsynchronousSteadyStateGeneticAlgorithm<>(
+        scheduleProblem, 10000, 100, 0, ReplacementPolicy.WORST,
+        worker -> new ScheduleCrossover(handler, crossoverProbability, streams.getStream(2 * worker)),
+        worker -> new ScheduleMutation(handler, 0.01, streams.getStream(2 * worker + 1)),
+        worker -> new BinaryTournamentSelection<IntegerSolution>());
+    algorithm.setSolutionListCreator(creator);
+
+    AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
+    creator.shutdown();
+
+    List<IntegerSolution> population = new ArrayList<>(1);
+    population.add(algorithm.getResult());
+
+    long computingTime = algorithmRunner.getComputingTime();
+
+    new SolutionListOutput(population).setSeparator("\t")
+        .setVarFileOutputContext(new DefaultFileOutputContext("Variables.tsv"))
+        .setFunFileOutputContext(new DefaultFileOutputContext("Objectives.tsv")).print();
+
+    JMetalLogger.logger.info("Total execution time: " + computingTime + "ms");
+    JMetalLogger.logger.info("Workers: " + algorithm.getNumberOfWorkers() + ", offspring inserted: "
+        + algorithm.getReplacements());
+    JMetalLogger.logger.info("Objectives values have been written to file Objectives.tsv");
+    JMetalLogger.logger.info("Variables values have been written to file Variables.tsv");
+  }
+}
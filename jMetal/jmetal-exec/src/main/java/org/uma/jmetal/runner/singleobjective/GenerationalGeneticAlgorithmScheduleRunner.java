@@ -6,23 +6,28 @@ import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.localsearch.ScheduleTabuSearch;
 import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
 import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
-import org.uma.jmetal.problem.IntegerProblem;
 import org.uma.jmetal.problem.singleobjective.Schedule;
 import org.uma.jmetal.solution.IntegerSolution;
 import org.uma.jmetal.util.AlgorithmRunner;
 import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.evaluator.impl.CachingSolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 import org.uma.jmetal.util.fileoutput.SolutionListOutput;
 import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+import org.uma.jmetal.util.solutionscreation.impl.ForkJoinSolutionListCreator;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class GenerationalGeneticAlgorithmScheduleRunner {
   public static void main(String[] args) throws Exception {
-    IntegerProblem scheduleProblem;
+    Schedule scheduleProblem;
     Algorithm<IntegerSolution> algorithm;
     CrossoverOperator<IntegerSolution> crossover;
     MutationOperator<IntegerSolution> mutator;
@@ -35,13 +40,23 @@ public class GenerationalGeneticAlgorithmScheduleRunner {
     crossover = new ScheduleCrossover(handler, crossoverProbability);
     mutator = new ScheduleMutation(handler);
     selector = new BinaryTournamentSelection<IntegerSolution>();
+    // the initial population is created in parallel, as many threads as processors
+    SolutionListCreator<IntegerSolution> creator = new ForkJoinSolutionListCreator<>(scheduleProblem,
+        JMetalRandom.getInstance().getSeed(), 0);
+    // offspring equal to an individual evaluated recently are not evaluated again
+    CachingSolutionListEvaluator<IntegerSolution> evaluator = new CachingSolutionListEvaluator<>(
+        new SequentialSolutionListEvaluator<IntegerSolution>(), handler::getHash, 1000);
 
     System.out.println("DATA INICIALIZADA");
     algorithm = new GeneticAlgorithmBuilder<>(scheduleProblem, crossover, mutator).setPopulationSize(100)
-        .setMaxEvaluations(10000).setSelectionOperator(selector).build();
+        .setMaxEvaluations(10000).setSelectionOperator(selector).setSolutionListCreator(creator)
+        .setSolutionListEvaluator(evaluator)
+        // a short tabu search on the two best individuals of every generation
+        .setLocalSearch(new ScheduleTabuSearch(scheduleProblem, handler, 20, 10, 5), 2).build();
     System.out.println("ALGORITMO INICIALIZADO");
     AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
     System.out.println("TERMINO DE EJECUTAR");
+    creator.shutdown();
     IntegerSolution solution = algorithm.getResult();
     List<IntegerSolution> population = new ArrayList<>(1);
     population.add(solution);
@@ -53,6 +68,10 @@ public class GenerationalGeneticAlgorithmScheduleRunner {
         .setFunFileOutputContext(new DefaultFileOutputContext("Objectives.tsv")).print();
 
     JMetalLogger.logger.info("Total execution time: " + computingTime + "ms");
+    JMetalLogger.logger.info("Restarts creating the initial population: " + scheduleProblem.getRestarts());
+    JMetalLogger.logger.info("Evaluations found in the cache: "
+        + evaluator.getMeasureManager().<Long>getPullMeasure("hits").get() + ", not found: "
+        + evaluator.getMeasureManager().<Long>getPullMeasure("misses").get());
     JMetalLogger.logger.info("Objectives values have been written to file Objectives.tsv");
     JMetalLogger.logger.info("Variables values have been written to file Variables.tsv");
   }
@@ -0,0 +1,89 @@
+package org.uma.jmetal.runner.singleobjective;
+
+import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.GeneticAlgorithmBuilder;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.IslandGeneticAlgorithm;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.IslandGeneticAlgorithm.MigrantSelection;
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.IslandGeneticAlgorithm.Topology;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.AlgorithmRunner;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.fileoutput.SolutionListOutput;
+import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
+import org.uma.jmetal.util.pseudorandom.RandomStreams;
+import org.uma.jmetal.util.pseudorandom.impl.SplittableRandomGenerator;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.solutionscreation.SolutionListCreator;
+import org.uma.jmetal.util.solutionscreation.impl.ForkJoinSolutionListCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class to configure and run an island model of four generational genetic algorithms on the
+ * schedule problem, each one with its own crossover and mutation probabilities
+ */
+public class IslandGeneticAlgorithmScheduleRunner {
+  // streams of the crossover, mutation, selection and migrations of an island
+  private static final int STREAMS_PER_ISLAND = 4;
+  // streams between the first solutions created by two islands, past the streams of the operators
+  private static final long CREATION_STREAMS = 1L << 32;
+
+  public static void main(String[] args) throws Exception {
+    ScheduleDataHandler handler = new ScheduleDataHandler();
+    Schedule scheduleProblem = new Schedule(handler);
+    double[] crossoverProbabilities = {0.1, 0.25, 0.5, 0.9};
+    double[] mutationProbabilities = {0.005, 0.01, 0.01, 0.02};
+    // every island draws its random numbers from its own streams, so that the islands do not share
+    // a generator. The runs are still not reproducible, as the migrations depend on the threads
+    RandomStreams streams = RandomStreams.fromJMetalRandom();
+
+    List<AbstractGeneticAlgorithm<IntegerSolution, IntegerSolution>> islands = new ArrayList<>();
+    List<SolutionListCreator<IntegerSolution>> creators = new ArrayList<>();
+    for (int island = 0; island < crossoverProbabilities.length; island++) {
+      int firstStream = STREAMS_PER_ISLAND * island;
+      ScheduleCrossover crossover = new ScheduleCrossover(handler, crossoverProbabilities[island],
+          streams.getStream(firstStream));
+      ScheduleMutation mutation = new ScheduleMutation(handler, mutationProbabilities[island],
+          streams.getStream(firstStream + 1));
+      BinaryTournamentSelection<IntegerSolution> selection = new BinaryTournamentSelection<>(
+          new DominanceComparator<IntegerSolution>(), streams.getStream(firstStream + 2));
+      // the island creates its population on one thread of its own
+      SolutionListCreator<IntegerSolution> creator = new ForkJoinSolutionListCreator<>(scheduleProblem,
+          streams.getSeed(), CREATION_STREAMS * (island + 1), 1);
+      creators.add(creator);
+      islands.add((AbstractGeneticAlgorithm<IntegerSolution, IntegerSolution>) new GeneticAlgorithmBuilder<>(
+          scheduleProblem, crossover, mutation).setPopulationSize(50).setMaxEvaluations(2500)
+              .setSelectionOperator(selection).setSolutionListCreator(creator).build());
+    }
+    IslandGeneticAlgorithm<IntegerSolution> algorithm = new IslandGeneticAlgorithm<>(islands, Topology.RING,
+        MigrantSelection.BEST, 5, 2, island -> {
+          SplittableRandomGenerator migrationGenerator = streams.getStream(STREAMS_PER_ISLAND * island + 3);
+          return (a, b) -> migrationGenerator.nextInt(a, b);
+        });
+
+    AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
+    for (SolutionListCreator<IntegerSolution> creator : creators) {
+      creator.shutdown();
+    }
+
+    List<IntegerSolution> population = new ArrayList<>(1);
+    population.add(algorithm.getResult());
+
+    long computingTime = algorithmRunner.getComputingTime();
+
+    new SolutionListOutput(population).setSeparator("\t")
+        .setVarFileOutputContext(new DefaultFileOutputContext("Variables.tsv"))
+        .setFunFileOutputContext(new DefaultFileOutputContext("Objectives.tsv")).print();
+
+    JMetalLogger.logger.info("Total execution time: " + computingTime + "ms");
+    JMetalLogger.logger.info("Islands: " + islands.size() + ", migrants accepted: " + algorithm.getMigrations());
+    JMetalLogger.logger.info("Objectives values have been written to file Objectives.tsv");
+    JMetalLogger.logger.info("Variables values have been written to file Variables.tsv");
+  }
+}
@@ -0,0 +1,41 @@
+package org.uma.jmetal.problem.multiobjective;
+
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+/**
+ * Schedule problem with the terms of the fitness of {@link Schedule} as separate objectives, so
+ * that a multi-objective algorithm finds the trade-off between them in a single run instead of
+ * solving the problem once for every weighting. The objectives, all of them minimized, are:
+ *
+ * 0. students affected by classes of different courses in the same turn
+ * 1. difference between the most and the least used turn of every course
+ * 2. pairs of classes in consecutive days
+ * 3. students not fitting in the classroom of their class
+ *
+ * The factors of the instance are not applied. Solutions are encoded and evaluated as in
+ * {@link Schedule}, so the schedule operators can be used with this problem.
+ */
+@SuppressWarnings("serial")
+public class MultiObjectiveSchedule extends Schedule {
+
+  public MultiObjectiveSchedule(ScheduleDataHandler dataHandler) {
+    this(dataHandler, true);
+  }
+
+  public MultiObjectiveSchedule(ScheduleDataHandler dataHandler, boolean deltaEvaluation) {
+    super(dataHandler, deltaEvaluation);
+    setNumberOfObjectives(4);
+    setName("MultiObjectiveSchedule");
+  }
+
+  @Override
+  protected void setObjectives(IntegerSolution solution, int overlap, int disparity, int consecutivePairs,
+      int overCapacity) {
+    solution.setObjective(0, overlap);
+    solution.setObjective(1, disparity);
+    solution.setObjective(2, consecutivePairs);
+    solution.setObjective(3, overCapacity);
+  }
+}
@@ -2,24 +2,47 @@ package org.uma.jmetal.problem.singleobjective;
 
 import org.uma.jmetal.problem.impl.AbstractIntegerProblem;
 import org.uma.jmetal.solution.IntegerSolution;
-import org.uma.jmetal.solution.impl.DefaultIntegerSolution;
+import org.uma.jmetal.solution.impl.ArrayIntegerSolution;
+import org.uma.jmetal.util.JMetalException;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
 import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.scheduledata.ScheduleInstance;
+import org.uma.jmetal.util.solutionscreation.RandomSolutionFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
 
-public class Schedule extends AbstractIntegerProblem {
+public class Schedule extends AbstractIntegerProblem implements RandomSolutionFactory<IntegerSolution> {
   private int cellsInMatrix;
+  private int amountCourses;
   private ScheduleDataHandler handler;
+  private ScheduleInstance instance;
+  // whether evaluated solutions keep their fitness terms to be evaluated incrementally
+  private boolean deltaEvaluation;
+  private ScheduleEvaluationState.Attribute evaluationState = new ScheduleEvaluationState.Attribute();
+  // times a solution can be started again from scratch before giving up
+  private int maxRestarts = 1000;
+  // created solutions and restarts they needed, solutions may be created concurrently
+  private final AtomicLong createdSolutions = new AtomicLong();
+  private final AtomicLong restarts = new AtomicLong();
 
   public Schedule(ScheduleDataHandler dataHandler) {
+    this(dataHandler, true);
+  }
+
+  public Schedule(ScheduleDataHandler dataHandler, boolean deltaEvaluation) {
     handler = dataHandler;
-    handler.generateInstance();
+    this.deltaEvaluation = deltaEvaluation;
     cellsInMatrix = handler.getClassroomCapacity().keySet().size() * 60;
     handler.setCellsInMatrix(cellsInMatrix);
+    instance = handler.getCompiledInstance();
+    amountCourses = instance.getAmountCourses();
     setNumberOfVariables(cellsInMatrix);
     setNumberOfObjectives(1);
     setName("Schedule");
+    setArrayBasedSolutions(true);
     List<Integer> lowerLimit = new ArrayList<>(getNumberOfVariables());
     List<Integer> upperLimit = new ArrayList<>(getNumberOfVariables());
 
@@ -31,28 +54,233 @@ public class Schedule extends AbstractIntegerProblem {
     setUpperLimit(upperLimit);
   }
 
+  public boolean isDeltaEvaluation() {
+    return deltaEvaluation;
+  }
+
+  public void setDeltaEvaluation(boolean deltaEvaluation) {
+    this.deltaEvaluation = deltaEvaluation;
+  }
+
+  public int getMaxRestarts() {
+    return maxRestarts;
+  }
+
+  public void setMaxRestarts(int maxRestarts) {
+    this.maxRestarts = maxRestarts;
+  }
+
+  public long getCreatedSolutions() {
+    return createdSolutions.get();
+  }
+
+  // returns the times a solution was started again since a class could not be placed
+  public long getRestarts() {
+    return restarts.get();
+  }
+
   @Override
   public void evaluate(IntegerSolution solution) {
-    LinkedList<Integer> solutionVector = new LinkedList<Integer>();
-    // solution = createFeasibleSolution(solution);
-    for (int i = 0; i < cellsInMatrix; i++) {
-      solutionVector.add(solution.getVariableValue(i));
-    }
-    int fitness = 0;
-    for (int c1 = 0; c1 < cellsInMatrix; c1++) {
-      if (handler.isIndexClass(c1)) {
-        for (int c2 = 0; c2 < cellsInMatrix; c2++) {
-          if (handler.isIndexClass(c2)) {
-            fitness += (c1 != c2 ? overlap(c1, c2, solution) : 0);
-          }
-        }
+    ScheduleEvaluationState state = evaluationState.getAttribute(solution);
+    if (!deltaEvaluation || state == null) {
+      state = computeState(solution);
+    } else {
+      BitSet modified = getModifiedCells(state, solution);
+      if (!modified.isEmpty()) {
+        // the attached state may be shared with copies of this solution
+        state = state.copy();
+        updateState(state, modified, solution);
       }
     }
-    fitness += classTurnDistributionDisparity(solution);
-    fitness += distanceBetweenPair(solution);
+    if (deltaEvaluation) {
+      evaluationState.setAttribute(solution, state);
+    }
+    setObjectives(solution, state.overlap, state.disparity, state.consecutivePairs, state.overCapacity);
+  }
+
+  /**
+   * Sets the objectives of an evaluated solution from its fitness terms, by default their
+   * weighted sum.
+   *
+   * @param overlap students affected by classes of different courses in the same turn
+   * @param disparity difference between the most and the least used turn of every course
+   * @param consecutivePairs pairs of classes in consecutive days
+   * @param overCapacity students not fitting in the classroom of their class
+   */
+  protected void setObjectives(IntegerSolution solution, int overlap, int disparity, int consecutivePairs,
+      int overCapacity) {
+    int fitness = overlap;
+    fitness += disparity * handler.getDisparityFactor();
+    fitness += consecutivePairs * handler.getConsecutivePenaltyFactor();
     solution.setObjective(0, fitness);
   }
 
+  // returns the cells whose values differ from those the state was computed from. They are
+  // compared rather than recorded on every write, so cells written by any operator are found,
+  // not only those written through the handler
+  private BitSet getModifiedCells(ScheduleEvaluationState state, IntegerSolution solution) {
+    BitSet modified = new BitSet(cellsInMatrix);
+    for (int cellIndex = 0; cellIndex < cellsInMatrix; cellIndex++) {
+      if (state.cells[cellIndex] != handler.getCell(solution, cellIndex)) {
+        modified.set(cellIndex);
+      }
+    }
+    return modified;
+  }
+
+  // evaluates the whole matrix
+  private ScheduleEvaluationState computeState(IntegerSolution solution) {
+    ScheduleEvaluationState state = new ScheduleEvaluationState(cellsInMatrix, amountCourses);
+    if (solution instanceof ArrayIntegerSolution) {
+      ((ArrayIntegerSolution) solution).copyVariableValues(state.cells);
+    } else {
+      for (int cellIndex = 0; cellIndex < cellsInMatrix; cellIndex++) {
+        state.cells[cellIndex] = solution.getVariableValue(cellIndex);
+      }
+    }
+    // bucket the classes by time slot and by turn in a single pass. Empty cells
+    // are counted as course 0 in the slots, as the all-pairs evaluation did
+    for (int cellIndex = 0; cellIndex < cellsInMatrix; cellIndex++) {
+      if (handler.isIndexClass(cellIndex)) {
+        int value = state.cells[cellIndex];
+        state.slotCourses[getSlot(cellIndex)][value / 10]++;
+        if (value != ScheduleDataHandler.AVAILABLE_INDEX) {
+          state.courseTurns[3 * handler.getClassCourse(value) + handler.getTurn(cellIndex)]++;
+          state.overCapacity += overCapacity(cellIndex, value);
+        }
+      }
+    }
+    int overlap = 0;
+    for (int turn = 0; turn < 3; turn++) {
+      overlap += turnOverlap(getTurnCourses(state, turn));
+    }
+    state.overlap = overlap;
+    state.disparity = classTurnDistributionDisparity(state.courseTurns);
+    state.consecutivePairs = distanceBetweenPair(solution);
+    return state;
+  }
+
+  // given an index of the matrix returns its time slot
+  private int getSlot(int cellIndex) {
+    return 5 * handler.getTurn(cellIndex) + handler.getDay(cellIndex);
+  }
+
+  // returns the amount of classes of each course in the given turn. The
+  // collision test of the all-pairs evaluation compared the day of the first
+  // class with itself, so any two classes of the same turn collide and the
+  // buckets of all the days of the turn are merged to keep the same fitness
+  private int[] getTurnCourses(ScheduleEvaluationState state, int turn) {
+    int[] turnCourses = new int[amountCourses];
+    for (int day = 0; day < 5; day++) {
+      int[] slotCourses = state.slotCourses[5 * turn + day];
+      for (int course = 0; course < amountCourses; course++) {
+        turnCourses[course] += slotCourses[course];
+      }
+    }
+    return turnCourses;
+  }
+
+  // returns the overlap between every two different classes of a turn, given
+  // the amount of classes of each course in it
+  private int turnOverlap(int[] turnCourses) {
+    int overlap = 0;
+    for (int course1 = 0; course1 < amountCourses; course1++) {
+      if (turnCourses[course1] == 0) {
+        continue;
+      }
+      for (int course2 = 0; course2 < amountCourses; course2++) {
+        if (turnCourses[course2] == 0) {
+          continue;
+        }
+        int collisions = turnCourses[course1] * (course1 == course2 ? turnCourses[course1] - 1 : turnCourses[course2]);
+        overlap += collisions * collidingStudents(course1, course2);
+      }
+    }
+    return overlap;
+  }
+
+  // updates the terms of the state for the modified cells, leaving the state
+  // with the current values of the solution
+  private void updateState(ScheduleEvaluationState state, BitSet modified, IntegerSolution solution) {
+    int[] cells = state.cells;
+    // a pair is counted depending on the references of both of its classes, so
+    // we check every class that was or is referenced by a modified reference
+    BitSet pairCandidates = new BitSet(cellsInMatrix);
+    for (int cell = modified.nextSetBit(0); cell >= 0; cell = modified.nextSetBit(cell + 1)) {
+      int oldValue = cells[cell];
+      int newValue = handler.getCell(solution, cell);
+      if (oldValue == newValue) {
+        continue;
+      }
+      if (!handler.isIndexClass(cell)) {
+        addPairCandidate(pairCandidates, cell - 10);
+        addPairCandidate(pairCandidates, oldValue);
+        addPairCandidate(pairCandidates, newValue);
+      }
+    }
+    IntUnaryOperator before = cell -> cells[cell];
+    IntUnaryOperator after = cell -> handler.getCell(solution, cell);
+    for (int cell = pairCandidates.nextSetBit(0); cell >= 0; cell = pairCandidates.nextSetBit(cell + 1)) {
+      state.consecutivePairs += consecutivePair(cell, after) - consecutivePair(cell, before);
+    }
+
+    // the overlap and the disparity are updated one class at a time against the
+    // classes already updated
+    for (int cell = modified.nextSetBit(0); cell >= 0; cell = modified.nextSetBit(cell + 1)) {
+      int newValue = handler.getCell(solution, cell);
+      if (handler.isIndexClass(cell) && cells[cell] != newValue) {
+        state.overlap += overlapDelta(cell, cells[cell] / 10, newValue / 10, state);
+        state.disparity += disparityDelta(cell, cells[cell], newValue, state.courseTurns);
+        state.overCapacity += overCapacity(cell, newValue) - overCapacity(cell, cells[cell]);
+      }
+      cells[cell] = newValue;
+    }
+  }
+
+  private void addPairCandidate(BitSet pairCandidates, int cellIndex) {
+    if (0 <= cellIndex && cellIndex < cellsInMatrix && handler.isIndexClass(cellIndex)) {
+      pairCandidates.set(cellIndex);
+    }
+  }
+
+  // returns 1 if distanceBetweenPair counts a consecutive pair when visiting
+  // cellIndex, 0 otherwise. A pair is counted from the first of its classes
+  private int consecutivePair(int cellIndex, IntUnaryOperator cells) {
+    int pairIndex = cells.applyAsInt(cellIndex + 10);
+    if (pairIndex == ScheduleDataHandler.AVAILABLE_INDEX || pairIndex == cellIndex
+        || cells.applyAsInt(pairIndex + 10) != cellIndex) {
+      return 0;
+    }
+    if (pairIndex < cellIndex && handler.isIndexClass(pairIndex)) {
+      return 0;
+    }
+    int day = handler.getDay(cellIndex);
+    int dayPair = handler.getDay(pairIndex);
+    return handler.distanceBetweenDays(day, dayPair) < 1 ? 1 : 0;
+  }
+
+  // returns the change in overlap when the class in cellIndex changes course,
+  // and moves it to its new bucket
+  private int overlapDelta(int cellIndex, int oldCourse, int newCourse, ScheduleEvaluationState state) {
+    if (oldCourse == newCourse) {
+      return 0;
+    }
+    int[] turnCourses = getTurnCourses(state, handler.getTurn(cellIndex));
+    int delta = 0;
+    for (int course = 0; course < amountCourses; course++) {
+      if (turnCourses[course] != 0) {
+        delta += turnCourses[course] * (collidingStudents(newCourse, course) - collidingStudents(oldCourse, course));
+      }
+    }
+    // the class does not collide with itself
+    delta -= collidingStudents(newCourse, oldCourse) - collidingStudents(oldCourse, oldCourse);
+    int[] slotCourses = state.slotCourses[getSlot(cellIndex)];
+    slotCourses[oldCourse]--;
+    slotCourses[newCourse]++;
+    // every collision is counted from both classes
+    return 2 * delta;
+  }
+
   private int distanceBetweenPair(IntegerSolution solution) {
     int consecutivePairs = 0;
     HashSet<Integer> evaluated = new HashSet<Integer>();
@@ -60,7 +288,7 @@ public class Schedule extends AbstractIntegerProblem {
       if (!evaluated.contains(cellIndex) && handler.isIndexClass(cellIndex) && handler.hasPair(cellIndex, solution)) {
         // we need to get the distance between the classes of the same pair
         int day = handler.getDay(cellIndex);
-        int pairIndex = solution.getVariableValue(cellIndex + 10);
+        int pairIndex = handler.getCell(solution, cellIndex + 10);
         int dayPair = handler.getDay(pairIndex);
         if (handler.distanceBetweenDays(day, dayPair) < 1) {
           consecutivePairs++;
@@ -69,78 +297,90 @@ public class Schedule extends AbstractIntegerProblem {
         evaluated.add(pairIndex);
       }
     }
-    return consecutivePairs * handler.getConsecutivePenaltyFactor();
+    return consecutivePairs;
   }
 
-  private int overlap(int courseIndex1, int courseIndex2, IntegerSolution solution) {
-    // checking if both classes actually collide
-    if (!(handler.getTurn(courseIndex1) == handler.getTurn(courseIndex2)
-        && handler.getDay(courseIndex1) == handler.getDay(courseIndex1))) {
-      return 0;
-    }
-    // get the orientations affected by the collision
-    int course1 = solution.getVariableValue(courseIndex1) / 10;
-    int course2 = solution.getVariableValue(courseIndex2) / 10;
-    HashSet<Integer> collidingOrientations = new HashSet<Integer>();
-    for (Integer orientation : handler.getCourseMapOrientation().get(course1)) {
-      if (handler.getCourseMapOrientation().get(course2).contains(orientation)
-          && handler.getCourseMapYear().get(course1) == handler.getCourseMapYear().get(course2)) {
-        collidingOrientations.add(orientation);
-      }
+  // returns the students affected when classes of both courses collide
+  private int collidingStudents(int course1, int course2) {
+    return instance.getAffectedStudents(course1, course2);
+  }
+
+  // returns the disparity of the turns of every course, given the amount of its
+  // classes in each turn
+  private int classTurnDistributionDisparity(int[] courseTurns) {
+    int disparity = 0;
+    for (int course = 0; course < amountCourses; course++) {
+      disparity += courseDisparity(course, courseTurns);
     }
-    // if there are no orientations, then there can be no students
-    if (collidingOrientations.isEmpty()) {
+    return disparity;
+  }
+
+  // returns the difference between the turns with the most and the fewest
+  // classes of the course
+  private int courseDisparity(int course, int[] courseTurns) {
+    int morning = courseTurns[3 * course];
+    int afternoon = courseTurns[3 * course + 1];
+    int evening = courseTurns[3 * course + 2];
+    int max = Math.max(morning, Math.max(afternoon, evening));
+    int min = Math.min(morning, Math.min(afternoon, evening));
+    return max - min;
+  }
+
+  // returns the students of the class in the cell that do not fit in its
+  // classroom, 0 for an empty cell
+  private int overCapacity(int cellIndex, int value) {
+    if (value == ScheduleDataHandler.AVAILABLE_INDEX) {
       return 0;
     }
+    int capacity = instance.getClassroomCapacity(handler.getClassroom(cellIndex));
+    return Math.max(0, instance.getAttendingStudents(value) - capacity);
+  }
 
-    int affectedStudents = 0;
-    for (Integer orientation : collidingOrientations) {
-      affectedStudents += handler.getOrientationStudents().get(orientation)
-          * handler.getRateOfYearlyDecay().get(handler.getCourseMapYear().get(course1));
+  // moves the class in cellIndex to the counter of its new course, returning
+  // the change in disparity
+  private int disparityDelta(int cellIndex, int oldValue, int newValue, int[] courseTurns) {
+    int turn = handler.getTurn(cellIndex);
+    int delta = 0;
+    if (oldValue != ScheduleDataHandler.AVAILABLE_INDEX) {
+      int course = handler.getClassCourse(oldValue);
+      delta -= courseDisparity(course, courseTurns);
+      courseTurns[3 * course + turn]--;
+      delta += courseDisparity(course, courseTurns);
+    }
+    if (newValue != ScheduleDataHandler.AVAILABLE_INDEX) {
+      int course = handler.getClassCourse(newValue);
+      delta -= courseDisparity(course, courseTurns);
+      courseTurns[3 * course + turn]++;
+      delta += courseDisparity(course, courseTurns);
     }
+    return delta;
+  }
 
-    return affectedStudents;
+  @Override
+  public IntegerSolution createSolution() {
+    return createSolution(JMetalRandom.getInstance().getRandomGenerator());
   }
 
-  private int classTurnDistributionDisparity(IntegerSolution matrix) {
-    // initializing structures
-    int disparity = 0;
-    HashMap<Integer, HashMap<Integer, Integer>> courseHeatmap = new HashMap<Integer, HashMap<Integer, Integer>>();
-    for (int course = 0; course < handler.getAmountCourses(); course++) {
-      HashMap<Integer, Integer> turnHeatmap = new HashMap<Integer, Integer>();
-      for (int turn = 0; turn < 3; turn++) {
-        turnHeatmap.put(turn, 0);
-      }
-      courseHeatmap.put(course, turnHeatmap);
-    }
-    // populating heatmap
-    for (int courseIndex = 0; courseIndex < cellsInMatrix; courseIndex++) {
-      if (!handler.isIndexClass(courseIndex) || handler.isAvailable(courseIndex, matrix)) {
-        continue;
+  // creates a feasible solution drawing the random numbers from the given
+  // generator, it is safe to call it from several threads with different ones
+  @Override
+  public IntegerSolution createSolution(PseudoRandomGenerator randomGenerator) {
+    for (int attempt = 0; attempt <= maxRestarts; attempt++) {
+      IntegerSolution solution = tryCreateSolution(randomGenerator);
+      if (solution != null) {
+        createdSolutions.incrementAndGet();
+        return solution;
       }
-      int course = handler.getClassCourse(matrix.getVariableValue(courseIndex));
-      int turn = handler.getTurn(courseIndex);
-      HashMap<Integer, Integer> turnCourseMap = courseHeatmap.get(course);
-      int coursesInTurn = turnCourseMap.get(turn);
-      turnCourseMap.put(turn, coursesInTurn++);
-      courseHeatmap.put(course, turnCourseMap);
-    }
-    // calculate disparity by course
-    for (HashMap<Integer, Integer> map : courseHeatmap.values()) {
-      Integer minForCourse = Collections.min(map.values());
-      Integer maxForCourse = Collections.max(map.values());
-      disparity += (maxForCourse - minForCourse) * handler.getDisparityFactor();
+      // this random went wrong and cant be salvaged, we got to try again
+      restarts.incrementAndGet();
     }
-    return disparity;
+    throw new JMetalException("No feasible solution found after " + maxRestarts + " restarts");
   }
 
-  @Override
-  public IntegerSolution createSolution() {
+  // returns null if some class could not be placed
+  private IntegerSolution tryCreateSolution(PseudoRandomGenerator randomGenerator) {
     // initialize empty solution
-    IntegerSolution solution = new DefaultIntegerSolution(this);
-    for (int index = 0; index < cellsInMatrix; index++) {
-      solution.setVariableValue(index, -1);
-    }
+    IntegerSolution solution = new ArrayIntegerSolution(this, ScheduleDataHandler.AVAILABLE_INDEX);
     // we get all courses
     HashMap<Integer, ArrayList<Integer>> courseMapClasses = handler.getCourseMapClasses();
     for (Integer course : courseMapClasses.keySet()) {
@@ -148,38 +388,33 @@ public class Schedule extends AbstractIntegerProblem {
       for (int type = 0; type < 4; type++) {
         for (int amountClassesType = 0; amountClassesType < classTypes.get(type); amountClassesType++) {
           int classWithType = course * 10 + type;
-          HashMap<Integer, ArrayList<Integer>> classroomData = new HashMap<Integer, ArrayList<Integer>>();
-          if (type < 2) {
-            classroomData = handler.getFeasibleClassroomsWithPair(classWithType, solution);
-          } else {
-            classroomData = handler.getFeasibleClassroomsNoPair(classWithType, solution);
-          }
-          if (classroomData.isEmpty()) {
+          boolean withPair = type < 2;
+          int feasibleSlots = handler.countFeasibleSlots(classWithType, withPair, solution);
+          if (feasibleSlots == 0) {
             // we are in deep trouble
             // we need to find a candidate to swap with us
-            if (type < 2) {
+            if (withPair) {
               solution = handler.insertPairIntoSolution(classWithType, solution);
             } else {
               solution = handler.insertClassIntoSolution(classWithType, solution);
             }
             if (solution == null) {
-              // we got to try again since this random went wrong and cant
-              // be salvaged
-              return createSolution();
+              return null;
             }
             continue;
           }
-          ArrayList<Integer> option = classroomData
-              .get(JMetalRandom.getInstance().nextInt(0, classroomData.size() - 1));
-          int targetCell = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(2) + option.get(3);
-          solution.setVariableValue(targetCell, classWithType);
-          solution.setVariableValue(targetCell + 10, targetCell);
+          int slot = handler.getFeasibleSlot(classWithType, withPair, solution,
+              randomGenerator.nextInt(0, feasibleSlots - 1));
+          // the cells are written through the handler to keep its occupancy up to date
+          int targetCell = ScheduleDataHandler.getSlotCell(slot);
+          handler.setCell(solution, targetCell, classWithType);
+          handler.setCell(solution, targetCell + 10, targetCell);
           // we must also set the pair
-          if (type < 2) {
-            int pairCell = 60 * option.get(0) + 20 * option.get(1) + 2 * option.get(4) + option.get(5);
-            solution.setVariableValue(pairCell, classWithType);
-            solution.setVariableValue(targetCell + 10, pairCell);
-            solution.setVariableValue(pairCell + 10, targetCell);
+          if (withPair) {
+            int pairCell = ScheduleDataHandler.getSlotPairCell(slot);
+            handler.setCell(solution, pairCell, classWithType);
+            handler.setCell(solution, targetCell + 10, pairCell);
+            handler.setCell(solution, pairCell + 10, targetCell);
           }
         }
       }
@@ -0,0 +1,50 @@
+package org.uma.jmetal.problem.singleobjective;
+
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.solutionattribute.impl.GenericSolutionAttribute;
+
+/**
+ * Fitness terms of a {@link Schedule} solution together with the cell values they were computed
+ * from. It is attached to the solution as an attribute so that, once the operators have written
+ * a few cells, the terms can be updated for those cells only.
+ *
+ * Copies of a solution share this object, so it is never modified once attached: the problem
+ * works on a {@link #copy()} and attaches the result.
+ */
+class ScheduleEvaluationState {
+  // cell values of the solution when the terms were computed
+  int[] cells;
+  // amount of classes of each course in each time slot, indexed by 5 * turn + day
+  int[][] slotCourses;
+  // amount of classes of each course in each turn, indexed by 3 * course + turn. Unlike the
+  // slots, empty cells are not counted
+  int[] courseTurns;
+  int overlap;
+  int disparity;
+  int consecutivePairs;
+  int overCapacity;
+
+  ScheduleEvaluationState(int cellsInMatrix, int amountCourses) {
+    cells = new int[cellsInMatrix];
+    slotCourses = new int[15][amountCourses];
+    courseTurns = new int[3 * amountCourses];
+  }
+
+  ScheduleEvaluationState copy() {
+    ScheduleEvaluationState state = new ScheduleEvaluationState(cells.length, slotCourses[0].length);
+    System.arraycopy(cells, 0, state.cells, 0, cells.length);
+    for (int slot = 0; slot < slotCourses.length; slot++) {
+      System.arraycopy(slotCourses[slot], 0, state.slotCourses[slot], 0, slotCourses[slot].length);
+    }
+    System.arraycopy(courseTurns, 0, state.courseTurns, 0, courseTurns.length);
+    state.overlap = overlap;
+    state.disparity = disparity;
+    state.consecutivePairs = consecutivePairs;
+    state.overCapacity = overCapacity;
+    return state;
+  }
+
+  @SuppressWarnings("serial")
+  static class Attribute extends GenericSolutionAttribute<IntegerSolution, ScheduleEvaluationState> {
+  }
+}
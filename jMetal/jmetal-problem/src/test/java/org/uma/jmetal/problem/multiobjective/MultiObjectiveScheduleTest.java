@@ -0,0 +1,60 @@
+package org.uma.jmetal.problem.multiobjective;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.problem.singleobjective.Schedule;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MultiObjectiveScheduleTest {
+  private ScheduleDataHandler handler;
+  private MultiObjectiveSchedule problem;
+
+  @Before
+  public void setup() {
+    JMetalRandom.getInstance().setSeed(1);
+    handler = new ScheduleDataHandler();
+    problem = new MultiObjectiveSchedule(handler);
+  }
+
+  @Test
+  public void shouldTheWeightedObjectivesBeTheFitnessOfTheSingleObjectiveProblem() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    new Schedule(handler, false).evaluate(copy);
+
+    assertEquals(4, solution.getNumberOfObjectives());
+    double fitness = solution.getObjective(0) + solution.getObjective(1) * handler.getDisparityFactor()
+        + solution.getObjective(2) * handler.getConsecutivePenaltyFactor();
+    assertEquals(copy.getObjective(0), fitness, 0.0);
+  }
+
+  @Test
+  public void shouldDeltaEvaluationMatchTheFullEvaluationAfterTheOperators() {
+    MultiObjectiveSchedule fullEvaluationProblem = new MultiObjectiveSchedule(handler, false);
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+    problem.evaluate(parent1);
+    problem.evaluate(parent2);
+
+    List<IntegerSolution> offspring = new ScheduleCrossover(handler, 1.0).execute(Arrays.asList(parent1, parent2));
+    for (IntegerSolution child : offspring) {
+      new ScheduleMutation(handler, 0.05).execute(child);
+      IntegerSolution copy = (IntegerSolution) child.copy();
+      problem.evaluate(child);
+      fullEvaluationProblem.evaluate(copy);
+
+      assertArrayEquals(copy.getObjectives(), child.getObjectives(), 0.0);
+    }
+  }
+}
@@ -0,0 +1,451 @@
+package org.uma.jmetal.problem.singleobjective;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.operator.impl.crossover.ConstraintAwareScheduleCrossover;
+import org.uma.jmetal.operator.impl.crossover.ScheduleCrossover;
+import org.uma.jmetal.operator.impl.localsearch.ScheduleTabuSearch;
+import org.uma.jmetal.operator.impl.mutation.ScheduleMutation;
+import org.uma.jmetal.solution.IntegerSolution;
+import org.uma.jmetal.util.evaluator.impl.CachingSolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.RandomStreams;
+import org.uma.jmetal.util.scheduledata.ScheduleDataHandler;
+import org.uma.jmetal.util.solutionattribute.impl.ZobristHash;
+import org.uma.jmetal.util.solutionscreation.impl.ForkJoinSolutionListCreator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduleTest {
+  private ScheduleDataHandler handler;
+  private Schedule problem;
+  private Schedule fullEvaluationProblem;
+
+  @Before
+  public void setup() {
+    JMetalRandom.getInstance().setSeed(1);
+    handler = new ScheduleDataHandler();
+    problem = new Schedule(handler);
+    fullEvaluationProblem = new Schedule(handler, false);
+  }
+
+  @Test
+  public void shouldEvaluateMatchTheAllPairsEvaluation() {
+    for (int i = 0; i < 3; i++) {
+      IntegerSolution solution = problem.createSolution();
+      fullEvaluationProblem.evaluate(solution);
+
+      assertEquals(allPairsFitness(solution), (int) solution.getObjective(0));
+    }
+  }
+
+  @Test
+  public void shouldTheDisparityCountTheClassesOfEveryTurn() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+    IntegerSolution mutated = (IntegerSolution) solution.copy();
+    new ScheduleMutation(handler, 0.05).execute(mutated);
+    problem.evaluate(mutated);
+
+    assertTrue(allPairsDisparity(solution) > 0);
+    assertEquals(allPairsFitness(mutated), (int) mutated.getObjective(0));
+  }
+
+  @Test
+  public void shouldEvaluateMatchTheAllPairsEvaluationAfterTheOperators() {
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+
+    List<IntegerSolution> offspring = new ScheduleCrossover(handler, 1.0).execute(Arrays.asList(parent1, parent2));
+    for (IntegerSolution child : offspring) {
+      new ScheduleMutation(handler, 0.01).execute(child);
+      fullEvaluationProblem.evaluate(child);
+
+      assertEquals(allPairsFitness(child), (int) child.getObjective(0));
+    }
+  }
+
+  @Test
+  public void shouldTheParallelCreationOnlyDependOnTheSeed() {
+    ForkJoinSolutionListCreator<IntegerSolution> oneThread = new ForkJoinSolutionListCreator<>(problem, 3, 1);
+    ForkJoinSolutionListCreator<IntegerSolution> fourThreads = new ForkJoinSolutionListCreator<>(problem, 3, 4);
+
+    List<IntegerSolution> solutions = oneThread.create(6);
+    List<IntegerSolution> sameSeedSolutions = fourThreads.create(6);
+    for (int i = 0; i < solutions.size(); i++) {
+      assertEquals(solutions.get(i).getVariables(), sameSeedSolutions.get(i).getVariables());
+      fullEvaluationProblem.evaluate(solutions.get(i));
+      assertEquals(allPairsFitness(solutions.get(i)), (int) solutions.get(i).getObjective(0));
+    }
+    assertEquals(12, problem.getCreatedSolutions());
+
+    oneThread.shutdown();
+    fourThreads.shutdown();
+  }
+
+  @Test
+  public void shouldTheOperatorsBeReproducibleWithTheSameStream() {
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+
+    List<IntegerSolution> offspring = applyOperators(parent1, parent2, new RandomStreams(5));
+    List<IntegerSolution> sameStreamOffspring = applyOperators(parent1, parent2, new RandomStreams(5));
+    for (int i = 0; i < offspring.size(); i++) {
+      assertEquals(offspring.get(i).getVariables(), sameStreamOffspring.get(i).getVariables());
+    }
+  }
+
+  @Test
+  public void shouldTheOperatorMeasuresAddUp() {
+    ScheduleCrossover crossover = new ScheduleCrossover(handler, 1.0);
+    ScheduleMutation mutation = new ScheduleMutation(handler, 0.05);
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+    for (int i = 0; i < 3; i++) {
+      for (IntegerSolution child : crossover.execute(Arrays.asList(parent1, parent2))) {
+        mutation.execute(child);
+      }
+    }
+
+    assertEquals(3L, count(crossover.getMeasureManager(), "crossovers"));
+    assertEquals(3L, count(crossover.getMeasureManager(), "dayCrossovers")
+        + count(crossover.getMeasureManager(), "turnCrossovers")
+        + count(crossover.getMeasureManager(), "classroomCrossovers"));
+    assertTrue(count(crossover.getMeasureManager(), "abortedChildren") <= 6L);
+    assertTrue(count(mutation.getMeasureManager(), "mutatedCells")
+        >= count(mutation.getMeasureManager(), "dayMutations")
+        + count(mutation.getMeasureManager(), "turnMutations")
+        + count(mutation.getMeasureManager(), "classroomMutations"));
+    assertTrue(count(mutation.getMeasureManager(), "abortedMutations")
+        <= count(mutation.getMeasureManager(), "turnMutations"));
+  }
+
+  private long count(MeasureManager measureManager, String key) {
+    return measureManager.<Long>getPullMeasure(key).get();
+  }
+
+  private List<IntegerSolution> applyOperators(IntegerSolution parent1, IntegerSolution parent2,
+      RandomStreams streams) {
+    List<IntegerSolution> offspring = new ScheduleCrossover(handler, 1.0, streams.getStream(0))
+        .execute(Arrays.asList(parent1, parent2));
+    ScheduleMutation mutation = new ScheduleMutation(handler, 0.01, streams.getStream(1));
+    for (IntegerSolution child : offspring) {
+      mutation.execute(child);
+    }
+    return offspring;
+  }
+
+  @Test
+  public void shouldDeltaEvaluationOfAnUnmodifiedSolutionKeepTheFitness() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+    double fitness = solution.getObjective(0);
+
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    problem.evaluate(copy);
+
+    assertEquals(fitness, copy.getObjective(0), 0.0);
+  }
+
+  @Test
+  public void shouldDeltaEvaluationMatchTheFullEvaluationAfterASwap() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+
+    int cellIndex = firstClass(solution, 0);
+    int victim = firstClass(solution, 1);
+    handler.unsafeSwap(cellIndex, victim, solution);
+
+    assertSameFitness(solution);
+  }
+
+  @Test
+  public void shouldDeltaEvaluationSeeTheCellsNotWrittenThroughTheHandler() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+
+    int cellIndex = firstClass(solution, 0);
+    int victim = firstClass(solution, 1);
+    int value = solution.getVariableValue(cellIndex);
+    solution.setVariableValue(cellIndex, solution.getVariableValue(victim));
+    solution.setVariableValue(victim, value);
+
+    assertSameFitness(solution);
+  }
+
+  @Test
+  public void shouldDeltaEvaluationMatchTheFullEvaluationAfterTheOperators() {
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+    problem.evaluate(parent1);
+    problem.evaluate(parent2);
+
+    List<IntegerSolution> offspring = new ScheduleCrossover(handler, 1.0).execute(Arrays.asList(parent1, parent2));
+    for (IntegerSolution child : offspring) {
+      new ScheduleMutation(handler, 0.01).execute(child);
+      assertSameFitness(child);
+    }
+  }
+
+  @Test
+  public void shouldTheConstraintAwareCrossoverKeepEveryClassScheduled() {
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+    problem.evaluate(parent1);
+    problem.evaluate(parent2);
+    ConstraintAwareScheduleCrossover crossover = new ConstraintAwareScheduleCrossover(handler, 1.0);
+
+    for (int i = 0; i < 5; i++) {
+      for (IntegerSolution child : crossover.execute(Arrays.asList(parent1, parent2))) {
+        assertEquals(scheduledClasses(parent1), scheduledClasses(child));
+        assertSameFitness(child);
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheConstraintAwareCrossoverKeepThePairsPointingToEachOther() {
+    ConstraintAwareScheduleCrossover crossover = new ConstraintAwareScheduleCrossover(handler, 1.0);
+
+    for (int i = 0; i < 20; i++) {
+      IntegerSolution parent1 = problem.createSolution();
+      IntegerSolution parent2 = problem.createSolution();
+      for (int j = 0; j < 10; j++) {
+        for (IntegerSolution child : crossover.execute(Arrays.asList(parent1, parent2))) {
+          assertPairsPointToEachOther(child);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldTheTabuSearchNotWorsenNorModifyTheSolution() {
+    IntegerSolution solution = problem.createSolution();
+    problem.evaluate(solution);
+    IntegerSolution original = (IntegerSolution) solution.copy();
+    ScheduleTabuSearch tabuSearch = new ScheduleTabuSearch(problem, handler, 30, 10, 5);
+
+    IntegerSolution improved = tabuSearch.execute(solution);
+
+    assertEquals(original.getVariables(), solution.getVariables());
+    assertTrue(improved.getObjective(0) <= solution.getObjective(0));
+    assertTrue(tabuSearch.getEvaluations() > 0);
+    assertEquals(scheduledClasses(solution), scheduledClasses(improved));
+    assertSameFitness(improved);
+  }
+
+  @Test
+  public void shouldTheTabuSearchCountersBeThoseOfTheLastExecution() {
+    IntegerSolution solution = problem.createSolution();
+    Random random = new Random(1);
+    ScheduleTabuSearch tabuSearch = new ScheduleTabuSearch(problem, handler, 30, 10, 5,
+        (a, b) -> a + random.nextInt(b - a + 1));
+
+    tabuSearch.execute(solution);
+    int evaluations = tabuSearch.getEvaluations();
+    int improvements = tabuSearch.getNumberOfImprovements();
+    random.setSeed(1);
+    tabuSearch.execute(solution);
+
+    assertTrue(improvements > 0);
+    assertTrue(evaluations > 30);
+    assertEquals(improvements, tabuSearch.getNumberOfImprovements());
+    assertEquals(evaluations, tabuSearch.getEvaluations());
+  }
+
+  @Test
+  public void shouldTheHashOfTheHandlerFollowTheOperators() {
+    IntegerSolution parent1 = problem.createSolution();
+    IntegerSolution parent2 = problem.createSolution();
+    handler.getHash(parent1);
+    handler.getHash(parent2);
+
+    List<IntegerSolution> offspring = new ScheduleCrossover(handler, 1.0).execute(Arrays.asList(parent1, parent2));
+    for (IntegerSolution child : offspring) {
+      new ScheduleMutation(handler, 0.01).execute(child);
+      assertEquals(ZobristHash.computeHash(child), handler.getHash(child));
+    }
+  }
+
+  @Test
+  public void shouldTheCacheOnlyEvaluateTheSolutionsNotSeenBefore() {
+    IntegerSolution solution = problem.createSolution();
+    CachingSolutionListEvaluator<IntegerSolution> evaluator = new CachingSolutionListEvaluator<>(
+        new SequentialSolutionListEvaluator<IntegerSolution>(), handler::getHash, 2);
+    evaluator.evaluate(Arrays.asList(solution, (IntegerSolution) solution.copy()), problem);
+
+    IntegerSolution mutated = (IntegerSolution) solution.copy();
+    mutated.setObjective(0, 0);
+    handler.unsafeSwap(firstClass(mutated, 0), firstClass(mutated, 1), mutated);
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    copy.setObjective(0, 0);
+    evaluator.evaluate(Arrays.asList(copy, mutated), problem);
+
+    assertEquals(solution.getObjective(0), copy.getObjective(0), 0.0);
+    assertSameFitness(mutated);
+    assertEquals(2L, count(evaluator.getMeasureManager(), "hits"));
+    assertEquals(2L, count(evaluator.getMeasureManager(), "misses"));
+    assertEquals(2, evaluator.size());
+  }
+
+  @Test
+  public void shouldTheCacheEvaluateACopyWrittenWithoutUpdatingItsHash() {
+    IntegerSolution solution = problem.createSolution();
+    CachingSolutionListEvaluator<IntegerSolution> evaluator = new CachingSolutionListEvaluator<>(
+        new SequentialSolutionListEvaluator<IntegerSolution>(), handler::getHash, 2);
+    evaluator.evaluate(Arrays.asList(solution), problem);
+
+    // the copy keeps the hash of the solution, which setVariableValue does not update
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    int cellIndex = firstClass(copy, 0);
+    copy.setVariableValue(cellIndex, (copy.getVariableValue(cellIndex) + 1) % (10 * handler.getAmountCourses()));
+    copy.setObjective(0, -1);
+    evaluator.evaluate(Arrays.asList(copy), problem);
+
+    assertEquals(handler.getHash(solution), handler.getHash(copy));
+    assertEquals(2L, count(evaluator.getMeasureManager(), "misses"));
+    assertEquals(0L, count(evaluator.getMeasureManager(), "hits"));
+    assertEquals(allPairsFitness(copy), (int) copy.getObjective(0));
+  }
+
+  // counts the classes of every class with type in the matrix, a class and its pair once
+  private HashMap<Integer, Integer> scheduledClasses(IntegerSolution solution) {
+    HashMap<Integer, Integer> classes = new HashMap<Integer, Integer>();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (handler.isIndexClass(cellIndex) && !handler.isAvailable(cellIndex, solution)
+          && (!handler.hasPair(cellIndex, solution) || cellIndex < solution.getVariableValue(cellIndex + 10))) {
+        classes.merge(solution.getVariableValue(cellIndex), 1, Integer::sum);
+      }
+    }
+    return classes;
+  }
+
+  // every class cell points to itself or to a cell holding the same class which points back
+  private void assertPairsPointToEachOther(IntegerSolution solution) {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (!handler.isIndexClass(cellIndex)) {
+        continue;
+      }
+      if (handler.isAvailable(cellIndex, solution)) {
+        assertTrue(handler.isAvailable(cellIndex + 10, solution));
+        continue;
+      }
+      int pairIndex = solution.getVariableValue(cellIndex + 10);
+      assertTrue(handler.isIndexClass(pairIndex));
+      assertEquals(solution.getVariableValue(cellIndex), solution.getVariableValue(pairIndex));
+      assertEquals(cellIndex, (int) solution.getVariableValue(pairIndex + 10));
+    }
+  }
+
+  private void assertSameFitness(IntegerSolution solution) {
+    IntegerSolution copy = (IntegerSolution) solution.copy();
+    problem.evaluate(solution);
+    fullEvaluationProblem.evaluate(copy);
+
+    assertEquals(copy.getObjective(0), solution.getObjective(0), 0.0);
+  }
+
+  // returns the first cell holding a class in the given turn
+  private int firstClass(IntegerSolution solution, int turn) {
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (handler.isIndexClass(cellIndex) && handler.getTurn(cellIndex) == turn
+          && !handler.isAvailable(cellIndex, solution)) {
+        return cellIndex;
+      }
+    }
+    return -1;
+  }
+
+  // fitness as computed by comparing every two classes of the matrix
+  private int allPairsFitness(IntegerSolution solution) {
+    int cellsInMatrix = handler.getCellsInMatrix();
+    int fitness = 0;
+    for (int c1 = 0; c1 < cellsInMatrix; c1++) {
+      if (handler.isIndexClass(c1)) {
+        for (int c2 = 0; c2 < cellsInMatrix; c2++) {
+          if (handler.isIndexClass(c2)) {
+            fitness += (c1 != c2 ? allPairsOverlap(c1, c2, solution) : 0);
+          }
+        }
+      }
+    }
+    fitness += allPairsDisparity(solution);
+    fitness += allPairsDistanceBetweenPair(solution);
+    return fitness;
+  }
+
+  private int allPairsOverlap(int courseIndex1, int courseIndex2, IntegerSolution solution) {
+    if (!(handler.getTurn(courseIndex1) == handler.getTurn(courseIndex2)
+        && handler.getDay(courseIndex1) == handler.getDay(courseIndex1))) {
+      return 0;
+    }
+    int course1 = solution.getVariableValue(courseIndex1) / 10;
+    int course2 = solution.getVariableValue(courseIndex2) / 10;
+    HashSet<Integer> collidingOrientations = new HashSet<Integer>();
+    for (Integer orientation : handler.getCourseMapOrientation().get(course1)) {
+      if (handler.getCourseMapOrientation().get(course2).contains(orientation)
+          && handler.getCourseMapYear().get(course1) == handler.getCourseMapYear().get(course2)) {
+        collidingOrientations.add(orientation);
+      }
+    }
+    int affectedStudents = 0;
+    for (Integer orientation : collidingOrientations) {
+      affectedStudents += handler.getOrientationStudents().get(orientation)
+          * handler.getRateOfYearlyDecay().get(handler.getCourseMapYear().get(course1));
+    }
+    return affectedStudents;
+  }
+
+  private int allPairsDisparity(IntegerSolution matrix) {
+    int disparity = 0;
+    HashMap<Integer, HashMap<Integer, Integer>> courseHeatmap = new HashMap<Integer, HashMap<Integer, Integer>>();
+    for (int course = 0; course < handler.getAmountCourses(); course++) {
+      HashMap<Integer, Integer> turnHeatmap = new HashMap<Integer, Integer>();
+      for (int turn = 0; turn < 3; turn++) {
+        turnHeatmap.put(turn, 0);
+      }
+      courseHeatmap.put(course, turnHeatmap);
+    }
+    for (int courseIndex = 0; courseIndex < handler.getCellsInMatrix(); courseIndex++) {
+      if (!handler.isIndexClass(courseIndex) || handler.isAvailable(courseIndex, matrix)) {
+        continue;
+      }
+      int course = handler.getClassCourse(matrix.getVariableValue(courseIndex));
+      int turn = handler.getTurn(courseIndex);
+      HashMap<Integer, Integer> turnCourseMap = courseHeatmap.get(course);
+      turnCourseMap.put(turn, turnCourseMap.get(turn) + 1);
+    }
+    for (HashMap<Integer, Integer> map : courseHeatmap.values()) {
+      disparity += (Collections.max(map.values()) - Collections.min(map.values())) * handler.getDisparityFactor();
+    }
+    return disparity;
+  }
+
+  private int allPairsDistanceBetweenPair(IntegerSolution solution) {
+    int consecutivePairs = 0;
+    HashSet<Integer> evaluated = new HashSet<Integer>();
+    for (int cellIndex = 0; cellIndex < handler.getCellsInMatrix(); cellIndex++) {
+      if (!evaluated.contains(cellIndex) && handler.isIndexClass(cellIndex) && handler.hasPair(cellIndex, solution)) {
+        int day = handler.getDay(cellIndex);
+        int pairIndex = solution.getVariableValue(cellIndex + 10);
+        int dayPair = handler.getDay(pairIndex);
+        if (handler.distanceBetweenDays(day, dayPair) < 1) {
+          consecutivePairs++;
+        }
+        evaluated.add(cellIndex);
+        evaluated.add(pairIndex);
+      }
+    }
+    return consecutivePairs * handler.getConsecutivePenaltyFactor();
+  }
+}